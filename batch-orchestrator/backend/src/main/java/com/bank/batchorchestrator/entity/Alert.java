@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Alert {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_ids")
+    @SequenceGenerator(name = "alert_ids", sequenceName = "alert_ids", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
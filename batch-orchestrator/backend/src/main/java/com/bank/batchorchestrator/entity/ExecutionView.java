@@ -0,0 +1,55 @@
+package com.bank.batchorchestrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Denormalized execution state maintained by the read model; never written by the execution path
+@Entity
+@Table(name = "execution_query_view", indexes = {
+        @Index(name = "idx_query_view_job", columnList = "jobId, startTime"),
+        @Index(name = "idx_query_view_status", columnList = "status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionView {
+    @Id
+    private String executionId;
+    
+    private Long id;
+    
+    private Long jobId;
+    
+    private String jobName;
+    
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+    
+    private LocalDateTime startTime;
+    
+    private LocalDateTime endTime;
+    
+    private Long durationMillis;
+    
+    @Column(length = 5000)
+    private String output;
+    
+    @Column(length = 5000)
+    private String errorMessage;
+    
+    private Integer exitCode;
+    
+    private Integer retryCount;
+    
+    private String triggeredBy;
+    
+    private String executionHost;
+    
+    private LocalDateTime updatedAt;
+}
@@ -20,7 +20,9 @@ import java.util.Map;
 @AllArgsConstructor
 public class JobExecution {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence IDs, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_execution_ids")
+    @SequenceGenerator(name = "job_execution_ids", sequenceName = "job_execution_ids", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
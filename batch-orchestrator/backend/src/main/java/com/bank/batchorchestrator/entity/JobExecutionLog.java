@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class JobExecutionLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_execution_log_ids")
+    @SequenceGenerator(name = "job_execution_log_ids", sequenceName = "job_execution_log_ids", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,13 @@
+package com.bank.batchorchestrator.repository;
+
+import com.bank.batchorchestrator.entity.ExecutionView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExecutionViewRepository extends JpaRepository<ExecutionView, String> {
+    List<ExecutionView> findByJobIdOrderByStartTimeDesc(Long jobId, Pageable pageable);
+}
@@ -17,6 +17,9 @@ import java.util.Optional;
 public interface JobExecutionRepository extends JpaRepository<JobExecution, Long> {
     Optional<JobExecution> findByExecutionId(String executionId);
     
+    @Query("SELECT je FROM JobExecution je JOIN FETCH je.job WHERE je.executionId = :executionId")
+    Optional<JobExecution> findByExecutionIdWithJob(@Param("executionId") String executionId);
+    
     List<JobExecution> findByJobIdOrderByStartTimeDesc(Long jobId);
     
     Page<JobExecution> findByStatus(JobStatus status, Pageable pageable);
@@ -27,9 +30,9 @@ public interface JobExecutionRepository extends JpaRepository<JobExecution, Long
     @Query("SELECT je FROM JobExecution je WHERE je.job.id = :jobId AND je.startTime >= :since")
     List<JobExecution> findRecentExecutions(@Param("jobId") Long jobId, @Param("since") LocalDateTime since);
     
+    @Query("SELECT je FROM JobExecution je JOIN FETCH je.job WHERE je.startTime >= :since OR je.status IN :statuses")
+    List<JobExecution> findRecentOrInStatus(@Param("since") LocalDateTime since, @Param("statuses") List<JobStatus> statuses);
+    
     @Query("SELECT COUNT(je) FROM JobExecution je WHERE je.status = :status")
     long countByStatus(@Param("status") JobStatus status);
-    
-    @Query("SELECT je FROM JobExecution je WHERE je.status = 'RUNNING' AND je.startTime < :timeout")
-    List<JobExecution> findTimedOutExecutions(@Param("timeout") LocalDateTime timeout);
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.bank.batchorchestrator.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Optional cgroup v2 isolation so a runaway job cannot starve the scheduler threads
+@Service
+@Slf4j
+public class CgroupSandbox {
+    private static final long CPU_PERIOD_MICROS = 100_000;
+
+    @Value("${app.job.cgroup.enabled:false}")
+    private boolean enabled;
+
+    // Must be delegated to the service user, e.g. a systemd Delegate=yes slice
+    @Value("${app.job.cgroup.root:/sys/fs/cgroup/batch-jobs}")
+    private String root;
+
+    @Value("${app.job.cgroup.cpu-cores:0}")
+    private double cpuCores;
+
+    @Value("${app.job.cgroup.memory-mb:0}")
+    private long memoryMb;
+
+    @Value("${app.job.cgroup.cpuset:}")
+    private String cpuset;
+
+    private Path rootPath;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!Files.exists(Paths.get("/sys/fs/cgroup/cgroup.controllers"))) {
+                throw new IOException("cgroup v2 unified hierarchy not mounted at /sys/fs/cgroup");
+            }
+
+            rootPath = Paths.get(root);
+            Files.createDirectories(rootPath);
+            Files.writeString(rootPath.resolve("cgroup.subtree_control"),
+                    cpuset.isBlank() ? "+cpu +memory" : "+cpu +memory +cpuset");
+            log.info("Jobs isolated in cgroups under {}", rootPath);
+        } catch (Exception e) {
+            log.warn("cgroup isolation unavailable, jobs run unconstrained", e);
+            enabled = false;
+        }
+    }
+
+    public JobCgroup create(String executionId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path path = rootPath.resolve("exec-" + executionId);
+        try {
+            Files.createDirectories(path);
+            if (cpuCores > 0) {
+                Files.writeString(path.resolve("cpu.max"),
+                        Math.round(cpuCores * CPU_PERIOD_MICROS) + " " + CPU_PERIOD_MICROS);
+            }
+            if (memoryMb > 0) {
+                Files.writeString(path.resolve("memory.max"), String.valueOf(memoryMb * 1024 * 1024));
+                Files.writeString(path.resolve("memory.swap.max"), "0");
+            }
+            if (!cpuset.isBlank()) {
+                Files.writeString(path.resolve("cpuset.cpus"), cpuset);
+            }
+            return new JobCgroup(path);
+        } catch (Exception e) {
+            log.warn("Could not create cgroup for execution {}, running unconstrained", executionId, e);
+            return null;
+        }
+    }
+
+    // Cgroup of a detached job re-attached after a restart, if it still exists
+    public JobCgroup open(String executionId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path path = rootPath.resolve("exec-" + executionId);
+        return Files.isDirectory(path) ? new JobCgroup(path) : null;
+    }
+
+    public static class JobCgroup {
+        private final Path path;
+        private long peakMemoryBytes;
+        private long cpuMicros;
+
+        private JobCgroup(Path path) {
+            this.path = path;
+        }
+
+        // The launching shell joins the cgroup before exec'ing the job, so no child can escape it
+        public List<String> wrap(List<String> command) {
+            List<String> wrapped = new ArrayList<>();
+            wrapped.add("sh");
+            wrapped.add("-c");
+            wrapped.add("echo $$ > \"$0\" && exec \"$@\"");
+            wrapped.add(path.resolve("cgroup.procs").toString());
+            wrapped.addAll(command);
+            return wrapped;
+        }
+
+        public void close() {
+            try {
+                peakMemoryBytes = Long.parseLong(Files.readString(path.resolve("memory.peak")).trim());
+                for (String line : Files.readAllLines(path.resolve("cpu.stat"))) {
+                    if (line.startsWith("usage_usec ")) {
+                        cpuMicros = Long.parseLong(line.substring("usage_usec ".length()).trim());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Could not read usage of cgroup {}", path, e);
+            }
+
+            try {
+                Files.writeString(path.resolve("cgroup.kill"), "1");
+                for (int attempt = 0; attempt < 50; attempt++) {
+                    try {
+                        Files.delete(path);
+                        return;
+                    } catch (NoSuchFileException e) {
+                        return;
+                    } catch (IOException e) {
+                        Thread.sleep(20);
+                    }
+                }
+                log.warn("cgroup {} still busy, leaving it in place", path);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Could not remove cgroup {}", path, e);
+            }
+        }
+
+        public long getPeakMemoryMb() {
+            return peakMemoryBytes / (1024 * 1024);
+        }
+
+        public double getCpuSeconds() {
+            return cpuMicros / 1_000_000.0;
+        }
+    }
+}
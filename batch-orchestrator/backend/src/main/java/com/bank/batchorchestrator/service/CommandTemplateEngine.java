@@ -0,0 +1,71 @@
+package com.bank.batchorchestrator.service;
+
+import com.bank.batchorchestrator.entity.Job;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Job commands are split into literals and ${name} placeholders once per job version and rendered in one pass
+@Service
+public class CommandTemplateEngine {
+    private final Map<Long, CompiledCommand> compiled = new ConcurrentHashMap<>();
+
+    public String render(Job job, Map<String, String> executionParameters) {
+        CompiledCommand command = compiled.compute(job.getId(), (id, current) ->
+                current != null && Objects.equals(current.version, job.getVersion())
+                        && Objects.equals(current.source, job.getCommand())
+                        ? current
+                        : new CompiledCommand(job.getVersion(), job.getCommand()));
+
+        return command.render(executionParameters);
+    }
+
+    private static class CompiledCommand {
+        private final Long version;
+        private final String source;
+        private final List<String> literals = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+
+        CompiledCommand(Long version, String source) {
+            this.version = version;
+            this.source = source;
+
+            int position = 0;
+            while (source != null) {
+                int start = source.indexOf("${", position);
+                int end = start < 0 ? -1 : source.indexOf('}', start + 2);
+                if (end < 0) {
+                    break;
+                }
+                literals.add(source.substring(position, start));
+                names.add(source.substring(start + 2, end));
+                position = end + 1;
+            }
+            literals.add(source != null ? source.substring(position) : null);
+        }
+
+        // Placeholders without a parameter stay as written
+        String render(Map<String, String> parameters) {
+            if (names.isEmpty()) {
+                return source;
+            }
+
+            StringBuilder rendered = new StringBuilder(source.length() + 32);
+            for (int i = 0; i < names.size(); i++) {
+                rendered.append(literals.get(i));
+                String name = names.get(i);
+                String value = parameters != null ? parameters.get(name) : null;
+                if (value != null) {
+                    rendered.append(value);
+                } else {
+                    rendered.append("${").append(name).append('}');
+                }
+            }
+            return rendered.append(literals.get(names.size())).toString();
+        }
+    }
+}
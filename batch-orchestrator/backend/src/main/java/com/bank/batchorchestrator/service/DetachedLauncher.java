@@ -0,0 +1,202 @@
+package com.bank.batchorchestrator.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+// Starts jobs under a supervisor shell in its own session, so they outlive an orchestrator restart.
+// The supervisor writes the job's output and exit status to a per-execution spool directory,
+// from which a restarted orchestrator re-attaches by execution id.
+@Service
+@Slf4j
+public class DetachedLauncher {
+    // Records the job's exit status once it is gone. Signals are caught but not passed on: cancel and
+    // timeout signal the job's process tree directly, and whatever stops the orchestrator must not
+    // reach the job. A caught signal interrupts wait, so it is repeated until the job has really exited
+    private static final String SUPERVISOR_SCRIPT = String.join("\n",
+            "#!/bin/sh",
+            "spool=\"$1\"; shift",
+            "\"$@\" > \"$spool/stdout\" 2> \"$spool/stderr\" < /dev/null &",
+            "child=$!",
+            "trap ':' TERM INT",
+            "trap '' HUP",
+            "wait \"$child\"; code=$?",
+            "while kill -0 \"$child\" 2>/dev/null; do wait \"$child\"; code=$?; done",
+            "echo \"$code\" > \"$spool/exit.tmp\" && mv \"$spool/exit.tmp\" \"$spool/exit\"",
+            "exit \"$code\"",
+            "");
+
+    @Value("${app.job.detached.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.job.detached.spool-dir:/var/spool/batch-orchestrator}")
+    private String spoolDir;
+
+    private Path spoolPath;
+    private Path supervisorScript;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (System.getProperty("os.name").toLowerCase().contains("windows")) {
+                throw new IOException("detached launch needs a POSIX shell");
+            }
+            spoolPath = Paths.get(spoolDir);
+            Files.createDirectories(spoolPath);
+            supervisorScript = spoolPath.resolve("supervisor.sh");
+            Files.writeString(supervisorScript, SUPERVISOR_SCRIPT);
+            log.info("Jobs launched detached, spooled under {}", spoolPath);
+        } catch (Exception e) {
+            log.warn("Detached launch unavailable, jobs are tied to the orchestrator process", e);
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The supervisor joins the job's cgroup before starting the job, so a stop of the orchestrator's
+    // service, which signals every process in its cgroup, reaches neither. Without a cgroup both stay
+    // in the service's cgroup and only survive a restart under KillMode=process.
+    public Launch launch(String executionId, List<String> command, CgroupSandbox.JobCgroup cgroup)
+            throws IOException {
+        Path dir = spoolPath.resolve(executionId);
+        Files.createDirectories(dir);
+
+        List<String> supervisor = new ArrayList<>();
+        supervisor.add("sh");
+        supervisor.add(supervisorScript.toString());
+        supervisor.add(dir.toString());
+        supervisor.addAll(command);
+
+        List<String> supervised = new ArrayList<>();
+        supervised.add("setsid");
+        supervised.addAll(cgroup != null ? cgroup.wrap(supervisor) : supervisor);
+
+        // No pipes back to the JVM: a job writing to a closed pipe would die with the orchestrator
+        Process process = new ProcessBuilder(supervised)
+                .redirectInput(new File("/dev/null"))
+                .redirectOutput(dir.resolve("supervisor.log").toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        ProcessHandle handle = process.toHandle();
+        long startMillis = handle.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+        Files.writeString(dir.resolve("supervisor"), handle.pid() + " " + startMillis);
+        return new Launch(executionId, dir, handle);
+    }
+
+    // Spooled executions left by a previous orchestrator process, still running or finished since
+    public List<Launch> recover() {
+        List<Launch> launches = new ArrayList<>();
+        if (!enabled) {
+            return launches;
+        }
+
+        try (Stream<Path> dirs = Files.list(spoolPath)) {
+            dirs.filter(Files::isDirectory).forEach(dir -> {
+                String executionId = dir.getFileName().toString();
+                launches.add(new Launch(executionId, dir, findSupervisor(dir).orElse(null)));
+            });
+        } catch (IOException e) {
+            log.error("Could not scan spool directory {}", spoolPath, e);
+        }
+        return launches;
+    }
+
+    // The start time guards against the pid having been reused since the supervisor exited
+    private Optional<ProcessHandle> findSupervisor(Path dir) {
+        try {
+            String[] recorded = Files.readString(dir.resolve("supervisor")).trim().split(" ");
+            long startMillis = Long.parseLong(recorded[1]);
+            return ProcessHandle.of(Long.parseLong(recorded[0]))
+                    .filter(handle -> startMillis == 0 || handle.info().startInstant()
+                            .map(started -> started.toEpochMilli() == startMillis)
+                            .orElse(true));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("Unreadable supervisor record in {}", dir, e);
+            return Optional.empty();
+        }
+    }
+
+    public static class Launch {
+        private final String executionId;
+        private final Path dir;
+        private final ProcessHandle handle;
+
+        private Launch(String executionId, Path dir, ProcessHandle handle) {
+            this.executionId = executionId;
+            this.dir = dir;
+            this.handle = handle;
+        }
+
+        public String getExecutionId() {
+            return executionId;
+        }
+
+        public ProcessHandle getHandle() {
+            return handle;
+        }
+
+        public boolean isAlive() {
+            return handle != null && handle.isAlive();
+        }
+
+        public CompletableFuture<ProcessHandle> onExit() {
+            return handle != null ? handle.onExit() : CompletableFuture.completedFuture(null);
+        }
+
+        // Null when the supervisor was killed before the job finished
+        public Integer readExitCode() throws IOException {
+            try {
+                return Integer.parseInt(Files.readString(dir.resolve("exit")).trim());
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+
+        public String readOutput() throws IOException {
+            return read(dir.resolve("stdout"));
+        }
+
+        public String readError() throws IOException {
+            return read(dir.resolve("stderr"));
+        }
+
+        public void discard() {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                log.warn("Could not remove spool directory {}", dir, e);
+            }
+        }
+
+        private static String read(Path file) throws IOException {
+            return Files.exists(file) ? new String(Files.readAllBytes(file)) : "";
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bank.batchorchestrator.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hashed timer wheel: one thread, O(1) arm and cancel, no per-execution blocking or table scans
+@Service
+@Slf4j
+public class ExecutionDeadlineService {
+    private final Queue<Deadline> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger armedCount = new AtomicInteger();
+
+    @Value("${app.job.deadline-tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${app.job.deadline-wheel-size:4096}")
+    private int wheelSize;
+
+    private List<List<Deadline>> wheel;
+    private Thread ticker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+
+        running = true;
+        ticker = new Thread(this::run, "execution-deadlines");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    public Deadline arm(String executionId, Duration timeout, Runnable onExpiry) {
+        Deadline deadline = new Deadline(executionId, System.nanoTime() + timeout.toNanos(), onExpiry);
+        incoming.add(deadline);
+        armedCount.incrementAndGet();
+        return deadline;
+    }
+
+    public int getArmedCount() {
+        return armedCount.get();
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long tick = 0;
+
+        while (running) {
+            try {
+                long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                tick++;
+
+                transferIncoming(startNanos, tickNanos, tick);
+                expireBucket(wheel.get((int) (tick % wheelSize)));
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error advancing deadline wheel", e);
+            }
+        }
+    }
+
+    private void transferIncoming(long startNanos, long tickNanos, long currentTick) {
+        Deadline deadline;
+        while ((deadline = incoming.poll()) != null) {
+            if (deadline.cancelled.get()) {
+                continue;
+            }
+
+            long targetTick = Math.max(currentTick, (deadline.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            deadline.remainingRounds = (targetTick - currentTick) / wheelSize;
+            wheel.get((int) (targetTick % wheelSize)).add(deadline);
+        }
+    }
+
+    private void expireBucket(List<Deadline> bucket) {
+        Iterator<Deadline> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Deadline deadline = iterator.next();
+
+            if (deadline.cancelled.get()) {
+                iterator.remove();
+            } else if (deadline.remainingRounds > 0) {
+                deadline.remainingRounds--;
+            } else {
+                iterator.remove();
+                if (deadline.cancelled.compareAndSet(false, true)) {
+                    armedCount.decrementAndGet();
+                    log.warn("Deadline expired for execution: {}", deadline.executionId);
+                    try {
+                        deadline.onExpiry.run();
+                    } catch (Exception e) {
+                        log.error("Deadline action failed for execution: {}", deadline.executionId, e);
+                    }
+                }
+            }
+        }
+    }
+
+    public class Deadline {
+        private final String executionId;
+        private final long deadlineNanos;
+        private final Runnable onExpiry;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private long remainingRounds;
+
+        private Deadline(String executionId, long deadlineNanos, Runnable onExpiry) {
+            this.executionId = executionId;
+            this.deadlineNanos = deadlineNanos;
+            this.onExpiry = onExpiry;
+        }
+
+        public boolean cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                armedCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
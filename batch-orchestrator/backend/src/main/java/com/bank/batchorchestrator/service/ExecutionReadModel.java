@@ -0,0 +1,199 @@
+package com.bank.batchorchestrator.service;
+
+import com.bank.batchorchestrator.entity.ExecutionView;
+import com.bank.batchorchestrator.entity.JobExecution;
+import com.bank.batchorchestrator.entity.JobStatus;
+import com.bank.batchorchestrator.model.JobExecutionDto;
+import com.bank.batchorchestrator.repository.ExecutionViewRepository;
+import com.bank.batchorchestrator.repository.JobExecutionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Read side for execution queries (CQRS): lifecycle events feed an in-memory window of active and
+// recent executions and the execution_query_view table, so status and history reads never touch job_executions
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionReadModel {
+    private static final List<JobStatus> ACTIVE = List.of(
+            JobStatus.PENDING, JobStatus.QUEUED, JobStatus.RUNNING, JobStatus.RETRYING, JobStatus.WAITING_DEPENDENCY);
+    
+    private final JobLifecyclePipeline lifecyclePipeline;
+    private final ExecutionViewRepository executionViewRepository;
+    private final JobExecutionRepository jobExecutionRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, ExecutionView> recent = new ConcurrentHashMap<>();
+    // Only touched by the read model stage's thread; inline, every event ends its own batch
+    private final List<ExecutionView> pendingWrites = new ArrayList<>();
+    
+    @Value("${app.job.read-model.window-hours:24}")
+    private int windowHours;
+    
+    @PostConstruct
+    public void init() {
+        rebuild();
+        
+        // No upstream stage: the view follows events as they are published
+        JobLifecyclePipeline.Stage stage = lifecyclePipeline.handleEventsWith("read-model", this::apply);
+        
+        Gauge.builder("job.readmodel.staleness", stage, s -> s.lagNanos() / 1_000_000.0)
+                .description("Milliseconds the read model is behind the oldest state change it has not applied")
+                .register(meterRegistry);
+    }
+    
+    public List<JobExecutionDto> getActive() {
+        return recent.values().stream()
+                .filter(view -> view.getStatus() == JobStatus.RUNNING || view.getStatus() == JobStatus.QUEUED)
+                .sorted(Comparator.comparing(ExecutionView::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    public Optional<JobExecutionDto> find(String executionId) {
+        ExecutionView view = recent.get(executionId);
+        if (view == null) {
+            view = executionViewRepository.findById(executionId).orElse(null);
+        }
+        return Optional.ofNullable(view).map(this::toDto);
+    }
+    
+    public List<JobExecutionDto> getJobHistory(Long jobId, int limit) {
+        return executionViewRepository.findByJobIdOrderByStartTimeDesc(jobId, PageRequest.of(0, limit)).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    // Finished executions leave memory once they are older than the window; the view table keeps them
+    @Scheduled(fixedDelayString = "${app.job.read-model.evict-interval-ms:60000}")
+    public void evict() {
+        LocalDateTime windowStart = LocalDateTime.now().minusHours(windowHours);
+        recent.values().removeIf(view -> !ACTIVE.contains(view.getStatus()) && view.getUpdatedAt().isBefore(windowStart));
+    }
+    
+    private void apply(JobLifecycleEvent event, boolean endOfBatch) {
+        ExecutionView view = toView(event);
+        recent.put(view.getExecutionId(), view);
+        
+        if (endOfBatch && pendingWrites.isEmpty()) {
+            write(List.of(view));
+            return;
+        }
+        pendingWrites.add(view);
+        
+        if (endOfBatch) {
+            try {
+                write(pendingWrites);
+            } finally {
+                pendingWrites.clear();
+            }
+        }
+    }
+    
+    private void write(List<ExecutionView> views) {
+        try {
+            executionViewRepository.saveAll(views);
+        } catch (Exception e) {
+            // Memory still has the update; the table catches up on the execution's next change or on restart
+            meterRegistry.counter("job.readmodel.write.errors").increment();
+            log.error("Failed to write {} execution views", views.size(), e);
+        }
+    }
+    
+    // The status comes from the event type; the entity may already have moved on by the time it is read here
+    private ExecutionView toView(JobLifecycleEvent event) {
+        JobExecution execution = event.getExecution();
+        JobStatus status = switch (event.getType()) {
+            case SCHEDULED -> execution.getStatus();
+            case STARTED -> JobStatus.RUNNING;
+            case COMPLETED -> JobStatus.SUCCESS;
+            case FAILED -> event.getResult() != null ? event.getResult().getStatus() : JobStatus.FAILED;
+            case CANCELLED -> JobStatus.CANCELLED;
+        };
+        
+        ExecutionView view = toView(execution);
+        view.setStatus(status);
+        if (event.getError() != null) {
+            view.setErrorMessage(event.getError().getMessage());
+        }
+        return view;
+    }
+    
+    private ExecutionView toView(JobExecution execution) {
+        return ExecutionView.builder()
+                .executionId(execution.getExecutionId())
+                .id(execution.getId())
+                .jobId(execution.getJob().getId())
+                .jobName(execution.getJob().getJobName())
+                .status(execution.getStatus())
+                .startTime(execution.getStartTime())
+                .endTime(execution.getEndTime())
+                .durationMillis(execution.getDurationMillis())
+                .output(execution.getOutput())
+                .errorMessage(execution.getErrorMessage())
+                .exitCode(execution.getExitCode())
+                .retryCount(execution.getRetryCount())
+                .triggeredBy(execution.getTriggeredBy())
+                .executionHost(execution.getExecutionHost())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    private JobExecutionDto toDto(ExecutionView view) {
+        return JobExecutionDto.builder()
+                .id(view.getId())
+                .executionId(view.getExecutionId())
+                .jobId(view.getJobId())
+                .jobName(view.getJobName())
+                .status(view.getStatus())
+                .startTime(view.getStartTime())
+                .endTime(view.getEndTime())
+                .durationMillis(view.getDurationMillis())
+                .output(view.getOutput())
+                .errorMessage(view.getErrorMessage())
+                .exitCode(view.getExitCode())
+                .retryCount(view.getRetryCount())
+                .triggeredBy(view.getTriggeredBy())
+                .executionHost(view.getExecutionHost())
+                .build();
+    }
+    
+    // Updates lost with the in-memory pipeline are recovered from job_executions on startup;
+    // an empty view is filled from all of history
+    private void rebuild() {
+        try {
+            LocalDateTime since = executionViewRepository.count() == 0
+                    ? LocalDateTime.of(1900, 1, 1, 0, 0)
+                    : LocalDateTime.now().minusHours(windowHours);
+            List<ExecutionView> views = jobExecutionRepository.findRecentOrInStatus(since, ACTIVE).stream()
+                    .map(this::toView)
+                    .collect(Collectors.toList());
+            executionViewRepository.saveAll(views);
+            
+            LocalDateTime windowStart = LocalDateTime.now().minusHours(windowHours);
+            views.stream()
+                    .filter(view -> ACTIVE.contains(view.getStatus())
+                            || (view.getStartTime() != null && !view.getStartTime().isBefore(windowStart)))
+                    .forEach(view -> recent.put(view.getExecutionId(), view));
+            log.info("Read model rebuilt with {} executions, {} in the recent window", views.size(), recent.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild the execution read model", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.bank.batchorchestrator.service;
 import com.bank.batchorchestrator.entity.JobExecution;
 import com.bank.batchorchestrator.entity.JobExecutionLog;
 import com.bank.batchorchestrator.entity.JobStatus;
+import com.bank.batchorchestrator.exception.JobExecutionException;
 import com.bank.batchorchestrator.model.JobExecutionDto;
 import com.bank.batchorchestrator.repository.JobExecutionRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +14,13 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.*;
 
 @Service
@@ -24,38 +28,127 @@ import java.util.concurrent.*;
 @Slf4j
 public class JobExecutionEngine {
     private final JobExecutionRepository jobExecutionRepository;
+    private final ExecutionDeadlineService deadlineService;
+    private final ProcessTreeTerminator processTreeTerminator;
+    private final CgroupSandbox cgroupSandbox;
+    private final CommandTemplateEngine commandTemplateEngine;
+    private final DetachedLauncher detachedLauncher;
+    private final JobLifecyclePipeline lifecyclePipeline;
     private final ExecutorService executorService = Executors.newFixedThreadPool(50);
+    private final Map<String, RunningExecution> runningExecutions = new ConcurrentHashMap<>();
     
     @Value("${app.job.default-timeout-minutes:120}")
     private int defaultTimeoutMinutes;
     
     public CompletableFuture<JobExecutionDto> executeJob(JobExecution execution) {
+        // The deadline covers time spent queued as well as running
+        RunningExecution running = new RunningExecution();
+        runningExecutions.put(execution.getExecutionId(), running);
+        Integer timeoutMinutes = execution.getJob().getTimeoutMinutes();
+        int timeout = timeoutMinutes != null ? timeoutMinutes : defaultTimeoutMinutes;
+        ExecutionDeadlineService.Deadline deadline = deadlineService.arm(
+                execution.getExecutionId(), Duration.ofMinutes(timeout), running::expire);
+        
         return CompletableFuture.supplyAsync(() -> {
             try {
-                return runJob(execution);
+                return runJob(execution, running);
             } catch (Exception e) {
                 log.error("Error executing job: {}", execution.getExecutionId(), e);
                 throw new CompletionException(e);
+            } finally {
+                deadline.cancel();
+                runningExecutions.remove(execution.getExecutionId());
             }
         }, executorService);
     }
     
-    private JobExecutionDto runJob(JobExecution execution) throws Exception {
+    // Picks up detached jobs started by a previous orchestrator process that are still RUNNING
+    public Map<JobExecution, CompletableFuture<JobExecutionDto>> reattachDetached() {
+        Map<JobExecution, CompletableFuture<JobExecutionDto>> reattached = new LinkedHashMap<>();
+        
+        for (DetachedLauncher.Launch launch : detachedLauncher.recover()) {
+            Optional<JobExecution> found = jobExecutionRepository.findByExecutionIdWithJob(launch.getExecutionId());
+            if (found.isEmpty() || found.get().getStatus() != JobStatus.RUNNING) {
+                // Without a record there is nothing to report to, but a live job is left alone
+                if (launch.isAlive()) {
+                    log.warn("Detached job {} has no running execution record, leaving it untouched",
+                            launch.getExecutionId());
+                } else {
+                    launch.discard();
+                }
+                continue;
+            }
+            
+            JobExecution execution = found.get();
+            RunningExecution running = new RunningExecution();
+            runningExecutions.put(execution.getExecutionId(), running);
+            Integer timeoutMinutes = execution.getJob().getTimeoutMinutes();
+            Duration timeout = Duration.ofMinutes(timeoutMinutes != null ? timeoutMinutes : defaultTimeoutMinutes);
+            Duration remaining = timeout.minus(Duration.between(execution.getStartTime(), LocalDateTime.now()));
+            ExecutionDeadlineService.Deadline deadline = deadlineService.arm(execution.getExecutionId(),
+                    remaining.isNegative() ? Duration.ZERO : remaining, running::expire);
+            
+            log.info("Re-attaching to detached execution: {} for job: {}",
+                    execution.getExecutionId(), execution.getJob().getJobName());
+            CgroupSandbox.JobCgroup cgroup = cgroupSandbox.open(execution.getExecutionId());
+            reattached.put(execution, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return finishJob(execution, () -> awaitDetached(launch, running, cgroup));
+                } catch (Exception e) {
+                    log.error("Error executing job: {}", execution.getExecutionId(), e);
+                    throw new CompletionException(e);
+                } finally {
+                    deadline.cancel();
+                    runningExecutions.remove(execution.getExecutionId());
+                }
+            }, executorService));
+        }
+        return reattached;
+    }
+    
+    public boolean cancelExecution(String executionId) {
+        RunningExecution running = runningExecutions.get(executionId);
+        return running != null && running.cancel();
+    }
+    
+    private JobExecutionDto runJob(JobExecution execution, RunningExecution running) throws Exception {
         log.info("Starting execution: {} for job: {}", 
                 execution.getExecutionId(), execution.getJob().getJobName());
         
+        if (running.timedOut) {
+            execution.setStatus(JobStatus.TIMEOUT);
+            execution.setErrorMessage("Job execution timed out before it started");
+            execution.setEndTime(LocalDateTime.now());
+            return convertToDto(jobExecutionRepository.save(execution));
+        }
+        
+        if (running.cancelled) {
+            execution.setStatus(JobStatus.CANCELLED);
+            execution.setEndTime(LocalDateTime.now());
+            return convertToDto(jobExecutionRepository.save(execution));
+        }
+        
         // Update status to RUNNING
         execution.setStatus(JobStatus.RUNNING);
         execution.setStartTime(LocalDateTime.now());
         execution.setExecutionHost(InetAddress.getLocalHost().getHostName());
         jobExecutionRepository.save(execution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.STARTED, execution, null, null);
         
-        try {
+        return finishJob(execution, () -> {
             // Build command with parameters
-            String command = buildCommand(execution.getJob().getCommand(), execution.getExecutionParameters());
+            String command = commandTemplateEngine.render(execution.getJob(), execution.getExecutionParameters());
             
             // Execute based on job type
-            ExecutionResult result = executeCommand(command, execution.getJob().getTimeoutMinutes());
+            return executeCommand(execution.getExecutionId(), command, running);
+        });
+    }
+    
+    private JobExecutionDto finishJob(JobExecution execution, Callable<ExecutionResult> job)
+            throws InterruptedException {
+        boolean interrupted = false;
+        try {
+            ExecutionResult result = job.call();
             
             // Update execution with results
             execution.setStatus(result.exitCode == 0 ? JobStatus.SUCCESS : JobStatus.FAILED);
@@ -75,6 +168,21 @@ public class JobExecutionEngine {
             execution.setStatus(JobStatus.TIMEOUT);
             execution.setErrorMessage("Job execution timed out");
             execution.setEndTime(LocalDateTime.now());
+        } catch (InterruptedException e) {
+            // A detached job stays RUNNING for the next process to re-attach
+            if (detachedLauncher.isEnabled()) {
+                throw e;
+            }
+            // An attached one has been terminated and is not coming back
+            log.error("Interrupted while waiting for job execution: {}", execution.getExecutionId());
+            execution.setStatus(JobStatus.FAILED);
+            execution.setErrorMessage("Job execution interrupted");
+            execution.setEndTime(LocalDateTime.now());
+            interrupted = true;
+        } catch (CancellationException e) {
+            log.info("Job execution cancelled: {}", execution.getExecutionId());
+            execution.setStatus(JobStatus.CANCELLED);
+            execution.setEndTime(LocalDateTime.now());
         } catch (Exception e) {
             log.error("Job execution failed: {}", execution.getExecutionId(), e);
             execution.setStatus(JobStatus.FAILED);
@@ -84,36 +192,54 @@ public class JobExecutionEngine {
         
         // Save final state
         JobExecution savedExecution = jobExecutionRepository.save(execution);
-        
-        return convertToDto(savedExecution);
-    }
-    
-    private String buildCommand(String baseCommand, Map<String, String> parameters) {
-        String command = baseCommand;
-        
-        // Replace parameter placeholders
-        for (Map.Entry<String, String> entry : parameters.entrySet()) {
-            command = command.replace("${" + entry.getKey() + "}", entry.getValue());
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
         
-        return command;
+        return convertToDto(savedExecution);
     }
     
-    private ExecutionResult executeCommand(String command, Integer timeoutMinutes) throws Exception {
-        int timeout = timeoutMinutes != null ? timeoutMinutes : defaultTimeoutMinutes;
-        
-        log.debug("Executing command: {} with timeout: {} minutes", command, timeout);
+    private ExecutionResult executeCommand(String executionId, String command, RunningExecution running) throws Exception {
+        log.debug("Executing command: {}", command);
         
-        ProcessBuilder processBuilder = new ProcessBuilder();
+        List<String> shellCommand;
+        CgroupSandbox.JobCgroup cgroup = null;
         
         // Handle different OS
         if (System.getProperty("os.name").toLowerCase().contains("windows")) {
-            processBuilder.command("cmd.exe", "/c", command);
+            shellCommand = List.of("cmd.exe", "/c", command);
         } else {
-            processBuilder.command("sh", "-c", command);
+            cgroup = cgroupSandbox.create(executionId);
+            shellCommand = List.of("sh", "-c", command);
         }
         
-        Process process = processBuilder.start();
+        if (detachedLauncher.isEnabled()) {
+            DetachedLauncher.Launch launch;
+            try {
+                launch = detachedLauncher.launch(executionId, shellCommand, cgroup);
+            } catch (Exception e) {
+                if (cgroup != null) {
+                    cgroup.close();
+                }
+                throw e;
+            }
+            return awaitDetached(launch, running, cgroup);
+        }
+        
+        ProcessBuilder processBuilder = new ProcessBuilder(cgroup != null ? cgroup.wrap(shellCommand) : shellCommand);
+        try {
+            Process process = processBuilder.start();
+            running.attach(process.toHandle());
+            return awaitProcess(process, running, cgroup);
+        } finally {
+            if (cgroup != null) {
+                cgroup.close();
+            }
+        }
+    }
+    
+    private ExecutionResult awaitProcess(Process process, RunningExecution running, CgroupSandbox.JobCgroup cgroup)
+            throws Exception {
         
         // Read output
         Future<String> outputFuture = executorService.submit(() -> {
@@ -143,19 +269,59 @@ public class JobExecutionEngine {
             return error.toString();
         });
         
-        // Wait for process with timeout
-        boolean finished = process.waitFor(timeout, TimeUnit.MINUTES);
+        // The execution deadline or a cancel request terminates the process tree
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            processTreeTerminator.terminateAsync(process.toHandle());
+            throw e;
+        }
         
-        if (!finished) {
-            process.destroyForcibly();
+        if (running.timedOut) {
             throw new TimeoutException("Process execution timed out");
         }
+        if (running.cancelled) {
+            throw new CancellationException("Process execution cancelled");
+        }
         
         String output = outputFuture.get(1, TimeUnit.MINUTES);
         String error = errorFuture.get(1, TimeUnit.MINUTES);
         int exitCode = process.exitValue();
         
-        return new ExecutionResult(exitCode, output, error);
+        ExecutionResult result = new ExecutionResult(exitCode, output, error);
+        result.cgroup = cgroup;
+        return result;
+    }
+    
+    private ExecutionResult awaitDetached(DetachedLauncher.Launch launch, RunningExecution running,
+                                          CgroupSandbox.JobCgroup cgroup) throws Exception {
+        running.attach(launch.getHandle());
+        
+        // An interrupt means the orchestrator is going down: the job keeps its spool and cgroup
+        launch.onExit().get();
+        
+        try {
+            if (running.timedOut) {
+                throw new TimeoutException("Process execution timed out");
+            }
+            if (running.cancelled) {
+                throw new CancellationException("Process execution cancelled");
+            }
+            
+            Integer exitCode = launch.readExitCode();
+            if (exitCode == null) {
+                throw new JobExecutionException("Job supervisor exited without recording an exit status");
+            }
+            
+            ExecutionResult result = new ExecutionResult(exitCode, launch.readOutput(), launch.readError());
+            result.cgroup = cgroup;
+            return result;
+        } finally {
+            if (cgroup != null) {
+                cgroup.close();
+            }
+            launch.discard();
+        }
     }
     
     private void addExecutionLogs(JobExecution execution, ExecutionResult result) {
@@ -189,6 +355,17 @@ public class JobExecutionEngine {
                     .build());
         }
         
+        // Add resource usage from the job's cgroup
+        if (result.cgroup != null) {
+            logs.add(JobExecutionLog.builder()
+                    .execution(execution)
+                    .level(JobExecutionLog.LogLevel.INFO)
+                    .message(String.format("Resource usage: peak memory %d MB, CPU time %.1f s",
+                            result.cgroup.getPeakMemoryMb(), result.cgroup.getCpuSeconds()))
+                    .source("ENGINE")
+                    .build());
+        }
+        
         // Add completion log
         logs.add(JobExecutionLog.builder()
                 .execution(execution)
@@ -225,10 +402,47 @@ public class JobExecutionEngine {
                 .build();
     }
     
+    private class RunningExecution {
+        private volatile ProcessHandle process;
+        private volatile boolean timedOut;
+        private volatile boolean cancelled;
+        
+        synchronized void attach(ProcessHandle process) {
+            this.process = process;
+            if (process != null && (timedOut || cancelled)) {
+                processTreeTerminator.terminateAsync(process);
+            }
+        }
+        
+        synchronized void expire() {
+            if (!cancelled) {
+                timedOut = true;
+                terminate();
+            }
+        }
+        
+        synchronized boolean cancel() {
+            if (timedOut || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            terminate();
+            return true;
+        }
+        
+        // Runs on the deadline wheel or a request thread, so the grace period is waited out elsewhere
+        private void terminate() {
+            if (process != null) {
+                processTreeTerminator.terminateAsync(process);
+            }
+        }
+    }
+    
     private static class ExecutionResult {
         final int exitCode;
         final String output;
         final String error;
+        CgroupSandbox.JobCgroup cgroup;
         
         ExecutionResult(int exitCode, String output, String error) {
             this.exitCode = exitCode;
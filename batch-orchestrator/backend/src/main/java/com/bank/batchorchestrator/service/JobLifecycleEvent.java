@@ -0,0 +1,44 @@
+package com.bank.batchorchestrator.service;
+
+import com.bank.batchorchestrator.entity.JobExecution;
+import com.bank.batchorchestrator.model.JobExecutionDto;
+
+// A preallocated ring slot, overwritten in place; handlers must not keep it after returning
+public class JobLifecycleEvent {
+    public enum Type { SCHEDULED, STARTED, COMPLETED, FAILED, CANCELLED }
+    
+    private Type type;
+    private JobExecution execution;
+    private JobExecutionDto result;
+    private Throwable error;
+    private long publishedNanos;
+    
+    void set(Type type, JobExecution execution, JobExecutionDto result, Throwable error) {
+        this.type = type;
+        this.execution = execution;
+        this.result = result;
+        this.error = error;
+        this.publishedNanos = System.nanoTime();
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public JobExecution getExecution() {
+        return execution;
+    }
+    
+    public JobExecutionDto getResult() {
+        return result;
+    }
+    
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+    
+    // Set when the run ended with an exception rather than a recorded result
+    public Throwable getError() {
+        return error;
+    }
+}
@@ -0,0 +1,249 @@
+package com.bank.batchorchestrator.service;
+
+import com.bank.batchorchestrator.entity.JobExecution;
+import com.bank.batchorchestrator.model.JobExecutionDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Ring-buffer pipeline for job lifecycle events (docs/disruptor.md): each stage consumes batches
+// on its own thread behind the stages it was registered after; disabled, stages run inline
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobLifecyclePipeline {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    // endOfBatch marks the last event currently available to the stage. Handlers must not publish:
+    // with the ring full, the stage would wait for a slot only it can free
+    public interface Handler {
+        void onEvent(JobLifecycleEvent event, boolean endOfBatch) throws Exception;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final List<Stage> stages = new ArrayList<>();
+    // Highest sequence handed to a publisher; slots up to it may still be being written
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    @Value("${app.job.lifecycle.enabled:false}")
+    private boolean enabled;
+
+    // Rounded up to a power of two
+    @Value("${app.job.lifecycle.ring-size:4096}")
+    private int ringSize;
+
+    @Value("${app.job.lifecycle.idle-park-micros:1000}")
+    private long idleParkMicros;
+
+    private JobLifecycleEvent[] ring;
+    private int mask;
+    private int indexShift;
+    // Round in which each slot was last published, so a slot is readable only once its writer is done
+    private AtomicIntegerArray published;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        int size = Integer.highestOneBit(Math.max(ringSize, 2) - 1) << 1;
+        ring = new JobLifecycleEvent[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new JobLifecycleEvent();
+        }
+        mask = size - 1;
+        indexShift = Integer.numberOfTrailingZeros(size);
+        published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    // The stage sees each event only after every stage in 'after' has handled it
+    public synchronized Stage handleEventsWith(String name, Handler handler, Stage... after) {
+        if (running) {
+            throw new IllegalStateException("Lifecycle pipeline already started");
+        }
+        Stage stage = new Stage(name, handler, after);
+        stages.add(stage);
+        return stage;
+    }
+
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        for (Stage stage : stages) {
+            stage.thread = new Thread(stage, "lifecycle-" + stage.name);
+            stage.thread.setDaemon(true);
+            stage.thread.start();
+
+            Gauge.builder("job.lifecycle.backlog", stage, s -> claimed.get() - s.sequence.get())
+                    .description("Lifecycle events published but not yet handled by the stage")
+                    .tag("stage", stage.name)
+                    .register(meterRegistry);
+        }
+        log.info("Lifecycle pipeline started with {} stages and a ring of {} events", stages.size(), ring.length);
+    }
+
+    // Stages drain what was already published before their threads exit
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Stage stage : stages) {
+            if (stage.thread != null) {
+                stage.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        }
+    }
+
+    public void publish(JobLifecycleEvent.Type type, JobExecution execution, JobExecutionDto result, Throwable error) {
+        meterRegistry.counter("job.lifecycle.events", "type", type.name()).increment();
+
+        if (!running) {
+            JobLifecycleEvent event = new JobLifecycleEvent();
+            event.set(type, execution, result, error);
+            for (Stage stage : stages) {
+                stage.handle(event, true);
+            }
+            return;
+        }
+
+        long sequence = next();
+        ring[(int) sequence & mask].set(type, execution, result, error);
+        published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    // Claims a slot, waiting while it still holds an event some stage has not handled
+    private long next() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        int tries = 0;
+        while (wrapPoint > slowestStage()) {
+            tries = idle(tries);
+        }
+        return sequence;
+    }
+
+    private long slowestStage() {
+        long slowest = Long.MAX_VALUE;
+        for (Stage stage : stages) {
+            slowest = Math.min(slowest, stage.sequence.get());
+        }
+        return slowest;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    // Highest sequence from 'from' on up to which every slot has been published
+    private long highestPublished(long from) {
+        long upTo = claimed.get();
+        for (long sequence = from; sequence <= upTo; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return upTo;
+    }
+
+    // Spin, then yield, then park: latency when busy, little CPU when idle
+    private int idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(idleParkMicros));
+        }
+        return tries + 1;
+    }
+
+    // One consumer of the ring with its own sequence and barrier
+    public final class Stage implements Runnable {
+        private final String name;
+        private final Handler handler;
+        private final Stage[] after;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final DistributionSummary batchSize;
+        private Thread thread;
+
+        private Stage(String name, Handler handler, Stage[] after) {
+            this.name = name;
+            this.handler = handler;
+            this.after = after;
+            this.batchSize = DistributionSummary.builder("job.lifecycle.batch.size")
+                    .description("Lifecycle events handled by a stage in one pass")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int tries = 0;
+            // After shutdown, keep going until everything published has passed this stage
+            while (running || next <= highestPublished(next)) {
+                long available = barrier(next);
+                if (available < next) {
+                    tries = idle(tries);
+                    continue;
+                }
+
+                for (long current = next; current <= available; current++) {
+                    handle(ring[(int) current & mask], current == available);
+                }
+                batchSize.record(available - next + 1);
+                sequence.set(available);
+                next = available + 1;
+                tries = 0;
+            }
+        }
+
+        // Age of the oldest event published but not yet handled by this stage; zero when caught up
+        public long lagNanos() {
+            long next = sequence.get() + 1;
+            if (!running || !isPublished(next)) {
+                return 0;
+            }
+            // The slot cannot be reused before this stage moves past it; a stale read only understates the lag
+            return Math.max(0, System.nanoTime() - ring[(int) next & mask].getPublishedNanos());
+        }
+
+        // Events this stage may handle: published, and already handled by every upstream stage
+        private long barrier(long next) {
+            long available = highestPublished(next);
+            for (Stage upstream : after) {
+                available = Math.min(available, upstream.sequence.get());
+            }
+            return available;
+        }
+
+        private void handle(JobLifecycleEvent event, boolean endOfBatch) {
+            try {
+                handler.onEvent(event, endOfBatch);
+            } catch (Exception e) {
+                meterRegistry.counter("job.lifecycle.handler.errors", "stage", name).increment();
+                log.error("Lifecycle stage {} failed on {} event of execution {}", name, event.getType(),
+                    event.getExecution() != null ? event.getExecution().getExecutionId() : null, e);
+            }
+        }
+    }
+}
@@ -8,8 +8,12 @@ import com.bank.batchorchestrator.exception.JobNotFoundException;
 import com.bank.batchorchestrator.model.JobExecutionDto;
 import com.bank.batchorchestrator.repository.JobExecutionRepository;
 import com.bank.batchorchestrator.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +21,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +32,34 @@ public class OrchestratorService {
     private final JobExecutionRepository jobExecutionRepository;
     private final JobExecutionEngine executionEngine;
     private final MonitoringService monitoringService;
+    private final JobLifecyclePipeline lifecyclePipeline;
+    private final ExecutionReadModel executionReadModel;
     
     private final Map<String, CompletableFuture<JobExecutionDto>> runningJobs = new ConcurrentHashMap<>();
+    // Only touched by the persistence stage's thread; inline, every event ends its own batch and bypasses it
+    private final List<JobExecution> outcomeBatch = new ArrayList<>();
+    // Dependents are submitted off the pipeline: submitting publishes into the ring, and a stage
+    // waiting for ring space behind itself would never get it
+    private final ExecutorService dependencyExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dependency-trigger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Outcomes are saved first; dependents and monitoring only see executions already persisted.
+    // The read model has registered its own stage by now, being injected here
+    @PostConstruct
+    public void init() {
+        JobLifecyclePipeline.Stage persistence = lifecyclePipeline.handleEventsWith("persistence", this::persistOutcome);
+        lifecyclePipeline.handleEventsWith("dependencies", this::releaseDependents, persistence);
+        lifecyclePipeline.handleEventsWith("monitoring", this::recordOutcome, persistence);
+        lifecyclePipeline.start();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        dependencyExecutor.shutdown();
+    }
     
     @Transactional
     public JobExecutionDto submitJob(String jobName, String triggeredBy, Map<String, String> parameters) {
@@ -49,40 +80,54 @@ public class OrchestratorService {
         
         // Create execution record
         JobExecution execution = createExecution(job, triggeredBy, parameters);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.SCHEDULED, execution, null, null);
         
         // Submit for execution
-        CompletableFuture<JobExecutionDto> future = executionEngine.executeJob(execution);
+        trackCompletion(execution, executionEngine.executeJob(execution));
+        
+        return convertToDto(execution);
+    }
+    
+    // Detached jobs survive a restart; their outcome is handled as if this process had started them
+    @EventListener(ApplicationReadyEvent.class)
+    public void reattachDetachedJobs() {
+        executionEngine.reattachDetached().forEach(this::trackCompletion);
+    }
+    
+    private void trackCompletion(JobExecution execution, CompletableFuture<JobExecutionDto> future) {
         runningJobs.put(execution.getExecutionId(), future);
         
         // Handle completion
         future.whenComplete((result, error) -> {
             runningJobs.remove(execution.getExecutionId());
-            if (error != null) {
-                handleJobFailure(execution, error);
+            if (error != null && error.getCause() instanceof InterruptedException) {
+                log.info("Stopped waiting for execution {}, left for re-attachment", execution.getExecutionId());
+            } else if (error != null) {
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.FAILED, execution, null, error);
+            } else if (result.getStatus() == JobStatus.CANCELLED) {
+                log.debug("Execution {} ended after cancellation", execution.getExecutionId());
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.CANCELLED, execution, result, null);
+            } else if (result.getStatus() == JobStatus.TIMEOUT || result.getStatus() == JobStatus.FAILED) {
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.FAILED, execution, result, null);
             } else {
-                handleJobSuccess(execution, result);
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.COMPLETED, execution, result, null);
             }
         });
-        
-        return convertToDto(execution);
     }
     
     @Transactional
     public JobExecutionDto cancelJob(String executionId) {
         log.info("Cancelling job execution: {}", executionId);
         
-        JobExecution execution = jobExecutionRepository.findByExecutionId(executionId)
+        JobExecution execution = jobExecutionRepository.findByExecutionIdWithJob(executionId)
                 .orElseThrow(() -> new JobExecutionException("Execution not found: " + executionId));
         
         if (execution.getStatus() != JobStatus.RUNNING && execution.getStatus() != JobStatus.QUEUED) {
             throw new JobExecutionException("Cannot cancel job in status: " + execution.getStatus());
         }
         
-        // Cancel the running future if exists
-        CompletableFuture<JobExecutionDto> future = runningJobs.get(executionId);
-        if (future != null) {
-            future.cancel(true);
-        }
+        // Terminates the job's process tree gracefully; the engine records the outcome as CANCELLED
+        executionEngine.cancelExecution(executionId);
         
         execution.setStatus(JobStatus.CANCELLED);
         execution.setEndTime(LocalDateTime.now());
@@ -91,6 +136,7 @@ public class OrchestratorService {
         );
         
         JobExecution savedExecution = jobExecutionRepository.save(execution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.CANCELLED, savedExecution, null, null);
         
         monitoringService.recordJobCancellation(savedExecution);
         
@@ -101,7 +147,7 @@ public class OrchestratorService {
     public JobExecutionDto retryJob(String executionId) {
         log.info("Retrying job execution: {}", executionId);
         
-        JobExecution originalExecution = jobExecutionRepository.findByExecutionId(executionId)
+        JobExecution originalExecution = jobExecutionRepository.findByExecutionIdWithJob(executionId)
                 .orElseThrow(() -> new JobExecutionException("Execution not found: " + executionId));
         
         if (originalExecution.getStatus() != JobStatus.FAILED && 
@@ -127,61 +173,26 @@ public class OrchestratorService {
                 .build();
         
         JobExecution savedExecution = jobExecutionRepository.save(retryExecution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.SCHEDULED, savedExecution, null, null);
         
-        // Submit for execution
-        CompletableFuture<JobExecutionDto> future = executionEngine.executeJob(savedExecution);
-        runningJobs.put(savedExecution.getExecutionId(), future);
+        // Submit for execution; the outcome goes through the lifecycle pipeline like any other run
+        trackCompletion(savedExecution, executionEngine.executeJob(savedExecution));
         
         return convertToDto(savedExecution);
     }
     
-    @Transactional(readOnly = true)
+    // Status and history reads are served by the read model, away from job_executions
     public JobExecutionDto getExecutionStatus(String executionId) {
-        JobExecution execution = jobExecutionRepository.findByExecutionId(executionId)
+        return executionReadModel.find(executionId)
                 .orElseThrow(() -> new JobExecutionException("Execution not found: " + executionId));
-        return convertToDto(execution);
     }
     
-    @Transactional(readOnly = true)
     public List<JobExecutionDto> getJobExecutions(Long jobId, int limit) {
-        return jobExecutionRepository.findByJobIdOrderByStartTimeDesc(jobId).stream()
-                .limit(limit)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return executionReadModel.getJobHistory(jobId, limit);
     }
     
-    @Transactional(readOnly = true)
     public List<JobExecutionDto> getRunningJobs() {
-        List<JobStatus> runningStatuses = Arrays.asList(JobStatus.RUNNING, JobStatus.QUEUED);
-        return jobExecutionRepository.findByStatusIn(runningStatuses).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-    
-    @Transactional
-    public void checkAndHandleTimeouts() {
-        LocalDateTime now = LocalDateTime.now();
-        List<JobExecution> timedOutExecutions = jobExecutionRepository.findTimedOutExecutions(
-                now.minusMinutes(120) // Default timeout, should be per-job
-        );
-        
-        for (JobExecution execution : timedOutExecutions) {
-            log.warn("Job execution timed out: {}", execution.getExecutionId());
-            
-            execution.setStatus(JobStatus.TIMEOUT);
-            execution.setEndTime(now);
-            execution.setErrorMessage("Job execution timed out");
-            jobExecutionRepository.save(execution);
-            
-            monitoringService.recordJobTimeout(execution);
-            
-            // Cancel the running future if exists
-            CompletableFuture<JobExecutionDto> future = runningJobs.get(execution.getExecutionId());
-            if (future != null) {
-                future.cancel(true);
-                runningJobs.remove(execution.getExecutionId());
-            }
-        }
+        return executionReadModel.getActive();
     }
     
     private boolean checkDependencies(Job job) {
@@ -232,37 +243,76 @@ public class OrchestratorService {
                 .build();
         
         JobExecution savedExecution = jobExecutionRepository.save(execution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.SCHEDULED, savedExecution, null, null);
         return convertToDto(savedExecution);
     }
     
-    private void handleJobSuccess(JobExecution execution, JobExecutionDto result) {
-        log.info("Job execution succeeded: {}", execution.getExecutionId());
-        
-        execution.setStatus(JobStatus.SUCCESS);
-        execution.setEndTime(LocalDateTime.now());
-        execution.setDurationMillis(
-                java.time.Duration.between(execution.getStartTime(), execution.getEndTime()).toMillis()
-        );
+    private void persistOutcome(JobLifecycleEvent event, boolean endOfBatch) {
+        JobExecution execution = event.getExecution();
+        boolean ended = false;
+        if (event.getType() == JobLifecycleEvent.Type.COMPLETED) {
+            log.info("Job execution succeeded: {}", execution.getExecutionId());
+            execution.setStatus(JobStatus.SUCCESS);
+            markEnded(execution);
+            ended = true;
+        } else if (event.getType() == JobLifecycleEvent.Type.FAILED && event.getError() != null) {
+            // Failures with a result were already recorded by the engine
+            log.error("Job execution failed: {}", execution.getExecutionId(), event.getError());
+            execution.setStatus(JobStatus.FAILED);
+            execution.setErrorMessage(event.getError().getMessage());
+            markEnded(execution);
+            ended = true;
+        }
         
-        jobExecutionRepository.save(execution);
-        monitoringService.recordJobSuccess(execution);
+        if (ended) {
+            // Inline, events arrive on many threads at once; each saves its own execution
+            if (endOfBatch && outcomeBatch.isEmpty()) {
+                jobExecutionRepository.save(execution);
+                return;
+            }
+            outcomeBatch.add(execution);
+        }
         
-        // Trigger dependent jobs
-        triggerDependentJobs(execution.getJob());
+        if (endOfBatch && !outcomeBatch.isEmpty()) {
+            try {
+                jobExecutionRepository.saveAll(outcomeBatch);
+            } finally {
+                outcomeBatch.clear();
+            }
+        }
     }
     
-    private void handleJobFailure(JobExecution execution, Throwable error) {
-        log.error("Job execution failed: {}", execution.getExecutionId(), error);
-        
-        execution.setStatus(JobStatus.FAILED);
+    private void markEnded(JobExecution execution) {
         execution.setEndTime(LocalDateTime.now());
-        execution.setErrorMessage(error.getMessage());
         execution.setDurationMillis(
                 java.time.Duration.between(execution.getStartTime(), execution.getEndTime()).toMillis()
         );
-        
-        jobExecutionRepository.save(execution);
-        monitoringService.recordJobFailure(execution);
+    }
+    
+    private void releaseDependents(JobLifecycleEvent event, boolean endOfBatch) {
+        if (event.getType() == JobLifecycleEvent.Type.COMPLETED) {
+            Job completedJob = event.getExecution().getJob();
+            dependencyExecutor.execute(() -> {
+                try {
+                    triggerDependentJobs(completedJob);
+                } catch (Exception e) {
+                    log.error("Failed to trigger dependents of job: {}", completedJob.getJobName(), e);
+                }
+            });
+        }
+    }
+    
+    private void recordOutcome(JobLifecycleEvent event, boolean endOfBatch) {
+        JobExecution execution = event.getExecution();
+        if (event.getType() == JobLifecycleEvent.Type.COMPLETED) {
+            monitoringService.recordJobSuccess(execution);
+        } else if (event.getType() == JobLifecycleEvent.Type.FAILED) {
+            if (event.getResult() != null && event.getResult().getStatus() == JobStatus.TIMEOUT) {
+                monitoringService.recordJobTimeout(execution);
+            } else {
+                monitoringService.recordJobFailure(execution);
+            }
+        }
     }
     
     private void triggerDependentJobs(Job completedJob) {
@@ -0,0 +1,106 @@
+package com.bank.batchorchestrator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// SIGTERM to the whole process tree, SIGKILL to whatever outlives the grace period
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessTreeTerminator {
+    private static final Duration KILL_CONFIRM_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService terminationExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "process-terminator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.job.cancel-grace-seconds:10}")
+    private int cancelGraceSeconds;
+
+    @PreDestroy
+    public void shutdown() {
+        terminationExecutor.shutdown();
+    }
+
+    public CompletableFuture<Void> terminateAsync(ProcessHandle root) {
+        return CompletableFuture.runAsync(
+                () -> terminate(root, Duration.ofSeconds(cancelGraceSeconds)), terminationExecutor);
+    }
+
+    public void terminate(ProcessHandle root, Duration gracePeriod) {
+        long startNanos = System.nanoTime();
+
+        // Capture the tree before signalling; children get reparented once their parent exits
+        Map<Long, ProcessHandle> tree = new LinkedHashMap<>();
+        tree.put(root.pid(), root);
+        root.descendants().forEach(descendant -> tree.put(descendant.pid(), descendant));
+
+        List<ProcessHandle> ordered = new ArrayList<>(tree.values());
+        Collections.reverse(ordered);
+        ordered.forEach(ProcessHandle::destroy);
+
+        awaitExit(tree.values(), gracePeriod);
+
+        for (ProcessHandle handle : List.copyOf(tree.values())) {
+            if (handle.isAlive()) {
+                handle.descendants().forEach(descendant -> tree.putIfAbsent(descendant.pid(), descendant));
+            }
+        }
+        List<ProcessHandle> survivors = tree.values().stream().filter(ProcessHandle::isAlive).toList();
+        survivors.forEach(ProcessHandle::destroyForcibly);
+        awaitExit(survivors, KILL_CONFIRM_TIMEOUT);
+
+        long stillAlive = tree.values().stream().filter(ProcessHandle::isAlive).count();
+        long latencyNanos = System.nanoTime() - startNanos;
+
+        Timer.builder("job.cancel.latency")
+                .tag("outcome", survivors.isEmpty() ? "graceful" : "forced")
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("job.cancel.processes.reaped", "signal", "SIGTERM")
+                .increment(tree.size() - survivors.size());
+        meterRegistry.counter("job.cancel.processes.reaped", "signal", "SIGKILL")
+                .increment(survivors.size() - stillAlive);
+
+        if (stillAlive > 0) {
+            log.error("Process tree of pid {} still has {} live processes after SIGKILL", root.pid(), stillAlive);
+        } else {
+            log.info("Terminated process tree of pid {} ({} processes, {} needed SIGKILL) in {} ms",
+                    root.pid(), tree.size(), survivors.size(), TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        }
+    }
+
+    private void awaitExit(Iterable<ProcessHandle> handles, Duration timeout) {
+        List<CompletableFuture<ProcessHandle>> exits = new ArrayList<>();
+        handles.forEach(handle -> exits.add(handle.onExit()));
+
+        try {
+            CompletableFuture.allOf(exits.toArray(new CompletableFuture<?>[0]))
+                    .get(Math.max(1, timeout.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Grace period over; survivors get SIGKILL
+        }
+    }
+}
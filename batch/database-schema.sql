@@ -30,6 +30,11 @@ CREATE TABLE job_definitions (
     alert_on_success BIT DEFAULT 0,
     alert_on_start BIT DEFAULT 0,
     critical_job BIT DEFAULT 0,
+    is_idempotent BIT DEFAULT 0,
+    array_size INT, -- job array: number of indexed instances per run, NULL for a plain job
+    array_max_parallel INT DEFAULT 10,
+    memoize_results BIT DEFAULT 0, -- skip runs whose inputs match a previous successful run
+    memoize_input_paths NVARCHAR(MAX), -- declared input files/directories, ';' separated, ${param} placeholders allowed
     created_date DATETIME2 DEFAULT GETUTCDATE(),
     created_by NVARCHAR(100) NOT NULL,
     modified_date DATETIME2 DEFAULT GETUTCDATE(),
@@ -86,7 +91,7 @@ CREATE TABLE job_dependencies (
     dependency_id BIGINT IDENTITY(1,1) PRIMARY KEY,
     job_id BIGINT NOT NULL,
     dependent_job_id BIGINT NOT NULL,
-    dependency_type NVARCHAR(50) DEFAULT 'SUCCESS', -- SUCCESS, FAILURE, COMPLETION, CONDITIONAL
+    dependency_type NVARCHAR(50) DEFAULT 'SUCCESS', -- SUCCESS, FAILURE, COMPLETION, CONDITIONAL, ANY_INSTANCE (job arrays)
     dependency_condition NVARCHAR(MAX), -- For CONDITIONAL type (JSON expression)
     wait_timeout_minutes INT DEFAULT 180,
     is_active BIT DEFAULT 1,
@@ -94,13 +99,21 @@ CREATE TABLE job_dependencies (
     created_by NVARCHAR(100) NOT NULL,
     FOREIGN KEY (job_id) REFERENCES job_definitions(job_id),
     FOREIGN KEY (dependent_job_id) REFERENCES job_definitions(job_id),
-    CONSTRAINT chk_dependency_type CHECK (dependency_type IN ('SUCCESS', 'FAILURE', 'COMPLETION', 'CONDITIONAL')),
+    CONSTRAINT chk_dependency_type CHECK (dependency_type IN ('SUCCESS', 'FAILURE', 'COMPLETION', 'CONDITIONAL', 'ANY_INSTANCE')),
     UNIQUE(job_id, dependent_job_id)
 );
 
+-- Monthly partitioning of the history tables (execution history, steps, alert history).
+-- Set the first boundary to the month the schema is created in; the history archiver splits
+-- boundaries ahead of time and merges them away once a month has been archived.
+-- No foreign keys may reference these tables, since that would block partition truncation.
+CREATE PARTITION FUNCTION pf_history_month (DATETIME2) AS RANGE RIGHT FOR VALUES ('2026-10-01');
+CREATE PARTITION SCHEME ps_history_month AS PARTITION pf_history_month ALL TO ([PRIMARY]);
+GO
+
 -- Job Execution History Table
 CREATE TABLE job_execution_history (
-    execution_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    execution_id BIGINT IDENTITY(1,1) NOT NULL,
     job_id BIGINT NOT NULL,
     execution_uuid UNIQUEIDENTIFIER DEFAULT NEWID(),
     schedule_id BIGINT,
@@ -120,16 +133,20 @@ CREATE TABLE job_execution_history (
     input_parameters NVARCHAR(MAX), -- JSON
     output_parameters NVARCHAR(MAX), -- JSON
     log_file_path NVARCHAR(1000),
-    created_date DATETIME2 DEFAULT GETUTCDATE(),
+    created_date DATETIME2 NOT NULL DEFAULT GETUTCDATE(),
+    PRIMARY KEY (execution_id, created_date),
     FOREIGN KEY (job_id) REFERENCES job_definitions(job_id),
     FOREIGN KEY (schedule_id) REFERENCES job_schedules(schedule_id),
     INDEX idx_job_execution_status (job_id, status, start_time),
     INDEX idx_execution_uuid (execution_uuid)
-);
+) ON ps_history_month(created_date);
+
+-- Step IDs are allocated in blocks of 50 by the orchestrator (must match steps.id-allocation-size)
+CREATE SEQUENCE job_execution_step_ids AS BIGINT START WITH 1 INCREMENT BY 50;
 
 -- Job Execution Steps Table (for tracking multi-step jobs)
 CREATE TABLE job_execution_steps (
-    step_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    step_id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR job_execution_step_ids),
     execution_id BIGINT NOT NULL,
     step_number INT NOT NULL,
     step_name NVARCHAR(255) NOT NULL,
@@ -139,9 +156,114 @@ CREATE TABLE job_execution_steps (
     duration_seconds AS DATEDIFF(SECOND, start_time, end_time),
     error_message NVARCHAR(MAX),
     output NVARCHAR(MAX),
-    created_date DATETIME2 DEFAULT GETUTCDATE(),
-    FOREIGN KEY (execution_id) REFERENCES job_execution_history(execution_id) ON DELETE CASCADE,
+    created_date DATETIME2 NOT NULL DEFAULT GETUTCDATE(),
+    PRIMARY KEY (step_id, created_date),
     INDEX idx_execution_steps (execution_id, step_number)
+) ON ps_history_month(created_date);
+
+-- Job Array Executions Table (per-index status of a job array run, 2 bits per index)
+CREATE TABLE job_array_executions (
+    execution_id BIGINT PRIMARY KEY, -- parent execution of the array
+    array_size INT NOT NULL,
+    max_parallel INT NOT NULL,
+    status_bitmap VARBINARY(MAX), -- per index: 0 pending, 1 running, 2 succeeded, 3 failed
+    pending_count INT DEFAULT 0,
+    running_count INT DEFAULT 0,
+    succeeded_count INT DEFAULT 0,
+    failed_count INT DEFAULT 0,
+    updated_date DATETIME2 DEFAULT GETUTCDATE()
+);
+
+-- Job Result Cache Table (outputs of successful runs of memoized jobs, by input fingerprint)
+CREATE TABLE job_result_cache (
+    cache_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    fingerprint CHAR(64) NOT NULL, -- SHA-256 of job version, resolved parameters and input files
+    execution_id BIGINT NOT NULL,
+    output_parameters NVARCHAR(MAX),
+    hit_count INT DEFAULT 0,
+    last_hit_date DATETIME2,
+    created_date DATETIME2 DEFAULT GETUTCDATE(),
+    FOREIGN KEY (job_id) REFERENCES job_definitions(job_id),
+    UNIQUE(job_id, fingerprint),
+    INDEX idx_result_cache_age (job_id, created_date)
+);
+
+-- Job Execution Checkpoints Table (progress markers a retry resumes from)
+CREATE TABLE job_execution_checkpoints (
+    checkpoint_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    execution_id BIGINT NOT NULL,
+    step_name NVARCHAR(255) NOT NULL,
+    cursor_value NVARCHAR(MAX), -- opaque, job-defined resume position
+    sequence_number INT NOT NULL,
+    recorded_at DATETIME2 NOT NULL,
+    INDEX idx_execution_checkpoints (execution_id, step_name, sequence_number)
+);
+
+-- Job Retry Queue Table (automatic retries waiting for their backoff to elapse)
+CREATE TABLE job_retry_queue (
+    retry_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    execution_id BIGINT NOT NULL UNIQUE, -- failed execution to retry
+    job_id BIGINT NOT NULL,
+    due_time DATETIME2 NOT NULL,
+    delivery_attempts INT DEFAULT 0,
+    claimed_by NVARCHAR(255),
+    claimed_until DATETIME2,
+    created_date DATETIME2 DEFAULT GETUTCDATE(),
+    FOREIGN KEY (job_id) REFERENCES job_definitions(job_id),
+    INDEX idx_retry_due (due_time, claimed_until)
+);
+
+-- Job Admission Queue Table (runs deferred while the orchestrator is at capacity)
+CREATE TABLE job_admission_queue (
+    admission_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    execution_id BIGINT NOT NULL UNIQUE, -- QUEUED execution to start
+    job_id BIGINT NOT NULL,
+    priority INT DEFAULT 5,
+    enqueued_at DATETIME2 DEFAULT GETUTCDATE(),
+    claimed_by NVARCHAR(255),
+    claimed_until DATETIME2,
+    FOREIGN KEY (job_id) REFERENCES job_definitions(job_id),
+    INDEX idx_admission_order (priority DESC, enqueued_at),
+    INDEX idx_admission_job (job_id)
+);
+
+-- Job Execution Leases Table (executions queued on a node's executor, stealable by idle nodes)
+CREATE TABLE job_execution_leases (
+    execution_id BIGINT PRIMARY KEY,
+    owner_node NVARCHAR(255) NOT NULL,
+    fence BIGINT NOT NULL, -- incremented on every change of owner; only the current fence may start the run
+    state NVARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    queued_at DATETIME2 DEFAULT GETUTCDATE(),
+    started_at DATETIME2,
+    CONSTRAINT chk_lease_state CHECK (state IN ('QUEUED', 'STARTED')),
+    INDEX idx_lease_queued (state, queued_at)
+);
+
+-- Orchestrator Node Load Table (utilization each node last reported, used to pick steal victims)
+CREATE TABLE orchestrator_node_load (
+    node_name NVARCHAR(255) PRIMARY KEY,
+    utilization FLOAT NOT NULL,
+    queued INT NOT NULL,
+    reported_at DATETIME2 DEFAULT GETUTCDATE()
+);
+
+-- Execution Query View Table (read model fed from execution state changes; serves dashboards and history reads)
+CREATE TABLE execution_query_view (
+    execution_id BIGINT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    job_name NVARCHAR(255) NOT NULL,
+    status NVARCHAR(50) NOT NULL,
+    trigger_type NVARCHAR(50),
+    triggered_by NVARCHAR(100),
+    host_name NVARCHAR(255),
+    start_time DATETIME2,
+    end_time DATETIME2,
+    error_message NVARCHAR(4000),
+    updated_at DATETIME2 NOT NULL,
+    INDEX idx_query_view_job (job_id, start_time DESC),
+    INDEX idx_query_view_status (status, start_time DESC),
+    INDEX idx_query_view_start (start_time DESC)
 );
 
 -- Job Groups Table
@@ -186,7 +308,7 @@ CREATE TABLE alert_configurations (
 
 -- Alert History Table
 CREATE TABLE alert_history (
-    alert_history_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    alert_history_id BIGINT IDENTITY(1,1) NOT NULL,
     alert_id BIGINT NOT NULL,
     execution_id BIGINT NOT NULL,
     alert_type NVARCHAR(50) NOT NULL,
@@ -194,11 +316,11 @@ CREATE TABLE alert_history (
     recipient NVARCHAR(500),
     alert_message NVARCHAR(MAX),
     error_message NVARCHAR(MAX),
-    sent_date DATETIME2 DEFAULT GETUTCDATE(),
+    sent_date DATETIME2 NOT NULL DEFAULT GETUTCDATE(),
+    PRIMARY KEY (alert_history_id, sent_date),
     FOREIGN KEY (alert_id) REFERENCES alert_configurations(alert_id),
-    FOREIGN KEY (execution_id) REFERENCES job_execution_history(execution_id),
     INDEX idx_alert_history (execution_id, sent_date)
-);
+) ON ps_history_month(sent_date);
 
 -- Resource Pools Table (for Symphony Grid integration)
 CREATE TABLE resource_pools (
@@ -214,6 +336,17 @@ CREATE TABLE resource_pools (
     modified_date DATETIME2 DEFAULT GETUTCDATE()
 );
 
+-- Resource Pool Node Usage Table (capacity each orchestrator node holds per pool; rows of silent nodes expire)
+CREATE TABLE resource_pool_node_usage (
+    pool_id BIGINT NOT NULL,
+    node_name NVARCHAR(255) NOT NULL,
+    used INT NOT NULL,
+    reported_at DATETIME2 DEFAULT GETUTCDATE(),
+    PRIMARY KEY (pool_id, node_name),
+    FOREIGN KEY (pool_id) REFERENCES resource_pools(pool_id),
+    INDEX idx_pool_usage_reported (reported_at)
+);
+
 -- Job Resource Requirements Table
 CREATE TABLE job_resource_requirements (
     requirement_id BIGINT IDENTITY(1,1) PRIMARY KEY,
@@ -0,0 +1,75 @@
+package com.bank.batch.api;
+
+import com.bank.batch.api.dto.GridJobCallbackRequest;
+import com.bank.batch.symphony.GridCompletionRegistry;
+import com.bank.batch.symphony.GridJobOutcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import javax.validation.Valid;
+
+/**
+ * Callback endpoint through which Symphony Grid reports job state changes.
+ * Replaces per-job status polling with push-based completion.
+ */
+@RestController
+@RequestMapping("/api/v1/grid/callbacks")
+@Tag(name = "Grid Callbacks", description = "Job state notifications from Symphony Grid")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+@Slf4j
+@RequiredArgsConstructor
+public class GridCallbackController {
+
+    private final GridCompletionRegistry completionRegistry;
+
+    @PostMapping("/executions/{executionId}")
+    @Operation(summary = "Report grid job state", description = "Notifies the orchestrator of a Symphony job state change")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "State change accepted"),
+        @ApiResponse(responseCode = "404", description = "No pending grid job for this execution"),
+        @ApiResponse(responseCode = "409", description = "Symphony job id does not match the execution")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GRID')")
+    public ResponseEntity<Void> reportState(
+            @PathVariable Long executionId,
+            @Valid @RequestBody GridJobCallbackRequest request) {
+
+        log.debug("Grid callback for execution {}: job {} is {}",
+            executionId, request.getSymphonyJobId(), request.getState());
+
+        if (!completionRegistry.isPending(executionId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        boolean accepted;
+        if (request.isTerminal()) {
+            accepted = completionRegistry.complete(executionId, GridJobOutcome.builder()
+                .symphonyJobId(request.getSymphonyJobId())
+                .successful(request.isSuccessful())
+                .output(request.getOutput())
+                .errorMessage(request.getErrorMessage())
+                .logPath(request.getLogPath())
+                .source(GridJobOutcome.Source.CALLBACK)
+                .build());
+        } else if (request.isRunning()) {
+            accepted = completionRegistry.markRunning(executionId, request.getSymphonyJobId());
+        } else {
+            accepted = completionRegistry.touch(executionId, request.getSymphonyJobId());
+        }
+
+        return accepted
+            ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+            : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
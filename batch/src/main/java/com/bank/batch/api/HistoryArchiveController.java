@@ -0,0 +1,101 @@
+package com.bank.batch.api;
+
+import com.bank.batch.core.archive.ArchivedTable;
+import com.bank.batch.core.archive.HistoryArchive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only access to execution history archived out of the database.
+ * Tables are addressed as executions, steps or alerts; months as yyyy-MM.
+ */
+@RestController
+@RequestMapping("/api/v1/archive")
+@Tag(name = "History Archive", description = "Queries over archived execution history")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryArchiveController {
+
+    private final HistoryArchive historyArchive;
+
+    @GetMapping("/{table}")
+    @Operation(summary = "List archived months", description = "Lists the months archived for a history table")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully listed archived months"),
+        @ApiResponse(responseCode = "404", description = "Unknown history table")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR', 'VIEWER')")
+    public ResponseEntity<List<YearMonth>> getArchivedMonths(@PathVariable String table) throws IOException {
+        Optional<ArchivedTable> archivedTable = ArchivedTable.byName(table);
+        if (archivedTable.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(historyArchive.months(archivedTable.get()));
+    }
+
+    @GetMapping("/{table}/{month}")
+    @Operation(summary = "Query an archived month", description = "Scans an archived month of a history table for matching rows")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully queried the archive"),
+        @ApiResponse(responseCode = "400", description = "Month is not in yyyy-MM form"),
+        @ApiResponse(responseCode = "404", description = "Unknown history table or month not archived")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR', 'VIEWER')")
+    public ResponseEntity<List<Map<String, Object>>> queryArchive(
+            @PathVariable String table,
+            @PathVariable String month,
+            @RequestParam(required = false) Long executionId,
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(10000) int limit) throws IOException {
+
+        log.debug("Querying archived {} for {} - executionId: {}, jobId: {}, status: {}",
+            table, month, executionId, jobId, status);
+
+        YearMonth archivedMonth;
+        try {
+            archivedMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ArchivedTable> archivedTable = ArchivedTable.byName(table);
+        if (archivedTable.isEmpty() || !historyArchive.isArchived(archivedTable.get(), archivedMonth)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (executionId != null) {
+            filters.put("execution_id", executionId.toString());
+        }
+        if (jobId != null) {
+            filters.put("job_id", jobId.toString());
+        }
+        if (status != null) {
+            filters.put(archivedTable.get() == ArchivedTable.ALERTS ? "alert_status" : "status", status);
+        }
+
+        return ResponseEntity.ok(historyArchive.query(archivedTable.get(), archivedMonth, filters, limit));
+    }
+}
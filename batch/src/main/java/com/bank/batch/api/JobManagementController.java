@@ -1,6 +1,10 @@
 package com.bank.batch.api;
 
+import com.bank.batch.core.orchestrator.AdmissionRejectedException;
+import com.bank.batch.core.orchestrator.JobArrayStatus;
 import com.bank.batch.core.orchestrator.JobOrchestrator;
+import com.bank.batch.core.readmodel.ExecutionReadModel;
+import com.bank.batch.core.readmodel.ExecutionView;
 import com.bank.batch.core.model.*;
 import com.bank.batch.core.service.*;
 import com.bank.batch.api.dto.*;
@@ -45,6 +49,7 @@ public class JobManagementController {
     private final JobExecutionService jobExecutionService;
     private final JobDependencyService jobDependencyService;
     private final JobGroupService jobGroupService;
+    private final ExecutionReadModel executionReadModel;
 
     // ==================== Job Definition Endpoints ====================
 
@@ -143,9 +148,11 @@ public class JobManagementController {
     @PostMapping("/{jobId}/execute")
     @Operation(summary = "Execute job manually", description = "Triggers manual execution of a job")
     @ApiResponses({
-        @ApiResponse(responseCode = "202", description = "Job execution started"),
+        @ApiResponse(responseCode = "202", description = "Job execution started, or queued while the orchestrator is at capacity"),
         @ApiResponse(responseCode = "404", description = "Job not found"),
-        @ApiResponse(responseCode = "409", description = "Job is already running")
+        @ApiResponse(responseCode = "409", description = "Job is already running"),
+        @ApiResponse(responseCode = "429", description = "Job already has too many queued runs"),
+        @ApiResponse(responseCode = "503", description = "Orchestrator overloaded")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
     public ResponseEntity<JobExecutionDTO> executeJob(
@@ -155,10 +162,19 @@ public class JobManagementController {
         
         log.info("Manual execution of job ID: {} triggered by: {}", jobId, triggeredBy);
         
-        JobExecutionHistory execution = orchestrator.triggerJob(jobId, triggeredBy, parameters);
-        JobExecutionDTO dto = mapToExecutionDTO(execution);
-        
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(dto);
+        try {
+            JobExecutionHistory execution = orchestrator.triggerJob(jobId, triggeredBy, parameters);
+            JobExecutionDTO dto = mapToExecutionDTO(execution);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(dto);
+            
+        } catch (AdmissionRejectedException e) {
+            log.warn("Execution of job ID: {} rejected: {}", jobId, e.getMessage());
+            return ResponseEntity
+                .status(e.isOverloaded() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+        }
     }
 
     @PostMapping("/executions/{executionId}/cancel")
@@ -236,8 +252,9 @@ public class JobManagementController {
         log.debug("Fetching execution history with filters - jobId: {}, startDate: {}, endDate: {}, status: {}", 
             jobId, startDate, endDate, status);
         
-        Page<JobExecutionDTO> history = jobExecutionService.getExecutionHistory(
-            jobId, startDate, endDate, status, pageable);
+        // Served from the read model so dashboard refreshes stay off the execution history table
+        Page<JobExecutionDTO> history = executionReadModel.history(jobId, startDate, endDate, status, pageable)
+            .map(this::mapToExecutionDTO);
         
         return ResponseEntity.ok(history);
     }
@@ -256,6 +273,20 @@ public class JobManagementController {
         return ResponseEntity.ok(details);
     }
 
+    @GetMapping("/executions/{executionId}/array")
+    @Operation(summary = "Get job array status", description = "Retrieves the per-index status of a job array execution")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Array status found"),
+        @ApiResponse(responseCode = "404", description = "Execution is not a job array")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR', 'VIEWER')")
+    public ResponseEntity<JobArrayStatus> getArrayStatus(@PathVariable Long executionId) {
+        log.debug("Fetching job array status for execution ID: {}", executionId);
+        
+        JobArrayStatus status = orchestrator.getArrayStatus(executionId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
     // ==================== Job Schedule Endpoints ====================
 
     @GetMapping("/{jobId}/schedules")
@@ -417,6 +448,20 @@ public class JobManagementController {
 
     // ==================== Helper Methods ====================
 
+    private JobExecutionDTO mapToExecutionDTO(ExecutionView execution) {
+        return JobExecutionDTO.builder()
+            .executionId(execution.getExecutionId())
+            .jobId(execution.getJobId())
+            .jobName(execution.getJobName())
+            .status(execution.getStatus().toString())
+            .triggerType(execution.getTriggerType())
+            .triggeredBy(execution.getTriggeredBy())
+            .startTime(execution.getStartTime())
+            .endTime(execution.getEndTime())
+            .durationSeconds(execution.getDurationSeconds())
+            .build();
+    }
+
     private JobExecutionDTO mapToExecutionDTO(JobExecutionHistory execution) {
         return JobExecutionDTO.builder()
             .executionId(execution.getExecutionId())
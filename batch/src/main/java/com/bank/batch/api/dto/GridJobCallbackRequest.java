@@ -0,0 +1,44 @@
+package com.bank.batch.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import java.util.Set;
+
+/**
+ * State-change notification posted by Symphony Grid (or a local stand-in) for a submitted job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridJobCallbackRequest {
+
+    private static final Set<String> TERMINAL_STATES = Set.of("COMPLETED", "FAILED", "CANCELLED");
+
+    @NotBlank
+    private String symphonyJobId;
+
+    /** Grid state: PENDING, RUNNING, COMPLETED, FAILED or CANCELLED. */
+    @NotBlank
+    private String state;
+
+    private String output;
+    private String errorMessage;
+    private String logPath;
+
+    public boolean isTerminal() {
+        return state != null && TERMINAL_STATES.contains(state.toUpperCase());
+    }
+
+    public boolean isRunning() {
+        return "RUNNING".equalsIgnoreCase(state);
+    }
+
+    public boolean isSuccessful() {
+        return "COMPLETED".equalsIgnoreCase(state);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.batch.core.archive;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * History tables partitioned monthly on pf_history_month, and the column each is partitioned by.
+ */
+public enum ArchivedTable {
+
+    EXECUTIONS("executions", "job_execution_history", "created_date"),
+    STEPS("steps", "job_execution_steps", "created_date"),
+    ALERTS("alerts", "alert_history", "sent_date");
+
+    private final String name;
+    private final String tableName;
+    private final String partitionColumn;
+
+    ArchivedTable(String name, String tableName, String partitionColumn) {
+        this.name = name;
+        this.tableName = tableName;
+        this.partitionColumn = partitionColumn;
+    }
+
+    /**
+     * Name used in archive paths and the archive API.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    public static Optional<ArchivedTable> byName(String name) {
+        return Arrays.stream(values()).filter(table -> table.name.equals(name)).findFirst();
+    }
+}
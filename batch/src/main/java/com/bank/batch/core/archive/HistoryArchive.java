@@ -0,0 +1,97 @@
+package com.bank.batch.core.archive;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read access to history months archived by {@link HistoryArchiver}.
+ * Archives are scanned on demand; they are meant for occasional audit lookups, not reporting.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryArchive {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${batch.orchestrator.cleanup.archive-dir:/var/lib/batch-orchestrator/archive}")
+    private String archiveDir;
+
+    /**
+     * Months archived for a table, oldest first.
+     */
+    public List<YearMonth> months(ArchivedTable table) throws IOException {
+        Path directory = Paths.get(archiveDir, table.getName());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(HistoryArchiver.ARCHIVE_SUFFIX))
+                .map(name -> YearMonth.parse(name.substring(0, name.length() - HistoryArchiver.ARCHIVE_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    public boolean isArchived(ArchivedTable table, YearMonth month) {
+        return Files.exists(HistoryArchiver.archiveFile(Paths.get(archiveDir), table, month));
+    }
+
+    /**
+     * Rows of an archived month whose columns equal all the given values, up to {@code limit}.
+     * Values are compared as strings, so filters can come straight from request parameters.
+     */
+    public List<Map<String, Object>> query(ArchivedTable table, YearMonth month, Map<String, String> filters, int limit)
+            throws IOException {
+        Path file = HistoryArchiver.archiveFile(Paths.get(archiveDir), table, month);
+        List<Map<String, Object>> matches = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while (matches.size() < limit && (line = reader.readLine()) != null) {
+                Map<String, Object> row = objectMapper.readValue(line, ROW_TYPE);
+                if (matches(row, filters)) {
+                    matches.add(row);
+                }
+            }
+        }
+
+        log.debug("Archive query on {} {} returned {} rows", table.getName(), month, matches.size());
+        return matches;
+    }
+
+    private static boolean matches(Map<String, Object> row, Map<String, String> filters) {
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            Object value = row.get(filter.getKey());
+            if (value == null || !Objects.equals(value.toString(), filter.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,200 @@
+package com.bank.batch.core.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Retention cleanup for the monthly-partitioned history tables.
+ * Once a month is past retention, each table's rows for it are written to a compressed JSON-lines
+ * file under the archive directory, its partitions are truncated and the month's boundary is merged
+ * away, so purging is a metadata operation instead of row-by-row deletes. Boundaries for the coming
+ * months are split ahead while their partitions are still empty.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryArchiver {
+
+    static final String ARCHIVE_SUFFIX = ".jsonl.gz";
+
+    private static final String BOUNDARIES_SQL =
+        "SELECT CAST(v.value AS DATETIME2) FROM sys.partition_range_values v " +
+        "JOIN sys.partition_functions f ON f.function_id = v.function_id " +
+        "WHERE f.name = 'pf_history_month' ORDER BY v.boundary_id";
+
+    // Rows below the second boundary live in the first two partitions: the month being archived and anything older
+    private static final String EXPORT_SQL = "SELECT * FROM %s WHERE %s < ?";
+    private static final String TRUNCATE_SQL = "TRUNCATE TABLE %s WITH (PARTITIONS (1 TO 2))";
+    private static final String MERGE_SQL = "ALTER PARTITION FUNCTION pf_history_month() MERGE RANGE ('%s')";
+    private static final String SPLIT_SQL =
+        "ALTER PARTITION SCHEME ps_history_month NEXT USED [PRIMARY]; " +
+        "ALTER PARTITION FUNCTION pf_history_month() SPLIT RANGE ('%s')";
+
+    // Unpartitioned tables keyed by execution have no foreign key to the partitioned history; their rows
+    // are dropped with the executions. Execution IDs increase with created_date, so older IDs are gone.
+    private static final String[] EXECUTION_SCOPED_TABLES = {
+        "job_array_executions", "job_execution_checkpoints", "job_retry_queue",
+        "job_admission_queue", "job_execution_leases", "execution_query_view"
+    };
+    private static final String ORPHANS_SQL =
+        "DELETE FROM %s WHERE execution_id < (SELECT MIN(execution_id) FROM job_execution_history)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.orchestrator.cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${batch.orchestrator.cleanup.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${batch.orchestrator.cleanup.archive-dir:/var/lib/batch-orchestrator/archive}")
+    private String archiveDir;
+
+    // Empty partitions kept ready beyond the current month
+    @Value("${batch.orchestrator.cleanup.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${batch.orchestrator.cleanup.cron:0 0 2 * * ?}")
+    public void archiveExpiredPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            // A month goes once all of it is past retention: its upper boundary is at or before the cutoff
+            LocalDate cutoff = today.minusDays(retentionDays);
+
+            List<LocalDate> boundaries = boundaries();
+            while (boundaries.size() >= 2 && !boundaries.get(1).isAfter(cutoff)) {
+                archiveMonth(boundaries.get(0), boundaries.get(1));
+                boundaries.remove(0);
+            }
+
+            splitAhead(boundaries, YearMonth.from(today).plusMonths(monthsAhead).atDay(1));
+
+        } catch (Exception e) {
+            log.error("Error archiving execution history partitions", e);
+        }
+    }
+
+    /**
+     * Archives and drops the month starting at {@code lower}. Safe to repeat after a failure part way:
+     * an archive file is only ever complete, and is not rewritten once it exists.
+     */
+    private void archiveMonth(LocalDate lower, LocalDate upper) throws IOException {
+        YearMonth month = YearMonth.from(lower);
+        log.info("Archiving execution history for {}", month);
+
+        for (ArchivedTable table : ArchivedTable.values()) {
+            Path file = archiveFile(Paths.get(archiveDir), table, month);
+            if (!Files.exists(file)) {
+                export(table, upper, file);
+            }
+        }
+
+        for (ArchivedTable table : ArchivedTable.values()) {
+            jdbcTemplate.execute(String.format(TRUNCATE_SQL, table.getTableName()));
+        }
+        jdbcTemplate.execute(String.format(MERGE_SQL, lower));
+
+        for (String table : EXECUTION_SCOPED_TABLES) {
+            jdbcTemplate.update(String.format(ORPHANS_SQL, table));
+        }
+        meterRegistry.counter("batch.archive.partitions").increment();
+    }
+
+    private void export(ArchivedTable table, LocalDate upper, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        long rows;
+        try (OutputStream out = Files.newOutputStream(temp);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8))) {
+            rows = exportRows(table, upper, writer);
+        }
+        // The rows are truncated next, so the archive has to be on disk first
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        meterRegistry.counter("batch.archive.rows", "table", table.getName()).increment(rows);
+        log.info("Archived {} rows of {} to {}", rows, table.getTableName(), file);
+    }
+
+    private long exportRows(ArchivedTable table, LocalDate upper, Writer writer) {
+        long[] rows = {0};
+        jdbcTemplate.query(String.format(EXPORT_SQL, table.getTableName(), table.getPartitionColumn()), rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                Object value = rs.getObject(i);
+                row.put(meta.getColumnLabel(i), value instanceof Timestamp ts ? ts.toLocalDateTime().toString() : value);
+            }
+            try {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }, Timestamp.valueOf(upper.atStartOfDay()));
+        return rows[0];
+    }
+
+    private void splitAhead(List<LocalDate> boundaries, LocalDate until) {
+        LocalDate next = boundaries.isEmpty()
+            ? YearMonth.now(ZoneOffset.UTC).atDay(1)
+            : boundaries.get(boundaries.size() - 1).plusMonths(1);
+
+        for (; !next.isAfter(until); next = next.plusMonths(1)) {
+            jdbcTemplate.execute(String.format(SPLIT_SQL, next));
+            log.info("Added execution history partition for {}", YearMonth.from(next));
+        }
+    }
+
+    private List<LocalDate> boundaries() {
+        List<LocalDate> boundaries = new ArrayList<>();
+        for (Timestamp boundary : jdbcTemplate.queryForList(BOUNDARIES_SQL, Timestamp.class)) {
+            boundaries.add(boundary.toLocalDateTime().toLocalDate());
+        }
+        return boundaries;
+    }
+
+    static Path archiveFile(Path archiveDir, ArchivedTable table, YearMonth month) {
+        return archiveDir.resolve(table.getName()).resolve(month + ARCHIVE_SUFFIX);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.batch.core.checkpoint;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A progress marker recorded by a running job: the step it reached and an opaque cursor
+ * the job can resume from, e.g. the last committed file offset or business key.
+ */
+@Value
+public class Checkpoint {
+
+    String stepName;
+
+    /** Job-defined resume position; the orchestrator never interprets it. */
+    String cursor;
+
+    int sequenceNumber;
+
+    LocalDateTime recordedAt;
+}
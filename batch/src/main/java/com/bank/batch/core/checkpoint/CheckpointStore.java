@@ -0,0 +1,92 @@
+package com.bank.batch.core.checkpoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Persists job progress markers in job_execution_checkpoints.
+ * A retry starts with the latest checkpoint per step of the execution it replaces, so
+ * chained retries keep resuming from the furthest point any attempt reached.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CheckpointStore {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO job_execution_checkpoints (execution_id, step_name, cursor_value, sequence_number, recorded_at) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String LATEST_PER_STEP =
+        "SELECT step_name, cursor_value, sequence_number, recorded_at FROM (" +
+        "  SELECT step_name, cursor_value, sequence_number, recorded_at, " +
+        "  ROW_NUMBER() OVER (PARTITION BY step_name ORDER BY sequence_number DESC) AS rn " +
+        "  FROM job_execution_checkpoints WHERE execution_id = ?) c WHERE rn = 1";
+
+    private static final String LOAD_SQL = LATEST_PER_STEP + " ORDER BY sequence_number";
+
+    private static final String CARRY_OVER_SQL =
+        "INSERT INTO job_execution_checkpoints (execution_id, step_name, cursor_value, sequence_number, recorded_at) " +
+        "SELECT ?, step_name, cursor_value, sequence_number, recorded_at FROM (" + LATEST_PER_STEP + ") latest";
+
+    private static final String DELETE_SQL = "DELETE FROM job_execution_checkpoints WHERE execution_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Checkpoints of an execution, including any carried over from the run it retries.
+     */
+    public ExecutionCheckpoints open(Long executionId) {
+        List<Checkpoint> carriedOver = jdbcTemplate.query(LOAD_SQL,
+            (rs, rowNum) -> new Checkpoint(
+                rs.getString("step_name"),
+                rs.getString("cursor_value"),
+                rs.getInt("sequence_number"),
+                rs.getTimestamp("recorded_at").toLocalDateTime()),
+            executionId);
+
+        ExecutionCheckpoints checkpoints = new ExecutionCheckpoints(this, executionId, carriedOver);
+        if (checkpoints.isResuming()) {
+            meterRegistry.counter("batch.checkpoint.resumed").increment();
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Checkpoints of a first attempt, which has nothing carried over and so needs no query.
+     */
+    public ExecutionCheckpoints start(Long executionId) {
+        return new ExecutionCheckpoints(this, executionId, List.of());
+    }
+
+    /**
+     * Copies the latest checkpoint per step of a failed execution to the execution retrying it.
+     */
+    public void carryOver(Long failedExecutionId, Long retryExecutionId) {
+        int copied = jdbcTemplate.update(CARRY_OVER_SQL, retryExecutionId, failedExecutionId);
+        if (copied > 0) {
+            log.info("Retry {} resumes from {} checkpointed steps of execution {}",
+                retryExecutionId, copied, failedExecutionId);
+        }
+    }
+
+    /**
+     * Drops an execution's checkpoints once it succeeded and nothing will resume from them.
+     */
+    public void clear(Long executionId) {
+        jdbcTemplate.update(DELETE_SQL, executionId);
+    }
+
+    void insert(Long executionId, Checkpoint checkpoint) {
+        jdbcTemplate.update(INSERT_SQL, executionId, checkpoint.getStepName(), checkpoint.getCursor(),
+            checkpoint.getSequenceNumber(), Timestamp.valueOf(checkpoint.getRecordedAt()));
+        meterRegistry.counter("batch.checkpoint.saved").increment();
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.batch.core.checkpoint;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checkpoints of one execution, handed to executors through the execution context.
+ * Starts with the checkpoints carried over from the failed run a retry replaces, so an
+ * executor resumes from {@link #getResumePoint()} instead of redoing completed work.
+ * Only the resume point is serialized when the context is sent to the grid.
+ */
+public class ExecutionCheckpoints {
+
+    private final CheckpointStore store;
+    private final Long executionId;
+    private final Map<String, Checkpoint> latestByStep = new LinkedHashMap<>();
+    private Checkpoint latest;
+
+    ExecutionCheckpoints(CheckpointStore store, Long executionId, Iterable<Checkpoint> carriedOver) {
+        this.store = store;
+        this.executionId = executionId;
+        for (Checkpoint checkpoint : carriedOver) {
+            remember(checkpoint);
+        }
+    }
+
+    /**
+     * Last checkpoint recorded by this execution or the failed runs it retries, or null to start from scratch.
+     */
+    public synchronized Checkpoint getResumePoint() {
+        return latest;
+    }
+
+    /**
+     * Last checkpoint recorded for a step, or null if the step never checkpointed.
+     */
+    public synchronized Checkpoint getResumePoint(String stepName) {
+        return latestByStep.get(stepName);
+    }
+
+    @JsonIgnore
+    public synchronized boolean isResuming() {
+        return latest != null;
+    }
+
+    @JsonIgnore
+    public synchronized Map<String, Checkpoint> getLatestByStep() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(latestByStep));
+    }
+
+    /**
+     * Records progress; persisted before returning so it survives a crash of this node.
+     * A job should checkpoint only after the work up to the cursor is durably committed.
+     */
+    public synchronized void save(String stepName, String cursor) {
+        int sequence = latest != null ? latest.getSequenceNumber() + 1 : 1;
+        Checkpoint checkpoint = new Checkpoint(stepName, cursor, sequence, LocalDateTime.now());
+        store.insert(executionId, checkpoint);
+        remember(checkpoint);
+    }
+
+    private void remember(Checkpoint checkpoint) {
+        latestByStep.put(checkpoint.getStepName(), checkpoint);
+        if (latest == null || checkpoint.getSequenceNumber() >= latest.getSequenceNumber()) {
+            latest = checkpoint;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.batch.core.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single place where execution timeouts are enforced.
+ * Deadlines live in a hashed timer wheel driven by one thread, so arming and cancelling
+ * are O(1) and no thread blocks or scans per running execution.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DeadlineService {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<Deadline> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger armedCount = new AtomicInteger();
+
+    @Value("${batch.orchestrator.deadlines.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${batch.orchestrator.deadlines.wheel-size:4096}")
+    private int wheelSize;
+
+    private List<List<Deadline>> wheel;
+    private Thread ticker;
+    private volatile boolean running;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    public void start() {
+        wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+
+        this.expiredCounter = Counter.builder("batch.deadlines.expired")
+                .description("Executions stopped by their deadline")
+                .register(meterRegistry);
+
+        Gauge.builder("batch.deadlines.armed", armedCount, AtomicInteger::get)
+                .description("Deadlines currently armed")
+                .register(meterRegistry);
+
+        running = true;
+        ticker = new Thread(this::run, "deadline-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    /**
+     * Arms a deadline that runs the expiry action unless cancelled first.
+     * The action runs on the wheel thread and must not block.
+     */
+    public Deadline arm(String name, Duration timeout, Runnable onExpiry) {
+        Deadline deadline = new Deadline(name, System.nanoTime() + timeout.toNanos(), onExpiry);
+        incoming.add(deadline);
+        armedCount.incrementAndGet();
+        return deadline;
+    }
+
+    public int getArmedCount() {
+        return armedCount.get();
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long tick = 0;
+
+        while (running) {
+            try {
+                long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                tick++;
+
+                transferIncoming(startNanos, tickNanos, tick);
+                expireBucket(wheel.get((int) (tick % wheelSize)));
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error advancing deadline wheel", e);
+            }
+        }
+    }
+
+    /**
+     * Places newly armed deadlines into their bucket, with the number of full turns left.
+     */
+    private void transferIncoming(long startNanos, long tickNanos, long currentTick) {
+        Deadline deadline;
+        while ((deadline = incoming.poll()) != null) {
+            if (deadline.cancelled.get()) {
+                continue;
+            }
+
+            long targetTick = Math.max(currentTick, (deadline.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            deadline.remainingRounds = (targetTick - currentTick) / wheelSize;
+            wheel.get((int) (targetTick % wheelSize)).add(deadline);
+        }
+    }
+
+    private void expireBucket(List<Deadline> bucket) {
+        Iterator<Deadline> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Deadline deadline = iterator.next();
+
+            if (deadline.cancelled.get()) {
+                iterator.remove();
+            } else if (deadline.remainingRounds > 0) {
+                deadline.remainingRounds--;
+            } else {
+                iterator.remove();
+                if (deadline.cancelled.compareAndSet(false, true)) {
+                    armedCount.decrementAndGet();
+                    expiredCounter.increment();
+                    log.warn("Deadline expired for {}", deadline.name);
+                    try {
+                        deadline.onExpiry.run();
+                    } catch (Exception e) {
+                        log.error("Expiry action failed for {}", deadline.name, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle to an armed deadline.
+     */
+    public class Deadline {
+        private final String name;
+        private final long deadlineNanos;
+        private final Runnable onExpiry;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private long remainingRounds;
+
+        private Deadline(String name, long deadlineNanos, Runnable onExpiry) {
+            this.name = name;
+            this.deadlineNanos = deadlineNanos;
+            this.onExpiry = onExpiry;
+        }
+
+        /**
+         * Disarms the deadline; the wheel drops it lazily on its next visit.
+         *
+         * @return false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                armedCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
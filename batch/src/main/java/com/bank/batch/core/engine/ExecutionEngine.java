@@ -1,8 +1,19 @@
 package com.bank.batch.core.engine;
 
+import com.bank.batch.core.checkpoint.CheckpointStore;
+import com.bank.batch.core.checkpoint.ExecutionCheckpoints;
 import com.bank.batch.core.executor.*;
+import com.bank.batch.core.executor.process.LocalProcessRegistry;
+import com.bank.batch.core.executor.python.PooledPythonJobExecutor;
+import com.bank.batch.core.executor.python.PythonWorkerPool;
+import com.bank.batch.core.executor.storedproc.StoredProcJobExecutor;
 import com.bank.batch.core.model.*;
+import com.bank.batch.core.parameter.ParameterEngine;
 import com.bank.batch.core.repository.*;
+import com.bank.batch.symphony.GridCompletionRegistry;
+import com.bank.batch.symphony.GridJobOutcome;
+import com.bank.batch.symphony.GridSubmissionBatcher;
+import com.bank.batch.symphony.LazyGridMetrics;
 import com.bank.batch.symphony.SymphonyGridClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,9 +22,11 @@ import org.springframework.stereotype.Service;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Core execution engine responsible for running jobs.
@@ -26,66 +39,182 @@ public class ExecutionEngine {
 
     private final JobExecutorFactory executorFactory;
     private final SymphonyGridClient symphonyClient;
-    private final JobExecutionStepRepository stepRepository;
+    private final GridCompletionRegistry gridCompletionRegistry;
+    private final GridSubmissionBatcher gridSubmissionBatcher;
+    private final StepRecorder stepRecorder;
     private final ExecutorService localExecutorService;
+    private final PythonWorkerPool pythonWorkerPool;
+    private final PooledPythonJobExecutor pooledPythonExecutor;
+    private final StoredProcJobExecutor storedProcExecutor;
+    private final PlacementEngine placementEngine;
+    private final DeadlineService deadlineService;
+    private final LocalProcessRegistry localProcessRegistry;
+    private final ParameterEngine parameterEngine;
+    private final SpeculativeExecution speculativeExecution;
+    private final CheckpointStore checkpointStore;
     private final Map<Long, Future<?>> runningTasks = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> arrayInstances = new ConcurrentHashMap<>();
     
     @Value("${batch.orchestrator.symphony.enabled}")
     private boolean symphonyEnabled;
     
     @Value("${batch.orchestrator.executor.timeout-minutes:60}")
     private int defaultTimeoutMinutes;
+    
+    @Value("${batch.orchestrator.symphony.callback-base-url}")
+    private String gridCallbackBaseUrl;
 
     /**
-     * Executes a job based on its type and configuration.
+     * Executes a job based on its type and configuration, blocking until it completes.
      */
     public JobExecutionResult executeJob(JobDefinition job, JobExecutionHistory execution) {
+        return executeJobAsync(job, execution).join();
+    }
+
+    /**
+     * Executes a job based on its type and configuration.
+     * Grid jobs complete when Symphony calls back, so no thread is held while they run.
+     */
+    public CompletableFuture<JobExecutionResult> executeJobAsync(JobDefinition job, JobExecutionHistory execution) {
         log.info("Starting execution of job: {} (ID: {})", job.getJobName(), execution.getExecutionId());
         
-        JobExecutionResult result = new JobExecutionResult();
-        result.setExecutionId(execution.getExecutionId());
-        result.setJobId(job.getJobId());
+        CompletableFuture<JobExecutionResult> outcome;
+        long gridStartNanos = 0;
+        boolean onGrid = false;
         
         try {
             // Set execution context
             ExecutionContext context = buildExecutionContext(job, execution);
             
             // Get appropriate executor
-            JobExecutor executor = executorFactory.getExecutor(job.getJobType());
+            JobExecutor executor = selectExecutor(job);
             
             // Determine execution mode
-            if (shouldUseGrid(job)) {
-                result = executeOnGrid(job, execution, context, executor);
+            onGrid = shouldUseGrid(job);
+            if (onGrid) {
+                gridStartNanos = System.nanoTime();
+                outcome = speculate(job, execution, context, executor,
+                    executeOnGrid(job, execution, context, executor));
             } else {
-                result = executeLocally(job, execution, context, executor);
+                outcome = CompletableFuture.completedFuture(executeLocally(job, execution, context, executor));
             }
             
-            log.info("Job {} completed with status: {}", job.getJobName(), 
-                result.isSuccess() ? "SUCCESS" : "FAILURE");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = CompletableFuture.failedFuture(e);
             
-        } catch (TimeoutException e) {
+        } catch (Exception e) {
+            outcome = CompletableFuture.failedFuture(e);
+        }
+        
+        boolean placedOnGrid = onGrid;
+        long submittedNanos = gridStartNanos;
+        return outcome.handle((result, error) -> {
+            if (error == null) {
+                log.info("Job {} completed with status: {}", job.getJobName(), 
+                    result.isSuccess() ? "SUCCESS" : "FAILURE");
+                
+                // Feed successful grid runtimes back into placement; local runs, including grid
+                // rejections and speculative backups, record their own runtime in executeLocally
+                if (result.isSuccess() && placedOnGrid && "symphony-grid".equals(execution.getHostName())) {
+                    placementEngine.recordCompletion(job, true,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedNanos));
+                }
+                return result;
+            }
+            return toFailureResult(job, execution, error instanceof CompletionException ? error.getCause() : error);
+        });
+    }
+
+    /**
+     * Executes one index of a job array. Instances are tracked in their array's status bitmap rather
+     * than in job_execution_history, so each runs under a synthetic execution id without step or
+     * checkpoint rows, with the instance parameters added to the parent's.
+     */
+    public CompletableFuture<JobExecutionResult> executeArrayInstanceAsync(
+            JobDefinition job,
+            JobExecutionHistory parent,
+            long instanceId,
+            Map<String, Object> instanceParameters) {
+        
+        JobExecutionHistory instance = new JobExecutionHistory();
+        instance.setExecutionId(instanceId);
+        instance.setJob(job);
+        instance.setTriggerType(parent.getTriggerType());
+        instance.setTriggeredBy(parent.getTriggeredBy());
+        instance.setRetryCount(parent.getRetryCount());
+        instance.setInputParameters(parent.getInputParameters());
+        
+        arrayInstances.put(instanceId, instanceParameters);
+        return executeJobAsync(job, instance)
+            .whenComplete((result, error) -> arrayInstances.remove(instanceId));
+    }
+
+    /**
+     * Maps an execution error to a failed result.
+     */
+    private JobExecutionResult toFailureResult(JobDefinition job, JobExecutionHistory execution, Throwable error) {
+        JobExecutionResult result = new JobExecutionResult();
+        result.setExecutionId(execution.getExecutionId());
+        result.setJobId(job.getJobId());
+        result.setSuccess(false);
+        
+        if (error instanceof TimeoutException) {
             log.error("Job {} timed out after {} minutes", job.getJobName(), job.getTimeoutMinutes());
-            result.setSuccess(false);
             result.setErrorMessage("Job execution timed out");
             result.setTimedOut(true);
             
-        } catch (InterruptedException e) {
+        } else if (error instanceof InterruptedException || error instanceof CancellationException) {
             log.warn("Job {} was interrupted", job.getJobName());
-            Thread.currentThread().interrupt();
-            result.setSuccess(false);
             result.setErrorMessage("Job execution was interrupted");
             result.setCancelled(true);
             
-        } catch (Exception e) {
-            log.error("Error executing job {}", job.getJobName(), e);
-            result.setSuccess(false);
-            result.setErrorMessage(e.getMessage());
-            result.setStackTrace(getStackTrace(e));
+        } else {
+            log.error("Error executing job {}", job.getJobName(), error);
+            result.setErrorMessage(error.getMessage());
+            result.setStackTrace(getStackTrace(error));
         }
         
         return result;
     }
 
+    /**
+     * Races a straggling grid attempt of an idempotent job against a local backup attempt.
+     * Both attempts share the execution id, which is why the backup never goes to the grid.
+     */
+    private CompletableFuture<JobExecutionResult> speculate(
+            JobDefinition job,
+            JobExecutionHistory execution,
+            ExecutionContext context,
+            JobExecutor executor,
+            CompletableFuture<JobExecutionResult> primary) {
+        
+        Long executionId = execution.getExecutionId();
+        return speculativeExecution.race(job, primary,
+            () -> {
+                try {
+                    return CompletableFuture.completedFuture(executeLocally(job, execution, context, executor));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            },
+            () -> {
+                try {
+                    gridCompletionRegistry.cancel(executionId);
+                    symphonyClient.cancelJobByExecutionId(executionId.toString());
+                } catch (Exception e) {
+                    log.error("Failed to cancel grid attempt of execution {}", executionId, e);
+                }
+            },
+            () -> {
+                Future<?> backup = runningTasks.get(executionId);
+                if (backup != null) {
+                    terminateLocal(executionId, backup);
+                }
+                execution.setHostName("symphony-grid");
+            });
+    }
+
     /**
      * Executes a job locally on the orchestrator node.
      */
@@ -105,8 +234,29 @@ public class ExecutionEngine {
                 execution.setProcessId(getProcessId());
                 execution.setThreadId(Thread.currentThread().getName());
                 
-                // Execute with steps tracking
-                return executeWithSteps(job, execution, context, executor);
+                // Processes the executor spawns join the execution's cgroup when isolation is enabled;
+                // pooled Python and stored procedures run in long-lived processes that never join one
+                if (spawnsProcesses(executor)) {
+                    localProcessRegistry.isolate(execution.getExecutionId(), job);
+                }
+                
+                // Execute with steps tracking; timed from here so the wait in the executor queue is not
+                // mistaken for the job's runtime
+                long runStartNanos = System.nanoTime();
+                JobExecutionResult result = executeWithSteps(job, execution, context, executor);
+                if (result.isSuccess()) {
+                    placementEngine.recordCompletion(job, false,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStartNanos));
+                }
+                
+                Map<String, Object> usage = localProcessRegistry.unregister(execution.getExecutionId());
+                if (!usage.isEmpty()) {
+                    Map<String, Object> metrics = result.getMetrics() != null
+                        ? new HashMap<>(result.getMetrics()) : new HashMap<>();
+                    metrics.putAll(usage);
+                    result.setMetrics(metrics);
+                }
+                return result;
                 
             } catch (Exception e) {
                 log.error("Error in local execution of job {}", job.getJobName(), e);
@@ -114,25 +264,58 @@ public class ExecutionEngine {
             }
         };
         
-        // Submit task with timeout
+        // Submit task; its deadline tears down the job's process tree, then interrupts the worker
         Future<JobExecutionResult> future = localExecutorService.submit(task);
         runningTasks.put(execution.getExecutionId(), future);
         
+        int timeout = job.getTimeoutMinutes() > 0 ? job.getTimeoutMinutes() : defaultTimeoutMinutes;
+        AtomicBoolean timedOut = new AtomicBoolean();
+        DeadlineService.Deadline deadline = deadlineService.arm("execution " + execution.getExecutionId(),
+            Duration.ofMinutes(timeout), () -> {
+                timedOut.set(true);
+                terminateLocal(execution.getExecutionId(), future);
+            });
+        
         try {
-            int timeout = job.getTimeoutMinutes() > 0 ? job.getTimeoutMinutes() : defaultTimeoutMinutes;
-            return future.get(timeout, TimeUnit.MINUTES);
+            return future.get();
+            
+        } catch (CancellationException e) {
+            if (timedOut.get()) {
+                throw new TimeoutException("Job execution exceeded " + timeout + " minutes");
+            }
+            throw e;
             
         } finally {
+            deadline.cancel();
             runningTasks.remove(execution.getExecutionId());
+            localProcessRegistry.unregister(execution.getExecutionId());
         }
     }
 
+    /**
+     * Stops a local execution: SIGTERM to every process it spawned, SIGKILL after the grace period,
+     * and only then interrupts the thread waiting on it. Returns without waiting for the grace period.
+     */
+    private void terminateLocal(Long executionId, Future<?> future) {
+        storedProcExecutor.cancel(executionId);
+
+        CompletableFuture.allOf(
+                localProcessRegistry.terminate(executionId),
+                pythonWorkerPool.cancel(executionId))
+            .whenComplete((reports, error) -> {
+                if (error != null) {
+                    log.error("Process tree termination failed for execution {}", executionId, error);
+                }
+                future.cancel(true);
+            });
+    }
+
     /**
      * Executes a job on Symphony Grid for distributed processing.
      */
     @CircuitBreaker(name = "symphony-api")
     @Retry(name = "symphony-api")
-    private JobExecutionResult executeOnGrid(
+    private CompletableFuture<JobExecutionResult> executeOnGrid(
             JobDefinition job,
             JobExecutionHistory execution,
             ExecutionContext context,
@@ -150,23 +333,35 @@ public class ExecutionEngine {
             .timeoutMinutes(job.getTimeoutMinutes())
             .resourceRequirements(buildResourceRequirements(job))
             .executionContext(context)
+            .callbackUrl(gridCallbackBaseUrl + "/api/v1/grid/callbacks/executions/" + execution.getExecutionId())
             .build();
         
-        // Submit to Symphony Grid
-        SymphonyJobResponse response = symphonyClient.submitJob(request);
+        // Registered before submitting, so a callback racing the submission response is not lost
+        CompletableFuture<GridJobOutcome> completion = gridCompletionRegistry.register(execution.getExecutionId());
+        
+        // Submit to Symphony Grid, batched with other submissions arriving in the same window
+        SymphonyJobResponse response;
+        try {
+            response = gridSubmissionBatcher.submit(request).get();
+        } catch (Exception e) {
+            gridCompletionRegistry.unregister(execution.getExecutionId());
+            throw e;
+        }
         
         if (response == null || !response.isAccepted()) {
+            gridCompletionRegistry.unregister(execution.getExecutionId());
             log.warn("Symphony Grid rejected job {}, falling back to local execution", job.getJobName());
-            return executeLocally(job, execution, context, executor);
+            return CompletableFuture.completedFuture(executeLocally(job, execution, context, executor));
         }
         
         // Track Symphony job
         String symphonyJobId = response.getJobId();
         execution.setHostName("symphony-grid");
         execution.setProcessId(Integer.parseInt(symphonyJobId.substring(0, Math.min(symphonyJobId.length(), 9))));
+        gridCompletionRegistry.attach(execution.getExecutionId(), symphonyJobId);
         
-        // Monitor Symphony job execution
-        return monitorGridExecution(symphonyJobId, job, execution);
+        // Complete when the grid calls back
+        return awaitGridCompletion(completion, symphonyJobId, job, execution);
     }
 
     /**
@@ -197,7 +392,11 @@ public class ExecutionEngine {
             
         } finally {
             preStep.setEndTime(LocalDateTime.now());
-            steps.add(stepRepository.save(preStep));
+            steps.add(preStep);
+            // The run ends here, so its only step goes out now
+            if (preStep.getStatus() == ExecutionStatus.FAILURE) {
+                recordSteps(execution, steps);
+            }
         }
         
         // Main execution step
@@ -218,7 +417,7 @@ public class ExecutionEngine {
             
         } finally {
             mainStep.setEndTime(LocalDateTime.now());
-            steps.add(stepRepository.save(mainStep));
+            steps.add(mainStep);
         }
         
         // Post-execution step (only if main execution succeeded)
@@ -238,63 +437,66 @@ public class ExecutionEngine {
                 
             } finally {
                 postStep.setEndTime(LocalDateTime.now());
-                steps.add(stepRepository.save(postStep));
+                steps.add(postStep);
             }
         }
         
+        // All steps of the run go out together, in the recorder's next batch
+        recordSteps(execution, steps);
         result.setExecutionSteps(steps);
         return result;
     }
 
     /**
-     * Monitors job execution on Symphony Grid.
+     * Waits for a grid job's completion callback without holding a thread.
+     * The registry's bulk reconciliation poll covers lost callbacks; the job's deadline cancels the grid job.
      */
-    private JobExecutionResult monitorGridExecution(
+    private CompletableFuture<JobExecutionResult> awaitGridCompletion(
+            CompletableFuture<GridJobOutcome> completion,
             String symphonyJobId,
             JobDefinition job,
-            JobExecutionHistory execution) throws Exception {
+            JobExecutionHistory execution) {
         
-        log.debug("Monitoring Symphony job {} for {}", symphonyJobId, job.getJobName());
+        log.debug("Awaiting Symphony job {} for {}", symphonyJobId, job.getJobName());
         
-        JobExecutionResult result = new JobExecutionResult();
-        int pollIntervalSeconds = 10;
-        int maxPollAttempts = (job.getTimeoutMinutes() * 60) / pollIntervalSeconds;
+        int timeout = job.getTimeoutMinutes() > 0 ? job.getTimeoutMinutes() : defaultTimeoutMinutes;
         
-        for (int attempt = 0; attempt < maxPollAttempts; attempt++) {
-            SymphonyJobStatus status = symphonyClient.getJobStatus(symphonyJobId);
-            
-            if (status.isCompleted()) {
-                result.setSuccess(status.isSuccessful());
-                result.setOutput(status.getOutput());
-                result.setErrorMessage(status.getErrorMessage());
-                result.setLogFilePath(status.getLogPath());
+        DeadlineService.Deadline deadline = deadlineService.arm("grid execution " + execution.getExecutionId(),
+            Duration.ofMinutes(timeout), () -> gridCompletionRegistry.expire(execution.getExecutionId()));
+        
+        return completion
+            .whenComplete((outcome, error) -> deadline.cancel())
+            .handleAsync((outcome, failure) -> {
+                JobExecutionResult result = new JobExecutionResult();
+                result.setExecutionId(execution.getExecutionId());
+                result.setJobId(job.getJobId());
                 
-                // Retrieve execution metrics from Symphony
-                SymphonyJobMetrics metrics = symphonyClient.getJobMetrics(symphonyJobId);
-                result.setMetrics(convertMetrics(metrics));
+                Throwable error = failure instanceof CompletionException ? failure.getCause() : failure;
+                if (error instanceof TimeoutException) {
+                    log.error("Symphony job {} timed out", symphonyJobId);
+                    symphonyClient.cancelJob(symphonyJobId);
+                    result.setSuccess(false);
+                    result.setErrorMessage("Job execution timed out on Symphony Grid");
+                    result.setTimedOut(true);
+                    return result;
+                }
+                
+                if (error != null) {
+                    throw new CompletionException(error);
+                }
+                
+                result.setSuccess(outcome.isSuccessful());
+                result.setOutput(outcome.getOutput());
+                result.setErrorMessage(outcome.getErrorMessage());
+                result.setLogFilePath(outcome.getLogPath());
+                
+                // Execution metrics are fetched from Symphony only if someone reads them
+                if (outcome.isSuccessful()) {
+                    result.setMetrics(new LazyGridMetrics(symphonyClient, symphonyJobId));
+                }
                 
                 return result;
-            }
-            
-            if (status.isFailed()) {
-                result.setSuccess(false);
-                result.setErrorMessage(status.getErrorMessage());
-                return result;
-            }
-            
-            // Wait before next poll
-            Thread.sleep(pollIntervalSeconds * 1000);
-        }
-        
-        // Timeout reached
-        log.error("Symphony job {} timed out", symphonyJobId);
-        symphonyClient.cancelJob(symphonyJobId);
-        
-        result.setSuccess(false);
-        result.setErrorMessage("Job execution timed out on Symphony Grid");
-        result.setTimedOut(true);
-        
-        return result;
+            }, localExecutorService);
     }
 
     /**
@@ -303,19 +505,30 @@ public class ExecutionEngine {
     public boolean cancelExecution(Long executionId) {
         log.info("Attempting to cancel execution {}", executionId);
         
-        // Check local executions
+        // Check local executions; their process trees are terminated before the waiting thread is interrupted
         Future<?> future = runningTasks.get(executionId);
         if (future != null) {
-            boolean cancelled = future.cancel(true);
-            if (cancelled) {
-                runningTasks.remove(executionId);
+            if (future.isDone()) {
+                return false;
             }
-            return cancelled;
+            terminateLocal(executionId, future);
+            
+            // A speculative backup runs locally while its grid attempt is still pending
+            if (gridCompletionRegistry.isPending(executionId)) {
+                try {
+                    gridCompletionRegistry.cancel(executionId);
+                    symphonyClient.cancelJobByExecutionId(executionId.toString());
+                } catch (Exception e) {
+                    log.error("Failed to cancel Symphony job for execution {}", executionId, e);
+                }
+            }
+            return true;
         }
         
         // Check Symphony Grid executions
         if (symphonyEnabled) {
             try {
+                gridCompletionRegistry.cancel(executionId);
                 return symphonyClient.cancelJobByExecutionId(executionId.toString());
             } catch (Exception e) {
                 log.error("Failed to cancel Symphony job for execution {}", executionId, e);
@@ -336,22 +549,38 @@ public class ExecutionEngine {
         context.setExecutionId(execution.getExecutionId());
         context.setJobType(job.getJobType());
         
+        // Typed, validated parameters; ${name} placeholders in the script path are filled from them
+        ParameterEngine.ResolvedParameters parameters = parameterEngine.resolve(job, execution.getInputParameters());
+        Map<String, Object> instanceParameters = arrayInstances.get(execution.getExecutionId());
+        if (instanceParameters != null) {
+            parameters.getValues().putAll(instanceParameters);
+        }
+        context.setParameters(parameters.getValues());
+        
         // Set job-specific properties
-        context.setScriptPath(job.getScriptPath());
+        context.setScriptPath(parameters.renderScriptPath());
         context.setClassName(job.getJobClassName());
         context.setStoredProcedure(job.getStoredProcName());
-        
-        // Parse and set parameters
-        if (execution.getInputParameters() != null) {
-            Map<String, Object> parameters = parseJsonParameters(execution.getInputParameters());
-            context.setParameters(parameters);
-        }
+        context.setTimeoutMinutes(job.getTimeoutMinutes() > 0 ? job.getTimeoutMinutes() : defaultTimeoutMinutes);
         
         // Set execution properties
         context.setRetryCount(execution.getRetryCount());
         context.setTriggeredBy(execution.getTriggeredBy());
         context.setTriggerType(execution.getTriggerType());
         
+        // Retries start with the checkpoints of the run they replace; executors resume from the last one.
+        // Only a retry can have checkpoints carried over, so first attempts skip the lookup.
+        if (hasHistoryRow(execution)) {
+            ExecutionCheckpoints checkpoints = execution.getRetryCount() > 0
+                ? checkpointStore.open(execution.getExecutionId())
+                : checkpointStore.start(execution.getExecutionId());
+            if (checkpoints.isResuming()) {
+                log.info("Execution {} of job {} resumes from step {}", execution.getExecutionId(),
+                    job.getJobName(), checkpoints.getResumePoint().getStepName());
+            }
+            context.setCheckpoints(checkpoints);
+        }
+        
         return context;
     }
 
@@ -363,6 +592,11 @@ public class ExecutionEngine {
             return false;
         }
         
+        // Stored procedures run against their own isolated local pools
+        if (job.getJobType() == JobType.STORED_PROC) {
+            return false;
+        }
+        
         // Use grid for resource-intensive jobs
         if (job.getResourceRequirements() != null && !job.getResourceRequirements().isEmpty()) {
             return true;
@@ -373,10 +607,61 @@ public class ExecutionEngine {
             return true;
         }
         
+        // Otherwise prefer the target with the lowest expected completion time when history allows;
+        // pooled Python jobs keep the static rules below
+        PlacementEngine.Target target = usePythonPool(job) ? null : placementEngine.choose(job);
+        if (target != null) {
+            return target == PlacementEngine.Target.GRID;
+        }
+        
+        // Pooled Python workers are cheaper than a grid round-trip for short scripts
+        if (usePythonPool(job)) {
+            return false;
+        }
+        
         // Use grid based on job type
         return job.getJobType() == JobType.JAVA || job.getJobType() == JobType.PYTHON;
     }
 
+    /**
+     * Selects the executor for a job, preferring the pooled and isolated executors where they apply.
+     */
+    private JobExecutor selectExecutor(JobDefinition job) {
+        if (usePythonPool(job)) {
+            return pooledPythonExecutor;
+        }
+        if (job.getJobType() == JobType.STORED_PROC) {
+            return storedProcExecutor;
+        }
+        return executorFactory.getExecutor(job.getJobType());
+    }
+
+    /**
+     * Whether an executor starts a process per execution, which can then be confined to a cgroup.
+     */
+    private boolean spawnsProcesses(JobExecutor executor) {
+        return executor != pooledPythonExecutor && executor != storedProcExecutor;
+    }
+
+    /**
+     * Determines if a PYTHON job should run on the persistent interpreter pool.
+     */
+    private boolean usePythonPool(JobDefinition job) {
+        return job.getJobType() == JobType.PYTHON && pythonWorkerPool.isEnabled();
+    }
+
+    private void recordSteps(JobExecutionHistory execution, List<JobExecutionStep> steps) {
+        if (hasHistoryRow(execution)) {
+            stepRecorder.record(steps);
+        }
+    }
+
+    // Array instances and simulated grid runs use synthetic negative ids; there is no history row
+    // for their step or checkpoint rows to reference
+    private static boolean hasHistoryRow(JobExecutionHistory execution) {
+        return execution.getExecutionId() != null && execution.getExecutionId() > 0;
+    }
+
     /**
      * Creates a job execution step record.
      */
@@ -413,34 +698,6 @@ public class ExecutionEngine {
         return requirements;
     }
 
-    /**
-     * Parses JSON parameters string to Map.
-     */
-    private Map<String, Object> parseJsonParameters(String jsonString) {
-        try {
-            return objectMapper.readValue(jsonString, Map.class);
-        } catch (Exception e) {
-            log.error("Failed to parse JSON parameters", e);
-            return new HashMap<>();
-        }
-    }
-
-    /**
-     * Converts Symphony metrics to internal format.
-     */
-    private Map<String, Object> convertMetrics(SymphonyJobMetrics symphonyMetrics) {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        if (symphonyMetrics != null) {
-            metrics.put("cpuTime", symphonyMetrics.getCpuTimeSeconds());
-            metrics.put("memoryUsed", symphonyMetrics.getMemoryUsedMB());
-            metrics.put("diskIO", symphonyMetrics.getDiskIOMB());
-            metrics.put("networkIO", symphonyMetrics.getNetworkIOMB());
-            metrics.put("executionNode", symphonyMetrics.getExecutionNode());
-        }
-        
-        return metrics;
-    }
 
     /**
      * Gets the current hostname.
@@ -463,7 +720,7 @@ public class ExecutionEngine {
     /**
      * Converts exception to stack trace string.
      */
-    private String getStackTrace(Exception e) {
+    private String getStackTrace(Throwable e) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
         e.printStackTrace(pw);
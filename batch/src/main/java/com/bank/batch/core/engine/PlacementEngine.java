@@ -0,0 +1,189 @@
+package com.bank.batch.core.engine;
+
+import com.bank.batch.core.model.*;
+import com.bank.batch.symphony.GridCompletionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Chooses between local and grid execution by expected completion time.
+ * Runtimes are predicted per job from execution history and compared against the local
+ * executor's backlog and the grid's observed queueing delay.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PlacementEngine {
+
+    public enum Target { LOCAL, GRID }
+
+    private static final String LOAD_HISTORY_SQL =
+        "SELECT job_id, CASE WHEN host_name = 'symphony-grid' THEN 1 ELSE 0 END AS on_grid, " +
+        "AVG(CAST(duration_seconds AS FLOAT)) * 1000 AS avg_millis FROM job_execution_history " +
+        "WHERE status = 'SUCCESS' AND end_time IS NOT NULL AND start_time > DATEADD(DAY, -?, GETUTCDATE()) " +
+        "GROUP BY job_id, CASE WHEN host_name = 'symphony-grid' THEN 1 ELSE 0 END";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GridCompletionRegistry gridCompletionRegistry;
+    private final ExecutorService localExecutorService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, RuntimeEstimate> estimates = new ConcurrentHashMap<>();
+
+    @Value("${batch.orchestrator.placement.enabled:true}")
+    private boolean enabled;
+
+    @Value("${batch.orchestrator.placement.grid-submit-overhead-ms:2000}")
+    private long gridSubmitOverheadMillis;
+
+    @Value("${batch.orchestrator.placement.ewma-alpha:0.3}")
+    private double ewmaAlpha;
+
+    @Value("${batch.orchestrator.placement.history-days:30}")
+    private int historyDays;
+
+    private volatile double localRuntimeMeanMillis;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Adaptive placement disabled, using static placement rules");
+            return;
+        }
+
+        try {
+            jdbcTemplate.query(LOAD_HISTORY_SQL, rs -> {
+                RuntimeEstimate estimate = estimates.computeIfAbsent(rs.getLong("job_id"), id -> new RuntimeEstimate());
+                estimate.seed(rs.getInt("on_grid") == 1, rs.getDouble("avg_millis"));
+            }, historyDays);
+            log.info("Seeded runtime estimates for {} jobs from {} days of history", estimates.size(), historyDays);
+        } catch (Exception e) {
+            log.warn("Could not seed runtime estimates from history; placement starts cold", e);
+        }
+    }
+
+    /**
+     * Picks the target with the lowest expected completion time.
+     *
+     * @return the chosen target, or null when there is not enough information and the
+     *         caller should fall back to its static rules
+     */
+    public Target choose(JobDefinition job) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            RuntimeEstimate estimate = estimates.get(job.getJobId());
+            if (estimate == null || !estimate.hasAny()) {
+                return null;
+            }
+
+            double runtimeLocal = estimate.predict(false);
+            double runtimeGrid = estimate.predict(true);
+            double localWait = estimateLocalWaitMillis();
+            long gridQueue = gridCompletionRegistry.getQueueDelayEstimateMillis();
+
+            double expectedLocal = localWait + runtimeLocal;
+            double expectedGrid = gridSubmitOverheadMillis + gridQueue + runtimeGrid;
+            Target target = expectedGrid < expectedLocal ? Target.GRID : Target.LOCAL;
+
+            log.info("Placing job {} on {}: expected local {} ms (wait {} + run {}), grid {} ms (overhead {} + queue {} + run {})",
+                job.getJobName(), target,
+                Math.round(expectedLocal), Math.round(localWait), Math.round(runtimeLocal),
+                Math.round(expectedGrid), gridSubmitOverheadMillis, gridQueue, Math.round(runtimeGrid));
+
+            meterRegistry.counter("batch.placement.decisions", "target", target.name()).increment();
+            return target;
+
+        } catch (Exception e) {
+            log.warn("Placement failed for job {}, using static rules", job.getJobName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Feeds an observed successful runtime back into the job's estimate.
+     * Grid wall time includes the Symphony queue, which is removed before recording.
+     */
+    public void recordCompletion(JobDefinition job, boolean onGrid, long wallMillis) {
+        if (!enabled) {
+            return;
+        }
+
+        double runtime = onGrid
+            ? Math.max(0, wallMillis - gridCompletionRegistry.getQueueDelayEstimateMillis())
+            : wallMillis;
+
+        estimates.computeIfAbsent(job.getJobId(), id -> new RuntimeEstimate()).record(onGrid, runtime, ewmaAlpha);
+
+        if (!onGrid) {
+            synchronized (this) {
+                localRuntimeMeanMillis = localRuntimeMeanMillis == 0
+                    ? runtime
+                    : ewmaAlpha * runtime + (1 - ewmaAlpha) * localRuntimeMeanMillis;
+            }
+        }
+    }
+
+    /**
+     * Expected wait for a local thread: the queued backlog drained by all threads at the
+     * typical local runtime, or zero while threads are free.
+     */
+    private double estimateLocalWaitMillis() {
+        if (!(localExecutorService instanceof ThreadPoolExecutor pool)) {
+            return 0;
+        }
+
+        int threads = pool.getMaximumPoolSize();
+        if (pool.getActiveCount() < threads) {
+            return 0;
+        }
+
+        return (pool.getQueue().size() + 1) * localRuntimeMeanMillis / threads;
+    }
+
+    /**
+     * Per-job runtime EWMAs for local and grid execution.
+     */
+    private static class RuntimeEstimate {
+        private double localMillis;
+        private double gridMillis;
+
+        synchronized void seed(boolean onGrid, double millis) {
+            if (onGrid) {
+                gridMillis = millis;
+            } else {
+                localMillis = millis;
+            }
+        }
+
+        synchronized void record(boolean onGrid, double millis, double alpha) {
+            if (onGrid) {
+                gridMillis = gridMillis == 0 ? millis : alpha * millis + (1 - alpha) * gridMillis;
+            } else {
+                localMillis = localMillis == 0 ? millis : alpha * millis + (1 - alpha) * localMillis;
+            }
+        }
+
+        synchronized boolean hasAny() {
+            return localMillis > 0 || gridMillis > 0;
+        }
+
+        /** Falls back to the other target's runtime when this one has never been observed. */
+        synchronized double predict(boolean onGrid) {
+            double own = onGrid ? gridMillis : localMillis;
+            return own > 0 ? own : (onGrid ? localMillis : gridMillis);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.bank.batch.core.engine;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Speculative re-execution of straggling grid attempts for jobs flagged idempotent.
+ * When an attempt runs past a high percentile of the job's historical runtime, a backup
+ * attempt is started on the other target; the first successful attempt wins and the
+ * other is cancelled.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SpeculativeExecution {
+
+    private static final String LOAD_THRESHOLDS_SQL =
+        "SELECT DISTINCT h.job_id, " +
+        "PERCENTILE_CONT(?) WITHIN GROUP (ORDER BY h.duration_seconds) OVER (PARTITION BY h.job_id) AS threshold_seconds, " +
+        "COUNT(*) OVER (PARTITION BY h.job_id) AS samples " +
+        "FROM job_execution_history h JOIN job_definitions d ON d.job_id = h.job_id " +
+        "WHERE d.is_idempotent = 1 AND h.status = 'SUCCESS' AND h.end_time IS NOT NULL " +
+        "AND h.start_time > DATEADD(DAY, -?, GETUTCDATE())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeadlineService deadlineService;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger activeBackups = new AtomicInteger();
+
+    // Backups block a thread for the whole local run, separate from the local executor's own threads
+    private final ExecutorService backupLauncher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "speculative-backup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<Long, Long> thresholdsMillis = Map.of();
+
+    @Value("${batch.orchestrator.speculation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${batch.orchestrator.speculation.percentile:0.95}")
+    private double percentile;
+
+    @Value("${batch.orchestrator.speculation.min-samples:10}")
+    private int minSamples;
+
+    @Value("${batch.orchestrator.speculation.min-threshold-seconds:60}")
+    private long minThresholdSeconds;
+
+    @Value("${batch.orchestrator.speculation.history-days:30}")
+    private int historyDays;
+
+    // Bounds the extra load when the whole grid, not a single node, is slow
+    @Value("${batch.orchestrator.speculation.max-concurrent-backups:10}")
+    private int maxConcurrentBackups;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            refreshThresholds();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backupLauncher.shutdownNow();
+    }
+
+    /**
+     * Reloads per-job straggler thresholds from recent successful runs of idempotent jobs.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.speculation.refresh-interval-ms:3600000}")
+    public void refreshThresholds() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Map<Long, Long> loaded = new HashMap<>();
+            jdbcTemplate.query(LOAD_THRESHOLDS_SQL, rs -> {
+                if (rs.getInt("samples") >= minSamples) {
+                    long thresholdSeconds = Math.max(minThresholdSeconds, (long) Math.ceil(rs.getDouble("threshold_seconds")));
+                    loaded.put(rs.getLong("job_id"), thresholdSeconds * 1000);
+                }
+            }, percentile, historyDays);
+
+            thresholdsMillis = loaded;
+            log.info("Loaded speculation thresholds for {} idempotent jobs", loaded.size());
+
+        } catch (Exception e) {
+            log.error("Failed to load speculation thresholds", e);
+        }
+    }
+
+    /**
+     * Races a running primary attempt against a backup started once the primary straggles.
+     * Returns the primary unchanged when the job is not eligible.
+     *
+     * @param startBackup   runs the backup attempt and may block until it finishes; called at most once,
+     *                      off the caller's thread. A primary that wins meanwhile cancels it
+     * @param cancelPrimary cancels the primary after the backup won
+     * @param cancelBackup  cancels the backup after the primary won
+     */
+    public CompletableFuture<JobExecutionResult> race(
+            JobDefinition job,
+            CompletableFuture<JobExecutionResult> primary,
+            Supplier<CompletableFuture<JobExecutionResult>> startBackup,
+            Runnable cancelPrimary,
+            Runnable cancelBackup) {
+
+        Long thresholdMillis = enabled ? thresholdsMillis.get(job.getJobId()) : null;
+        if (thresholdMillis == null || primary.isDone()) {
+            return primary;
+        }
+
+        Race race = new Race(job, cancelPrimary, cancelBackup);
+        DeadlineService.Deadline deadline = deadlineService.arm("speculation for job " + job.getJobName(),
+            Duration.ofMillis(thresholdMillis), () -> backupLauncher.execute(() -> race.launchBackup(startBackup)));
+
+        primary.whenComplete((result, error) -> {
+            deadline.cancel();
+            race.primaryFinished(result, error);
+        });
+        return race.outcome;
+    }
+
+    /**
+     * Settles one primary/backup pair: the first success wins, otherwise the primary's outcome.
+     */
+    private class Race {
+        final CompletableFuture<JobExecutionResult> outcome = new CompletableFuture<>();
+        final JobDefinition job;
+        final Runnable cancelPrimary;
+        final Runnable cancelBackup;
+
+        boolean backupRunning;
+        boolean primaryDone;
+        boolean backupDone;
+        JobExecutionResult primaryResult;
+        Throwable primaryError;
+
+        Race(JobDefinition job, Runnable cancelPrimary, Runnable cancelBackup) {
+            this.job = job;
+            this.cancelPrimary = cancelPrimary;
+            this.cancelBackup = cancelBackup;
+        }
+
+        void launchBackup(Supplier<CompletableFuture<JobExecutionResult>> startBackup) {
+            synchronized (this) {
+                if (primaryDone) {
+                    return;
+                }
+                if (activeBackups.incrementAndGet() > maxConcurrentBackups) {
+                    activeBackups.decrementAndGet();
+                    meterRegistry.counter("batch.speculation.skipped").increment();
+                    return;
+                }
+                backupRunning = true;
+            }
+
+            log.warn("Job {} is straggling, starting speculative backup attempt", job.getJobName());
+            meterRegistry.counter("batch.speculation.launched").increment();
+
+            CompletableFuture<JobExecutionResult> backup;
+            try {
+                backup = startBackup.get();
+            } catch (Exception e) {
+                backup = CompletableFuture.failedFuture(e);
+            }
+            backup.whenComplete(this::backupFinished);
+        }
+
+        synchronized void primaryFinished(JobExecutionResult result, Throwable error) {
+            primaryDone = true;
+            primaryResult = result;
+            primaryError = error;
+
+            if (outcome.isDone()) {
+                return;
+            }
+            if (isSuccess(result, error) || !backupRunning || backupDone) {
+                if (backupRunning && !backupDone) {
+                    cancelBackup.run();
+                }
+                record("primary");
+                settle(result, error);
+            }
+            // Otherwise the primary failed while the backup still runs; let the backup decide
+        }
+
+        synchronized void backupFinished(JobExecutionResult result, Throwable error) {
+            backupDone = true;
+            activeBackups.decrementAndGet();
+
+            if (outcome.isDone()) {
+                return;
+            }
+            if (isSuccess(result, error)) {
+                if (!primaryDone) {
+                    cancelPrimary.run();
+                }
+                log.info("Speculative backup of job {} finished first", job.getJobName());
+                record("backup");
+                settle(result, null);
+            } else if (primaryDone) {
+                record("primary");
+                settle(primaryResult, primaryError);
+            }
+            // Otherwise the backup failed and the primary is still running; keep waiting for it
+        }
+
+        private void settle(JobExecutionResult result, Throwable error) {
+            if (error != null) {
+                outcome.completeExceptionally(error);
+            } else {
+                outcome.complete(result);
+            }
+        }
+
+        private void record(String winner) {
+            if (backupRunning) {
+                meterRegistry.counter("batch.speculation.outcome", "winner", winner).increment();
+            }
+        }
+
+        private boolean isSuccess(JobExecutionResult result, Throwable error) {
+            return error == null && result != null && result.isSuccess();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.batch.core.event;
+
+import com.bank.batch.core.model.*;
+
+/**
+ * A slot of the lifecycle event ring. Slots are preallocated and overwritten in place,
+ * so handlers must not keep a reference to an event after returning.
+ */
+public class JobLifecycleEvent {
+
+    /**
+     * QUEUED: deferred into the admission overflow queue. SKIPPED: ended without running, reusing the
+     * outputs of a previous run with the same inputs.
+     */
+    public enum Type { SCHEDULED, QUEUED, STARTED, COMPLETED, SKIPPED, FAILED, CANCELLED }
+
+    private Type type;
+    private JobDefinition job;
+    private JobExecutionHistory execution;
+    private JobExecutionResult result;
+    private String detail;
+    private long publishedNanos;
+
+    void set(Type type, JobDefinition job, JobExecutionHistory execution, JobExecutionResult result, String detail) {
+        this.type = type;
+        this.job = job;
+        this.execution = execution;
+        this.result = result;
+        this.detail = detail;
+        this.publishedNanos = System.nanoTime();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public JobDefinition getJob() {
+        return job;
+    }
+
+    public JobExecutionHistory getExecution() {
+        return execution;
+    }
+
+    /**
+     * Result of a COMPLETED run, successful or not; null for other types.
+     */
+    public JobExecutionResult getResult() {
+        return result;
+    }
+
+    /**
+     * Who cancelled, or why the run failed without a result.
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * System.nanoTime() at publication, for measuring how far a stage lags behind.
+     */
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+
+    public boolean isSuccess() {
+        return type == Type.COMPLETED && result.isSuccess();
+    }
+
+    /**
+     * Whether the run has ended, whatever the outcome.
+     */
+    public boolean isTerminal() {
+        return type == Type.COMPLETED || type == Type.SKIPPED || type == Type.FAILED || type == Type.CANCELLED;
+    }
+}
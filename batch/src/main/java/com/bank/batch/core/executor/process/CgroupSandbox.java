@@ -0,0 +1,243 @@
+package com.bank.batch.core.executor.process;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional Linux cgroup v2 isolation for local jobs.
+ * Each execution gets its own child cgroup under a delegated parent, limited by the job's
+ * CPU and MEMORY resource requirements and optionally pinned to a cpuset that leaves the
+ * orchestrator's own cores free. Peak memory and CPU time are read back from the cgroup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CgroupSandbox {
+
+    private static final long CPU_PERIOD_MICROS = 100_000;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.orchestrator.executor.cgroup.enabled:false}")
+    private boolean enabled;
+
+    // Must be delegated to the orchestrator's user, e.g. a systemd Delegate=yes slice
+    @Value("${batch.orchestrator.executor.cgroup.root:/sys/fs/cgroup/batch-jobs}")
+    private String root;
+
+    // CPUs local jobs may use, in cpuset.cpus syntax (e.g. 2-15); empty leaves jobs unpinned
+    @Value("${batch.orchestrator.executor.cgroup.cpuset:}")
+    private String cpuset;
+
+    private Path rootPath;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!Files.exists(Paths.get("/sys/fs/cgroup/cgroup.controllers"))) {
+                throw new IOException("cgroup v2 unified hierarchy not mounted at /sys/fs/cgroup");
+            }
+
+            rootPath = Paths.get(root);
+            Files.createDirectories(rootPath);
+            write(rootPath.resolve("cgroup.subtree_control"), cpuset.isBlank() ? "+cpu +memory" : "+cpu +memory +cpuset");
+            log.info("Local jobs isolated in cgroups under {}{}", rootPath,
+                cpuset.isBlank() ? "" : " pinned to CPUs " + cpuset);
+
+        } catch (Exception e) {
+            log.warn("cgroup isolation unavailable, local jobs run unconstrained", e);
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates the execution's cgroup with limits from the job's resource requirements.
+     *
+     * @return the cgroup, or null when isolation is disabled or the cgroup could not be created
+     */
+    public JobCgroup create(Long executionId, JobDefinition job) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path path = rootPath.resolve("exec-" + executionId);
+        try {
+            Files.createDirectories(path);
+
+            Integer cpus = null;
+            Integer memoryMb = null;
+            List<JobResourceRequirement> requirements = job.getResourceRequirements();
+            if (requirements != null) {
+                for (JobResourceRequirement requirement : requirements) {
+                    // Same units as the grid request: CPU in cores, MEMORY in megabytes
+                    String poolType = String.valueOf(requirement.getResourcePool().getPoolType());
+                    if ("CPU".equalsIgnoreCase(poolType)) {
+                        cpus = requirement.getRequiredCapacity();
+                    } else if ("MEMORY".equalsIgnoreCase(poolType)) {
+                        memoryMb = requirement.getRequiredCapacity();
+                    }
+                }
+            }
+
+            if (cpus != null && cpus > 0) {
+                write(path.resolve("cpu.max"), (cpus * CPU_PERIOD_MICROS) + " " + CPU_PERIOD_MICROS);
+            }
+            if (memoryMb != null && memoryMb > 0) {
+                write(path.resolve("memory.max"), String.valueOf(memoryMb * 1024L * 1024L));
+                // Jobs over their limit are OOM-killed rather than pushed into swap
+                write(path.resolve("memory.swap.max"), "0");
+            }
+            if (!cpuset.isBlank()) {
+                write(path.resolve("cpuset.cpus"), cpuset);
+            }
+
+            log.debug("Created cgroup {} (cpus {}, memory {} MB)", path, cpus, memoryMb);
+            return new JobCgroup(path);
+
+        } catch (Exception e) {
+            log.warn("Could not create cgroup for execution {}, running unconstrained", executionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Cgroup holding one execution's processes.
+     */
+    public class JobCgroup {
+        private final Path path;
+
+        private JobCgroup(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Prefixes a command so the launching shell joins the cgroup before exec'ing the job;
+         * nothing the job forks can escape the limits.
+         */
+        public List<String> wrap(List<String> command) {
+            List<String> wrapped = new ArrayList<>();
+            wrapped.add("sh");
+            wrapped.add("-c");
+            wrapped.add("echo $$ > \"$0\" && exec \"$@\"");
+            wrapped.add(path.resolve("cgroup.procs").toString());
+            wrapped.addAll(command);
+            return wrapped;
+        }
+
+        /**
+         * Moves an already started process and its current descendants into the cgroup,
+         * for executors that cannot wrap their command line.
+         */
+        public void attach(ProcessHandle process) {
+            try {
+                write(path.resolve("cgroup.procs"), String.valueOf(process.pid()));
+                for (ProcessHandle descendant : process.descendants().toList()) {
+                    write(path.resolve("cgroup.procs"), String.valueOf(descendant.pid()));
+                }
+            } catch (Exception e) {
+                log.warn("Could not move pid {} into cgroup {}", process.pid(), path, e);
+            }
+        }
+
+        /**
+         * Reads peak memory and CPU time, kills anything left behind and removes the cgroup.
+         *
+         * @return usage metrics in the result metrics format (memoryUsed in MB, cpuTime in seconds),
+         *         empty when no process ever ran in the cgroup
+         */
+        public Map<String, Object> close() {
+            Map<String, Object> usage = new HashMap<>();
+            try {
+                long peakBytes = readLong(path.resolve("memory.peak"));
+                long cpuMicros = readCpuUsageMicros();
+
+                // Nothing joined the cgroup; zeros would only mask the executor's own figures
+                if (peakBytes == 0 && cpuMicros == 0) {
+                    remove();
+                    return usage;
+                }
+
+                usage.put("memoryUsed", peakBytes / (1024 * 1024));
+                usage.put("cpuTime", cpuMicros / 1_000_000.0);
+
+                DistributionSummary.builder("batch.cgroup.memory.peak")
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .record(peakBytes);
+                meterRegistry.timer("batch.cgroup.cpu.time").record(cpuMicros, TimeUnit.MICROSECONDS);
+
+            } catch (Exception e) {
+                log.warn("Could not read usage of cgroup {}", path, e);
+            }
+
+            remove();
+            return usage;
+        }
+
+        private long readCpuUsageMicros() throws IOException {
+            for (String line : Files.readAllLines(path.resolve("cpu.stat"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("usage_usec ")) {
+                    return Long.parseLong(line.substring("usage_usec ".length()).trim());
+                }
+            }
+            return 0;
+        }
+
+        private void remove() {
+            try {
+                // Reaps daemonised leftovers; the directory can only be removed once it is empty
+                write(path.resolve("cgroup.kill"), "1");
+                for (int attempt = 0; attempt < 50; attempt++) {
+                    try {
+                        Files.delete(path);
+                        return;
+                    } catch (NoSuchFileException e) {
+                        return;
+                    } catch (IOException e) {
+                        Thread.sleep(20);
+                    }
+                }
+                log.warn("cgroup {} still busy, leaving it in place", path);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Could not remove cgroup {}", path, e);
+            }
+        }
+    }
+
+    private static void write(Path file, String value) throws IOException {
+        Files.writeString(file, value);
+    }
+
+    private static long readLong(Path file) throws IOException {
+        return Long.parseLong(Files.readString(file).trim());
+    }
+}
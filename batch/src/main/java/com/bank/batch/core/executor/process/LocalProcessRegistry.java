@@ -0,0 +1,98 @@
+package com.bank.batch.core.executor.process;
+
+import com.bank.batch.core.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OS processes spawned by local executions, keyed by execution id, so cancellation and
+ * deadlines can tear down the whole process tree instead of only interrupting the waiting thread.
+ * Executors register a process right after starting it and unregister once it has exited.
+ * When cgroup isolation is enabled the registry also owns each execution's cgroup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LocalProcessRegistry {
+
+    private final ProcessTreeTerminator terminator;
+    private final CgroupSandbox cgroupSandbox;
+
+    private final Map<Long, ProcessHandle> processes = new ConcurrentHashMap<>();
+    private final Map<Long, CgroupSandbox.JobCgroup> cgroups = new ConcurrentHashMap<>();
+
+    @Value("${batch.orchestrator.executor.cancel-grace-seconds:10}")
+    private int cancelGraceSeconds;
+
+    /**
+     * Prepares a cgroup for the execution when isolation is enabled. Call before spawning.
+     */
+    public void isolate(Long executionId, JobDefinition job) {
+        CgroupSandbox.JobCgroup cgroup = cgroupSandbox.create(executionId, job);
+        if (cgroup != null) {
+            cgroups.put(executionId, cgroup);
+        }
+    }
+
+    /**
+     * Returns the command to spawn: unchanged, or wrapped to start inside the execution's cgroup.
+     */
+    public List<String> wrapCommand(Long executionId, List<String> command) {
+        CgroupSandbox.JobCgroup cgroup = cgroups.get(executionId);
+        return cgroup != null ? cgroup.wrap(command) : command;
+    }
+
+    public void register(Long executionId, Process process) {
+        processes.put(executionId, process.toHandle());
+
+        // No-op for wrapped commands, which are already inside
+        CgroupSandbox.JobCgroup cgroup = cgroups.get(executionId);
+        if (cgroup != null) {
+            cgroup.attach(process.toHandle());
+        }
+    }
+
+    /**
+     * Forgets the execution's process and removes its cgroup.
+     *
+     * @return peak memory and CPU usage read from the cgroup, empty when not isolated
+     */
+    public Map<String, Object> unregister(Long executionId) {
+        processes.remove(executionId);
+
+        CgroupSandbox.JobCgroup cgroup = cgroups.remove(executionId);
+        return cgroup != null ? cgroup.close() : Collections.emptyMap();
+    }
+
+    public boolean isRegistered(Long executionId) {
+        return processes.containsKey(executionId);
+    }
+
+    /**
+     * Gracefully terminates the execution's process tree in the background.
+     *
+     * @return the pending termination, completing with null when no process is registered
+     */
+    public CompletableFuture<ProcessTreeTerminator.TerminationReport> terminate(Long executionId) {
+        ProcessHandle handle = processes.remove(executionId);
+        if (handle == null || !handle.isAlive()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.info("Terminating process tree of execution {} (pid {})", executionId, handle.pid());
+        return terminator.terminateAsync(handle, getGracePeriod());
+    }
+
+    public Duration getGracePeriod() {
+        return Duration.ofSeconds(cancelGraceSeconds);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.batch.core.executor.process;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminates a process together with all of its descendants: SIGTERM to the whole tree,
+ * a grace period, then SIGKILL to whatever survived. The tree is captured before any
+ * signal is sent, so grandchildren reparented when their parent exits are still reaped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProcessTreeTerminator {
+
+    private static final Duration KILL_CONFIRM_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MeterRegistry meterRegistry;
+
+    // Terminations spend most of their time waiting out the grace period, so they get their own threads
+    private final ExecutorService terminationExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "process-terminator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        terminationExecutor.shutdown();
+    }
+
+    /**
+     * Terminates the tree rooted at the given process, blocking for at most the grace period
+     * plus a short wait for SIGKILL to take effect.
+     */
+    public TerminationReport terminate(ProcessHandle root, Duration gracePeriod) {
+        long startNanos = System.nanoTime();
+
+        Map<Long, ProcessHandle> tree = snapshot(root);
+
+        // Children before parents, so parents do not respawn them while shutting down
+        List<ProcessHandle> ordered = new ArrayList<>(tree.values());
+        Collections.reverse(ordered);
+        ordered.forEach(ProcessHandle::destroy);
+
+        awaitExit(tree.values(), gracePeriod);
+
+        // Pick up anything forked while the tree was shutting down
+        List<ProcessHandle> survivors = new ArrayList<>();
+        for (ProcessHandle handle : List.copyOf(tree.values())) {
+            if (handle.isAlive()) {
+                handle.descendants().forEach(descendant -> tree.putIfAbsent(descendant.pid(), descendant));
+            }
+        }
+        tree.values().stream().filter(ProcessHandle::isAlive).forEach(survivors::add);
+
+        survivors.forEach(ProcessHandle::destroyForcibly);
+        awaitExit(survivors, KILL_CONFIRM_TIMEOUT);
+
+        int stillAlive = (int) tree.values().stream().filter(ProcessHandle::isAlive).count();
+        long latencyNanos = System.nanoTime() - startNanos;
+
+        TerminationReport report = new TerminationReport(
+            root.pid(), tree.size() - survivors.size(), survivors.size() - stillAlive, stillAlive,
+            TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+
+        Timer.builder("batch.cancel.latency")
+            .description("Time to terminate a job's process tree")
+            .tag("outcome", survivors.isEmpty() ? "graceful" : "forced")
+            .register(meterRegistry)
+            .record(latencyNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("batch.cancel.processes.reaped", "signal", "SIGTERM").increment(report.getTerminated());
+        meterRegistry.counter("batch.cancel.processes.reaped", "signal", "SIGKILL").increment(report.getKilled());
+
+        if (stillAlive > 0) {
+            log.error("Process tree of pid {} still has {} live processes after SIGKILL", root.pid(), stillAlive);
+        } else {
+            log.info("Terminated process tree of pid {} ({} processes, {} needed SIGKILL) in {} ms",
+                root.pid(), tree.size(), report.getKilled(), report.getLatencyMillis());
+        }
+        return report;
+    }
+
+    /**
+     * Terminates a tree off the caller's thread, for callers that must not block for the grace period.
+     */
+    public CompletableFuture<TerminationReport> terminateAsync(ProcessHandle root, Duration gracePeriod) {
+        return CompletableFuture.supplyAsync(() -> terminate(root, gracePeriod), terminationExecutor);
+    }
+
+    private Map<Long, ProcessHandle> snapshot(ProcessHandle root) {
+        Map<Long, ProcessHandle> tree = new LinkedHashMap<>();
+        tree.put(root.pid(), root);
+        root.descendants().forEach(descendant -> tree.put(descendant.pid(), descendant));
+        return tree;
+    }
+
+    private void awaitExit(Iterable<ProcessHandle> handles, Duration timeout) {
+        List<CompletableFuture<ProcessHandle>> exits = new ArrayList<>();
+        handles.forEach(handle -> exits.add(handle.onExit()));
+
+        try {
+            CompletableFuture.allOf(exits.toArray(new CompletableFuture<?>[0]))
+                .get(Math.max(1, timeout.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Timed out; survivors are handled by the caller
+        }
+    }
+
+    /**
+     * Outcome of terminating one process tree.
+     */
+    @Value
+    public static class TerminationReport {
+        long rootPid;
+        /** Processes that exited after SIGTERM. */
+        int terminated;
+        /** Processes that had to be SIGKILLed. */
+        int killed;
+        /** Processes still alive after SIGKILL, e.g. stuck in uninterruptible I/O. */
+        int survived;
+        long latencyMillis;
+
+        public int getReaped() {
+            return terminated + killed;
+        }
+    }
+}
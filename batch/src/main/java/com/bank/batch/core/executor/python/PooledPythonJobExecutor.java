@@ -0,0 +1,228 @@
+package com.bank.batch.core.executor.python;
+
+import com.bank.batch.core.checkpoint.Checkpoint;
+import com.bank.batch.core.checkpoint.ExecutionCheckpoints;
+import com.bank.batch.core.executor.*;
+import com.bank.batch.core.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes PYTHON jobs on the persistent {@link PythonWorkerPool} instead of spawning a new interpreter.
+ * As on a fresh interpreter, the rendered script path is a command line: the script, then its arguments.
+ * Scripts checkpoint by appending {@code step<TAB>cursor} lines to {@code BATCH_CHECKPOINT_FILE};
+ * the file is tailed while the script runs, so each checkpoint is persisted shortly after it is written
+ * and survives a crash of this node. A retry receives the last one as {@code BATCH_RESUME_STEP} and
+ * {@code BATCH_RESUME_CURSOR}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PooledPythonJobExecutor implements JobExecutor {
+
+    private final PythonWorkerPool workerPool;
+    private final ObjectMapper objectMapper;
+
+    @Value("${batch.orchestrator.python-pool.max-output-chars:65536}")
+    private int maxOutputChars;
+
+    @Value("${batch.orchestrator.python-pool.checkpoint-poll-ms:1000}")
+    private long checkpointPollMillis;
+
+    private ScheduledExecutorService checkpointPoller;
+
+    @PostConstruct
+    public void start() {
+        checkpointPoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "python-checkpoint-tail");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        checkpointPoller.shutdownNow();
+    }
+
+    @Override
+    public void preExecute(ExecutionContext context) throws Exception {
+        if (context.getScriptPath() == null || context.getScriptPath().isBlank()
+                || !Files.isRegularFile(Paths.get(commandLine(context).get(0)))) {
+            throw new IllegalArgumentException("Python script not found: " + context.getScriptPath());
+        }
+    }
+
+    @Override
+    public JobExecutionResult execute(ExecutionContext context) throws Exception {
+        Long executionId = context.getExecutionId();
+        Path stdoutPath = workerPool.getSpoolDirectory().resolve(executionId + ".out");
+        Path stderrPath = workerPool.getSpoolDirectory().resolve(executionId + ".err");
+        Path checkpointPath = workerPool.getSpoolDirectory().resolve(executionId + ".ckpt");
+
+        JobExecutionResult result = new JobExecutionResult();
+        result.setExecutionId(executionId);
+        result.setJobId(context.getJobId());
+
+        CheckpointTail checkpointTail = new CheckpointTail(context.getCheckpoints(), checkpointPath);
+        ScheduledFuture<?> tailing = context.getCheckpoints() == null ? null
+            : checkpointPoller.scheduleWithFixedDelay(() -> checkpointTail.poll(false),
+                checkpointPollMillis, checkpointPollMillis, TimeUnit.MILLISECONDS);
+
+        List<String> commandLine = commandLine(context);
+        try {
+            PythonWorkerResult workerResult = workerPool.execute(
+                executionId,
+                commandLine.get(0),
+                commandLine.subList(1, commandLine.size()),
+                buildEnvironment(context, checkpointPath),
+                stdoutPath,
+                stderrPath);
+
+            result.setSuccess(workerResult.isSuccess());
+            result.setOutput(readSpool(stdoutPath));
+            if (!workerResult.isSuccess()) {
+                String stderr = readSpool(stderrPath);
+                result.setErrorMessage(workerResult.getTerminationSignal() != null
+                    ? "Python job terminated by signal " + workerResult.getTerminationSignal()
+                    : "Python job exited with code " + workerResult.getExitCode()
+                        + (stderr.isEmpty() ? "" : ": " + stderr));
+            }
+
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("exitCode", workerResult.getExitCode());
+            metrics.put("memoryUsed", workerResult.getPeakResidentKb() / 1024);
+            metrics.put("executionNode", "python-pool");
+            result.setMetrics(metrics);
+
+            return result;
+
+        } finally {
+            // Recorded whatever the outcome; a failed run's checkpoints are what its retry resumes from
+            if (tailing != null) {
+                tailing.cancel(false);
+                checkpointTail.poll(true);
+            }
+            Files.deleteIfExists(stdoutPath);
+            Files.deleteIfExists(stderrPath);
+            Files.deleteIfExists(checkpointPath);
+        }
+    }
+
+    @Override
+    public void postExecute(ExecutionContext context, JobExecutionResult result) throws Exception {
+        // Nothing to clean up; spool files are removed after each run
+    }
+
+    private Map<String, String> buildEnvironment(ExecutionContext context, Path checkpointPath) throws IOException {
+        Map<String, String> environment = new HashMap<>();
+        environment.put("BATCH_JOB_NAME", context.getJobName());
+        environment.put("BATCH_EXECUTION_ID", String.valueOf(context.getExecutionId()));
+        environment.put("BATCH_CHECKPOINT_FILE", checkpointPath.toString());
+
+        Checkpoint resumePoint = context.getCheckpoints() != null ? context.getCheckpoints().getResumePoint() : null;
+        if (resumePoint != null) {
+            environment.put("BATCH_RESUME_STEP", resumePoint.getStepName());
+            environment.put("BATCH_RESUME_CURSOR", resumePoint.getCursor() != null ? resumePoint.getCursor() : "");
+        }
+
+        Map<String, Object> parameters = context.getParameters() != null ? context.getParameters() : Map.of();
+        environment.put("BATCH_PARAMETERS", objectMapper.writeValueAsString(parameters));
+        parameters.forEach((name, value) ->
+            environment.put("BATCH_PARAM_" + name.toUpperCase(), String.valueOf(value)));
+
+        return environment;
+    }
+
+    private static List<String> commandLine(ExecutionContext context) {
+        return List.of(context.getScriptPath().trim().split("\\s+"));
+    }
+
+    private String readSpool(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return "";
+        }
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        return content.length() <= maxOutputChars
+            ? content
+            : content.substring(content.length() - maxOutputChars);
+    }
+
+    /**
+     * Persists the checkpoint lines appended to a script's checkpoint file since the last poll.
+     * A line still being written is left for the next poll, except on the final poll after the script exited.
+     */
+    @RequiredArgsConstructor
+    private static final class CheckpointTail {
+
+        private final ExecutionCheckpoints checkpoints;
+        private final Path path;
+        private long offset;
+
+        synchronized void poll(boolean finished) {
+            if (checkpoints == null || !Files.exists(path)) {
+                return;
+            }
+
+            try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+                long available = channel.size() - offset;
+                if (available <= 0) {
+                    return;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(available, Integer.MAX_VALUE));
+                channel.position(offset);
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // read up to what was there when polled
+                }
+
+                int end = buffer.position();
+                if (!finished) {
+                    while (end > 0 && buffer.get(end - 1) != '\n') {
+                        end--;
+                    }
+                }
+                if (end == 0) {
+                    return;
+                }
+
+                // Only the last line per step of this batch is kept; earlier cursors of a step are superseded
+                Map<String, String> latest = new LinkedHashMap<>();
+                for (String line : new String(buffer.array(), 0, end, StandardCharsets.UTF_8).split("\n")) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    int tab = line.indexOf('\t');
+                    String step = tab < 0 ? line : line.substring(0, tab);
+                    latest.remove(step);
+                    latest.put(step, tab < 0 ? null : line.substring(tab + 1));
+                }
+                latest.forEach(checkpoints::save);
+                offset += end;
+
+            } catch (Exception e) {
+                log.error("Failed to record checkpoints from {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.bank.batch.core.executor.python;
+
+import com.bank.batch.core.executor.process.ProcessTreeTerminator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single long-lived Python interpreter process running the pooled worker bootstrap.
+ * Runs one job at a time; each job is forked from the preloaded interpreter.
+ */
+@Slf4j
+class PythonWorker {
+
+    private static final AtomicInteger WORKER_SEQUENCE = new AtomicInteger();
+
+    private final int workerNumber = WORKER_SEQUENCE.incrementAndGet();
+    private final Process process;
+    private final BufferedWriter requestWriter;
+    private final BlockingQueue<JsonNode> events = new LinkedBlockingQueue<>();
+    private final ObjectMapper objectMapper;
+    private final ProcessTreeTerminator terminator;
+    private final Thread eventReader;
+
+    // Guards the hand-off between a cancel and the "started" event of the job it targets
+    private final Object childLock = new Object();
+    private volatile long activeChildPid = -1;
+    private String activeRequestId;
+    private String cancelledRequestId;
+    private Duration cancelGracePeriod;
+    private CompletableFuture<ProcessTreeTerminator.TerminationReport> pendingCancel;
+    private volatile long residentKb;
+    private int jobsServed;
+
+    private PythonWorker(Process process, ObjectMapper objectMapper, ProcessTreeTerminator terminator) {
+        this.process = process;
+        this.objectMapper = objectMapper;
+        this.terminator = terminator;
+        this.requestWriter = new BufferedWriter(
+            new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.eventReader = new Thread(this::readEvents, "python-worker-" + workerNumber + "-events");
+        this.eventReader.setDaemon(true);
+        this.eventReader.start();
+    }
+
+    /**
+     * Starts an interpreter, preloads the given modules and waits for the ready event.
+     */
+    static PythonWorker start(
+            String interpreter,
+            Path bootstrapScript,
+            List<String> preloadModules,
+            ObjectMapper objectMapper,
+            ProcessTreeTerminator terminator,
+            Duration readyTimeout) throws IOException, InterruptedException, TimeoutException {
+
+        List<String> command = new ArrayList<>();
+        command.add(interpreter);
+        command.add("-u");
+        command.add(bootstrapScript.toString());
+        command.add(String.join(",", preloadModules));
+
+        Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+        PythonWorker worker = new PythonWorker(process, objectMapper, terminator);
+        JsonNode ready = worker.awaitEvent("ready", null, readyTimeout.toMillis());
+        if (ready == null) {
+            worker.destroy();
+            throw new TimeoutException("Python worker did not become ready within " + readyTimeout);
+        }
+
+        worker.residentKb = ready.path("rssKb").asLong();
+        log.info("Python worker {} started (pid {}), preloaded modules: {}",
+            worker.workerNumber, process.pid(), ready.path("modules"));
+        return worker;
+    }
+
+    /**
+     * Sends a job request and blocks until the forked child finishes.
+     * An interrupt kills the child before propagating, or as soon as it is forked if it was not yet.
+     */
+    PythonWorkerResult run(String requestId, Map<String, Object> request) throws IOException, InterruptedException {
+        events.clear();
+        synchronized (requestWriter) {
+            requestWriter.write(objectMapper.writeValueAsString(request));
+            requestWriter.newLine();
+            requestWriter.flush();
+        }
+
+        boolean started = false;
+        try {
+            // The event reader records the child's pid before this returns
+            if (awaitEvent("started", requestId, Long.MAX_VALUE) == null) {
+                throw new IOException("Python worker " + workerNumber + " exited before starting job");
+            }
+            started = true;
+
+            JsonNode finished = awaitEvent("finished", requestId, Long.MAX_VALUE);
+            if (finished == null) {
+                throw new IOException("Python worker " + workerNumber + " exited while running job");
+            }
+
+            jobsServed++;
+            residentKb = finished.path("rssKb").asLong();
+            return new PythonWorkerResult(
+                finished.path("exitCode").asInt(),
+                finished.path("signal").isNull() ? null : finished.path("signal").asInt(),
+                finished.path("childPeakRssKb").asLong());
+
+        } catch (InterruptedException e) {
+            CompletableFuture<ProcessTreeTerminator.TerminationReport> termination =
+                terminateAsync(requestId, Duration.ZERO);
+            if (started) {
+                termination.join();
+            }
+            throw e;
+
+        } finally {
+            synchronized (childLock) {
+                activeChildPid = -1;
+                activeRequestId = null;
+            }
+        }
+    }
+
+    /**
+     * Terminates the job currently forked by this worker and its descendants, escalating to
+     * SIGKILL after the grace period. Blocks until the tree is gone.
+     */
+    boolean terminateActiveChild(Duration gracePeriod) {
+        Optional<ProcessHandle> child = activeChild();
+        child.ifPresent(handle -> terminator.terminate(handle, gracePeriod));
+        return child.isPresent();
+    }
+
+    /**
+     * Terminates a job and its descendants off the caller's thread, escalating to SIGKILL after the
+     * grace period. A job whose child has not been forked yet is terminated as soon as it reports
+     * started; the returned termination then completes with null if that does not happen within the
+     * grace period, so callers are not held up by a job that never starts.
+     */
+    CompletableFuture<ProcessTreeTerminator.TerminationReport> terminateAsync(String requestId, Duration gracePeriod) {
+        long pid;
+        synchronized (childLock) {
+            if (!requestId.equals(activeRequestId)) {
+                if (pendingCancel == null || !requestId.equals(cancelledRequestId)) {
+                    if (pendingCancel != null) {
+                        pendingCancel.complete(null);
+                    }
+                    cancelledRequestId = requestId;
+                    cancelGracePeriod = gracePeriod;
+                    pendingCancel = new CompletableFuture<>();
+                }
+                return pendingCancel.copy().completeOnTimeout(null, gracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            pid = activeChildPid;
+        }
+        return terminateChild(pid, gracePeriod);
+    }
+
+    private CompletableFuture<ProcessTreeTerminator.TerminationReport> terminateChild(long pid, Duration gracePeriod) {
+        return ProcessHandle.of(pid)
+            .map(handle -> terminator.terminateAsync(handle, gracePeriod))
+            .orElse(CompletableFuture.completedFuture(null));
+    }
+
+    private Optional<ProcessHandle> activeChild() {
+        long pid = activeChildPid;
+        return pid > 0 ? ProcessHandle.of(pid) : Optional.empty();
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    int getJobsServed() {
+        return jobsServed;
+    }
+
+    long getResidentKb() {
+        return residentKb;
+    }
+
+    int getWorkerNumber() {
+        return workerNumber;
+    }
+
+    /**
+     * Asks the interpreter to exit, forcing it down if it does not comply.
+     */
+    void shutdown() {
+        try {
+            synchronized (requestWriter) {
+                requestWriter.write("{\"type\":\"shutdown\"}");
+                requestWriter.newLine();
+                requestWriter.flush();
+            }
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                destroy();
+            }
+        } catch (Exception e) {
+            destroy();
+        }
+    }
+
+    void destroy() {
+        terminateActiveChild(Duration.ZERO);
+        process.destroyForcibly();
+    }
+
+    private JsonNode awaitEvent(String eventType, String requestId, long timeoutMillis) throws InterruptedException {
+        long deadline = timeoutMillis == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMillis;
+
+        while (true) {
+            long remaining = deadline == Long.MAX_VALUE ? 1000 : deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+
+            JsonNode event = events.poll(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+            if (event == null) {
+                if (!process.isAlive() && events.isEmpty()) {
+                    return null;
+                }
+                continue;
+            }
+
+            if ("warning".equals(event.path("event").asText())) {
+                log.warn("Python worker {}: {}", workerNumber, event.path("message").asText());
+                continue;
+            }
+
+            if (eventType.equals(event.path("event").asText())
+                    && (requestId == null || requestId.equals(event.path("id").asText()))) {
+                return event;
+            }
+        }
+    }
+
+    private void readEvents() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode event;
+                try {
+                    event = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    log.warn("Python worker {} wrote an unparseable event: {}", workerNumber, line);
+                    continue;
+                }
+                if ("started".equals(event.path("event").asText())) {
+                    onStarted(event);
+                }
+                events.put(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("Python worker {} event stream closed", workerNumber);
+        }
+
+        // No job can start any more, so a cancel still waiting for one has nothing left to terminate
+        synchronized (childLock) {
+            if (pendingCancel != null) {
+                pendingCancel.complete(null);
+                pendingCancel = null;
+            }
+        }
+    }
+
+    // Records the forked child and kills it straight away if its job was cancelled before it started
+    private void onStarted(JsonNode started) {
+        String requestId = started.path("id").asText();
+        long pid = started.path("pid").asLong();
+        CompletableFuture<ProcessTreeTerminator.TerminationReport> cancel;
+        Duration gracePeriod;
+
+        synchronized (childLock) {
+            activeRequestId = requestId;
+            activeChildPid = pid;
+            if (pendingCancel == null || !requestId.equals(cancelledRequestId)) {
+                return;
+            }
+            cancel = pendingCancel;
+            gracePeriod = cancelGracePeriod;
+            pendingCancel = null;
+            cancelledRequestId = null;
+        }
+
+        log.info("Python worker {}: terminating job {}, cancelled before it started", workerNumber, requestId);
+        terminateChild(pid, gracePeriod).whenComplete((report, error) -> {
+            if (error != null) {
+                cancel.completeExceptionally(error);
+            } else {
+                cancel.complete(report);
+            }
+        });
+    }
+}
@@ -0,0 +1,290 @@
+package com.bank.batch.core.executor.python;
+
+import com.bank.batch.core.executor.process.ProcessTreeTerminator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pool of long-lived Python interpreters with common modules preloaded.
+ * Avoids paying interpreter start-up and heavy import cost on every PYTHON job.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PythonWorkerPool {
+
+    private static final String BOOTSTRAP_RESOURCE = "python/batch_worker.py";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ProcessTreeTerminator terminator;
+
+    private final BlockingDeque<PythonWorker> idleWorkers = new LinkedBlockingDeque<>();
+    private final Map<Long, PythonWorker> activeWorkers = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> cancelledExecutions = new ConcurrentHashMap<>();
+    private final AtomicInteger totalWorkers = new AtomicInteger();
+
+    private Path bootstrapScript;
+    private Counter recycledCounter;
+    private volatile boolean shuttingDown;
+
+    @Value("${batch.orchestrator.python-pool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${batch.orchestrator.python-pool.interpreter:python3}")
+    private String interpreter;
+
+    @Value("${batch.orchestrator.python-pool.min-workers:2}")
+    private int minWorkers;
+
+    @Value("${batch.orchestrator.python-pool.max-workers:8}")
+    private int maxWorkers;
+
+    @Value("${batch.orchestrator.python-pool.preload-modules:}")
+    private String preloadModules;
+
+    @Value("${batch.orchestrator.python-pool.max-jobs-per-worker:200}")
+    private int maxJobsPerWorker;
+
+    @Value("${batch.orchestrator.python-pool.max-worker-memory-mb:1024}")
+    private int maxWorkerMemoryMb;
+
+    @Value("${batch.orchestrator.python-pool.acquire-timeout-seconds:30}")
+    private int acquireTimeoutSeconds;
+
+    @Value("${batch.orchestrator.python-pool.cancel-grace-seconds:5}")
+    private int cancelGraceSeconds;
+
+    @Value("${batch.orchestrator.python-pool.spool-dir:${java.io.tmpdir}/batch-python}")
+    private String spoolDir;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        if (System.getProperty("os.name").toLowerCase().contains("windows")) {
+            log.warn("Pooled Python workers require fork() and are disabled on Windows");
+            enabled = false;
+            return;
+        }
+
+        try {
+            Files.createDirectories(Paths.get(spoolDir));
+            bootstrapScript = extractBootstrapScript();
+        } catch (IOException e) {
+            log.error("Failed to prepare Python worker bootstrap, pooled mode disabled", e);
+            enabled = false;
+            return;
+        }
+
+        Gauge.builder("batch.python.workers.total", totalWorkers, AtomicInteger::get)
+            .description("Number of live pooled Python workers")
+            .register(meterRegistry);
+        Gauge.builder("batch.python.workers.idle", idleWorkers, BlockingDeque::size)
+            .description("Number of idle pooled Python workers")
+            .register(meterRegistry);
+        this.recycledCounter = Counter.builder("batch.python.workers.recycled")
+            .description("Number of pooled Python workers retired and replaced")
+            .register(meterRegistry);
+
+        for (int i = 0; i < minWorkers; i++) {
+            CompletableFuture.runAsync(this::addIdleWorker);
+        }
+
+        log.info("Python worker pool initialized (min: {}, max: {}, preload: {})",
+            minWorkers, maxWorkers, preloadModules);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getSpoolDirectory() {
+        return Paths.get(spoolDir);
+    }
+
+    /**
+     * Runs a script on a pooled worker and blocks until it finishes, is cancelled, or the
+     * calling thread is interrupted.
+     */
+    public PythonWorkerResult execute(
+            Long executionId,
+            String scriptPath,
+            List<String> args,
+            Map<String, String> environment,
+            Path stdoutPath,
+            Path stderrPath) throws Exception {
+
+        PythonWorker worker = acquire();
+        activeWorkers.put(executionId, worker);
+        boolean reusable = false;
+
+        try {
+            Map<String, Object> request = new HashMap<>();
+            request.put("id", executionId.toString());
+            request.put("script", scriptPath);
+            request.put("args", args);
+            request.put("env", environment);
+            request.put("stdoutPath", stdoutPath.toString());
+            request.put("stderrPath", stderrPath.toString());
+
+            log.debug("Dispatching execution {} to Python worker {}", executionId, worker.getWorkerNumber());
+            PythonWorkerResult result = worker.run(executionId.toString(), request);
+            reusable = cancelledExecutions.remove(executionId) == null;
+            return result;
+
+        } finally {
+            activeWorkers.remove(executionId);
+            cancelledExecutions.remove(executionId);
+            release(worker, reusable);
+        }
+    }
+
+    /**
+     * Cancels a pooled execution: SIGTERM to the job and its descendants, SIGKILL after the grace period.
+     * A job not yet forked is killed as soon as it is. The worker that ran it is recycled rather than reused.
+     *
+     * @return the pending termination, completing with null when the execution is not running here
+     */
+    public CompletableFuture<ProcessTreeTerminator.TerminationReport> cancel(Long executionId) {
+        PythonWorker worker = activeWorkers.get(executionId);
+        if (worker == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.info("Cancelling pooled Python execution {} on worker {}", executionId, worker.getWorkerNumber());
+        cancelledExecutions.put(executionId, Boolean.TRUE);
+        return worker.terminateAsync(executionId.toString(), Duration.ofSeconds(cancelGraceSeconds));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        PythonWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.shutdown();
+        }
+        activeWorkers.values().forEach(PythonWorker::destroy);
+    }
+
+    private PythonWorker acquire() throws Exception {
+        PythonWorker worker = idleWorkers.poll();
+        if (worker != null && worker.isAlive()) {
+            return worker;
+        }
+        if (worker != null) {
+            totalWorkers.decrementAndGet();
+        }
+
+        if (totalWorkers.incrementAndGet() <= maxWorkers) {
+            try {
+                return startWorker();
+            } catch (Exception e) {
+                totalWorkers.decrementAndGet();
+                throw e;
+            }
+        }
+        totalWorkers.decrementAndGet();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(acquireTimeoutSeconds);
+        while (true) {
+            worker = idleWorkers.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (worker == null) {
+                throw new RejectedExecutionException(
+                    "No Python worker became available within " + acquireTimeoutSeconds + " seconds");
+            }
+            if (worker.isAlive()) {
+                return worker;
+            }
+
+            // A worker that died while idle hands its slot to a replacement
+            try {
+                return startWorker();
+            } catch (Exception e) {
+                totalWorkers.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void release(PythonWorker worker, boolean reusable) {
+        boolean exhausted = worker.getJobsServed() >= maxJobsPerWorker;
+        boolean bloated = worker.getResidentKb() > maxWorkerMemoryMb * 1024L;
+
+        if (reusable && !shuttingDown && worker.isAlive() && !exhausted && !bloated) {
+            idleWorkers.offerFirst(worker);
+            return;
+        }
+
+        log.info("Retiring Python worker {} (jobs: {}, rss: {} KB, reusable: {})",
+            worker.getWorkerNumber(), worker.getJobsServed(), worker.getResidentKb(), reusable);
+        totalWorkers.decrementAndGet();
+        recycledCounter.increment();
+        CompletableFuture.runAsync(worker::shutdown);
+
+        if (!shuttingDown && totalWorkers.get() < minWorkers) {
+            CompletableFuture.runAsync(this::addIdleWorker);
+        }
+    }
+
+    private void addIdleWorker() {
+        if (totalWorkers.incrementAndGet() > maxWorkers) {
+            totalWorkers.decrementAndGet();
+            return;
+        }
+        try {
+            idleWorkers.offerLast(startWorker());
+        } catch (Exception e) {
+            totalWorkers.decrementAndGet();
+            log.error("Failed to start Python worker", e);
+        }
+    }
+
+    private PythonWorker startWorker() throws Exception {
+        List<String> modules = Arrays.stream(preloadModules.split(","))
+            .map(String::trim)
+            .filter(m -> !m.isEmpty())
+            .collect(Collectors.toList());
+
+        return PythonWorker.start(interpreter, bootstrapScript, modules, objectMapper, terminator, Duration.ofMinutes(2));
+    }
+
+    private Path extractBootstrapScript() throws IOException {
+        Path target = Paths.get(spoolDir, "batch_worker.py");
+        try (InputStream in = new ClassPathResource(BOOTSTRAP_RESOURCE).getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.batch.core.executor.python;
+
+import lombok.Value;
+
+/**
+ * Outcome of a single job run on a pooled Python worker.
+ */
+@Value
+public class PythonWorkerResult {
+
+    int exitCode;
+
+    /** Signal that terminated the job, or null if it exited normally. */
+    Integer terminationSignal;
+
+    long peakResidentKb;
+
+    public boolean isSuccess() {
+        return exitCode == 0 && terminationSignal == null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.batch.core.executor.storedproc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazily creates one bounded connection pool and one matching worker pool per stored procedure target.
+ * These pools never share connections with the orchestrator's control-plane datasource.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StoredProcDataSourceRegistry {
+
+    private final StoredProcProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, HikariDataSource> dataSources = new ConcurrentHashMap<>();
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the isolated datasource for a target, creating it on first use.
+     */
+    public HikariDataSource getDataSource(String target) {
+        return dataSources.computeIfAbsent(target, this::createDataSource);
+    }
+
+    /**
+     * Gets the worker pool for a target. Its size matches the connection pool so
+     * queued procedures wait here instead of holding a thread while blocked on a connection.
+     * At most max-queued-per-target wait; submitting beyond that throws RejectedExecutionException.
+     */
+    public ExecutorService getExecutor(String target) {
+        return executors.computeIfAbsent(target, name -> {
+            int size = resolveTarget(name).getMaxPoolSize();
+            AtomicInteger threadNumber = new AtomicInteger();
+            return new ThreadPoolExecutor(
+                size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getMaxQueuedPerTarget()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stored-proc-" + name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource createDataSource(String name) {
+        StoredProcProperties.Target target = resolveTarget(name);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("StoredProc-" + name);
+        config.setJdbcUrl(target.getUrl());
+        config.setUsername(target.getUsername());
+        config.setPassword(target.getPassword());
+        if (target.getDriverClassName() != null) {
+            config.setDriverClassName(target.getDriverClassName());
+        }
+        config.setMaximumPoolSize(target.getMaxPoolSize());
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(target.getConnectionTimeoutMs());
+        config.setMetricRegistry(meterRegistry);
+
+        log.info("Creating isolated stored procedure pool {} (max size: {})", name, target.getMaxPoolSize());
+        return new HikariDataSource(config);
+    }
+
+    private StoredProcProperties.Target resolveTarget(String name) {
+        StoredProcProperties.Target target = properties.getDatasources().get(name);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown stored procedure datasource: " + name);
+        }
+        return target;
+    }
+}
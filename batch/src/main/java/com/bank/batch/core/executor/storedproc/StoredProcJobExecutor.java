@@ -0,0 +1,255 @@
+package com.bank.batch.core.executor.storedproc;
+
+import com.bank.batch.core.executor.*;
+import com.bank.batch.core.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Executes STORED_PROC jobs on an isolated per-target connection pool.
+ * Applies the job timeout as a statement timeout, supports cancellation through
+ * {@link Statement#cancel()}, and streams result sets to the output spool.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StoredProcJobExecutor implements JobExecutor {
+
+    /** Reserved job parameter naming the target datasource; it is not passed to the procedure. */
+    public static final String DATASOURCE_PARAMETER = "datasource";
+
+    private static final Pattern PROCEDURE_NAME = Pattern.compile("[A-Za-z0-9_\\.\\[\\]]+");
+
+    private final StoredProcDataSourceRegistry dataSourceRegistry;
+    private final StoredProcProperties properties;
+    private final Map<Long, Statement> runningStatements = new ConcurrentHashMap<>();
+
+    @Override
+    public void preExecute(ExecutionContext context) throws Exception {
+        String procedure = context.getStoredProcedure();
+        if (procedure == null || !PROCEDURE_NAME.matcher(procedure).matches()) {
+            throw new IllegalArgumentException("Invalid stored procedure name: " + procedure);
+        }
+        Files.createDirectories(Paths.get(properties.getSpoolDir()));
+    }
+
+    @Override
+    public JobExecutionResult execute(ExecutionContext context) throws Exception {
+        String target = resolveTarget(context);
+        long submittedNanos = System.nanoTime();
+        Future<JobExecutionResult> future;
+        try {
+            future = dataSourceRegistry.getExecutor(target).submit(() -> {
+                // A procedure that waited too long for a slot fails instead of starting late
+                long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - submittedNanos);
+                if (waitedSeconds >= properties.getAcquireTimeoutSeconds()) {
+                    return slotUnavailable(context, target,
+                        "no connection slot free within " + properties.getAcquireTimeoutSeconds() + " seconds");
+                }
+                return callProcedure(context, target);
+            });
+        } catch (RejectedExecutionException e) {
+            return slotUnavailable(context, target,
+                properties.getMaxQueuedPerTarget() + " procedures already waiting for a connection slot");
+        }
+
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            // Engine timeout or cancellation: stop the statement on the server, not just the waiting thread
+            cancel(context.getExecutionId());
+            future.cancel(true);
+            throw e;
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void postExecute(ExecutionContext context, JobExecutionResult result) throws Exception {
+        // Spool files are retained for the output retention policy
+    }
+
+    /**
+     * Cancels the statement running for an execution, if any.
+     */
+    public boolean cancel(Long executionId) {
+        Statement statement = runningStatements.get(executionId);
+        if (statement == null) {
+            return false;
+        }
+
+        try {
+            log.info("Cancelling stored procedure for execution {}", executionId);
+            statement.cancel();
+            return true;
+        } catch (SQLException e) {
+            log.error("Failed to cancel stored procedure for execution {}", executionId, e);
+            return false;
+        }
+    }
+
+    private JobExecutionResult slotUnavailable(ExecutionContext context, String target, String reason) {
+        log.warn("Stored procedure for execution {} not run on {}: {}", context.getExecutionId(), target, reason);
+
+        JobExecutionResult result = new JobExecutionResult();
+        result.setExecutionId(context.getExecutionId());
+        result.setJobId(context.getJobId());
+        result.setSuccess(false);
+        result.setErrorMessage("Datasource " + target + " saturated: " + reason);
+        return result;
+    }
+
+    private JobExecutionResult callProcedure(ExecutionContext context, String target) throws Exception {
+        Long executionId = context.getExecutionId();
+        Map<String, Object> arguments = procedureArguments(context);
+        String sql = "{call " + context.getStoredProcedure()
+            + "(" + arguments.keySet().stream().map(name -> "?").collect(Collectors.joining(", ")) + ")}";
+        Path spoolPath = Paths.get(properties.getSpoolDir(), executionId + ".tsv");
+
+        JobExecutionResult result = new JobExecutionResult();
+        result.setExecutionId(executionId);
+        result.setJobId(context.getJobId());
+
+        long rows = 0;
+        int resultSets = 0;
+        long updatedRows = 0;
+
+        try (Connection connection = dataSourceRegistry.getDataSource(target).getConnection();
+             CallableStatement statement = connection.prepareCall(sql);
+             BufferedWriter spool = Files.newBufferedWriter(spoolPath, StandardCharsets.UTF_8)) {
+
+            runningStatements.put(executionId, statement);
+            statement.setQueryTimeout(Math.max(context.getTimeoutMinutes(), 0) * 60);
+            statement.setFetchSize(properties.getFetchSize());
+            for (Map.Entry<String, Object> argument : arguments.entrySet()) {
+                statement.setObject(argument.getKey(), argument.getValue());
+            }
+
+            log.debug("Calling {} on {} for execution {}", context.getStoredProcedure(), target, executionId);
+            boolean hasResultSet = statement.execute();
+
+            while (true) {
+                if (hasResultSet) {
+                    try (ResultSet resultSet = statement.getResultSet()) {
+                        resultSet.setFetchSize(properties.getFetchSize());
+                        rows += spoolResultSet(resultSet, ++resultSets, spool);
+                    }
+                } else {
+                    int updateCount = statement.getUpdateCount();
+                    if (updateCount == -1) {
+                        break;
+                    }
+                    updatedRows += updateCount;
+                }
+                hasResultSet = statement.getMoreResults();
+            }
+
+            result.setSuccess(true);
+            result.setOutput(String.format("%s completed: %d result set(s), %d row(s) spooled, %d row(s) updated",
+                context.getStoredProcedure(), resultSets, rows, updatedRows));
+
+        } catch (SQLTimeoutException e) {
+            result.setSuccess(false);
+            result.setTimedOut(true);
+            result.setErrorMessage("Stored procedure exceeded statement timeout: " + e.getMessage());
+
+        } catch (SQLException e) {
+            result.setSuccess(false);
+            result.setErrorMessage(e.getMessage());
+
+        } finally {
+            runningStatements.remove(executionId);
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("datasource", target);
+        metrics.put("resultSets", resultSets);
+        metrics.put("rowsSpooled", rows);
+        metrics.put("rowsUpdated", updatedRows);
+        result.setMetrics(metrics);
+        result.setLogFilePath(spoolPath.toString());
+
+        return result;
+    }
+
+    private long spoolResultSet(ResultSet resultSet, int resultSetNumber, BufferedWriter spool)
+            throws SQLException, IOException {
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        spool.write("# result set " + resultSetNumber);
+        spool.newLine();
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                spool.write('\t');
+            }
+            spool.write(metaData.getColumnLabel(i));
+        }
+        spool.newLine();
+
+        long rows = 0;
+        while (resultSet.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    spool.write('\t');
+                }
+                Object value = resultSet.getObject(i);
+                if (value != null) {
+                    spool.write(value.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+                }
+            }
+            spool.newLine();
+            rows++;
+        }
+        return rows;
+    }
+
+    private String resolveTarget(ExecutionContext context) {
+        Object target = context.getParameters() != null ? context.getParameters().get(DATASOURCE_PARAMETER) : null;
+        return target != null ? target.toString() : properties.getDefaultDatasource();
+    }
+
+    private Map<String, Object> procedureArguments(ExecutionContext context) {
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        if (context.getParameters() != null) {
+            context.getParameters().forEach((name, value) -> {
+                if (!DATASOURCE_PARAMETER.equals(name)) {
+                    arguments.put(name, value);
+                }
+            });
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.batch.core.executor.storedproc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for STORED_PROC execution, kept apart from the orchestrator's own datasource.
+ */
+@Component
+@ConfigurationProperties(prefix = "batch.orchestrator.stored-proc")
+@Data
+public class StoredProcProperties {
+
+    /** Target used when a job does not name one via the "datasource" parameter. */
+    private String defaultDatasource = "default";
+
+    /** Directory where streamed result sets are written. */
+    private String spoolDir = System.getProperty("java.io.tmpdir") + "/batch-spool";
+
+    /** JDBC fetch size used when streaming result sets. */
+    private int fetchSize = 1000;
+
+    /** Upper bound on time a job waits for a free connection slot before failing. */
+    private int acquireTimeoutSeconds = 300;
+
+    /** Procedures allowed to wait for a slot per target; further ones fail straight away. */
+    private int maxQueuedPerTarget = 100;
+
+    private Map<String, Target> datasources = new LinkedHashMap<>();
+
+    @Data
+    public static class Target {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maxPoolSize = 8;
+        private long connectionTimeoutMs = 30000;
+    }
+}
@@ -0,0 +1,579 @@
+package com.bank.batch.core.journal;
+
+import com.bank.batch.core.model.*;
+import com.bank.batch.core.repository.JobExecutionHistoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for execution state transitions.
+ * A transition is durable once it is appended and fsync'd to a local segment file; concurrent
+ * transitions share one fsync. The latest transition of each execution is flushed to
+ * job_execution_history in batched updates, so a run's RUNNING and final states usually cost
+ * a single row write. Unflushed transitions are replayed from the segments on startup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutionJournal {
+
+    private static final String FLUSH_SQL =
+        "UPDATE job_execution_history SET status = ?, start_time = ?, end_time = ?, error_message = ?, " +
+        "warning_message = ?, output_parameters = ?, log_file_path = ?, host_name = ?, process_id = ?, thread_id = ? " +
+        "WHERE execution_id = ?";
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "flushed.seq";
+
+    private final JobExecutionHistoryRepository executionHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    // Flushes run one at a time so an older batch can never land after a newer one
+    private final Object flushLock = new Object();
+
+    // Latest durable transition per execution not yet written to the database; guarded by this
+    private final Map<Long, Transition> unflushed = new HashMap<>();
+    // Closed segments and the last sequence number each holds; guarded by this
+    private final Map<Path, Long> closedSegments = new HashMap<>();
+    private long lastDurableSeq;
+
+    @Value("${batch.orchestrator.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${batch.orchestrator.journal.directory:/var/lib/batch-orchestrator/journal}")
+    private String directory;
+
+    @Value("${batch.orchestrator.journal.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${batch.orchestrator.journal.max-group-size:512}")
+    private int maxGroupSize;
+
+    private Path journalPath;
+    private Path segmentPath;
+    private FileChannel segment;
+    private long nextSeq;
+    private Thread writer;
+    private volatile boolean running;
+
+    private Timer commitTimer;
+    private DistributionSummary groupSize;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        this.commitTimer = Timer.builder("batch.journal.commit")
+                .description("Latency of a group commit, including fsync")
+                .register(meterRegistry);
+
+        this.groupSize = DistributionSummary.builder("batch.journal.group.size")
+                .description("Transitions made durable by a single fsync")
+                .register(meterRegistry);
+
+        try {
+            journalPath = Paths.get(directory);
+            Files.createDirectories(journalPath);
+            recover();
+
+            openSegment();
+            synchronized (this) {
+                closedSegments.remove(segmentPath);
+            }
+        } catch (Exception e) {
+            log.warn("Execution journal unavailable, saving transitions directly; unreplayed segments stay in {}",
+                directory, e);
+            enabled = false;
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "execution-journal");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Execution journal writing to {}", journalPath);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+        segment.close();
+    }
+
+    /**
+     * Records the execution's current state. Returns once the transition is durable; the
+     * database row is updated by a later flush. Saves directly when the journal is disabled.
+     */
+    public void save(JobExecutionHistory execution) {
+        saveAll(List.of(execution));
+    }
+
+    /**
+     * Records the current state of several executions, sharing one group commit.
+     */
+    public void saveAll(List<JobExecutionHistory> executions) {
+        if (!enabled) {
+            executionHistoryRepository.saveAll(executions);
+            return;
+        }
+
+        List<PendingWrite> writes = new ArrayList<>(executions.size());
+        for (JobExecutionHistory execution : executions) {
+            writes.add(new PendingWrite(new Transition(execution)));
+        }
+        pendingWrites.addAll(writes);
+
+        for (int i = 0; i < writes.size(); i++) {
+            JobExecutionHistory execution = executions.get(i);
+            try {
+                writes.get(i).done.get();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while journaling execution " + execution.getExecutionId(), e);
+
+            } catch (ExecutionException e) {
+                // The direct save supersedes anything still journaled for this execution
+                log.error("Journal unavailable, saving execution {} directly", execution.getExecutionId(), e.getCause());
+                synchronized (this) {
+                    unflushed.remove(execution.getExecutionId());
+                }
+                executionHistoryRepository.save(execution);
+            }
+        }
+    }
+
+    /**
+     * Applies a journaled transition not yet flushed to an execution loaded from the database.
+     */
+    public JobExecutionHistory overlay(JobExecutionHistory execution) {
+        Transition transition;
+        synchronized (this) {
+            transition = unflushed.get(execution.getExecutionId());
+        }
+        if (transition != null) {
+            transition.applyTo(execution);
+        }
+        return execution;
+    }
+
+    /**
+     * Writes the latest unflushed transition of each execution to the database in one batch.
+     * Called on a schedule, and by readers that need the database to be current.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.journal.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            Map<Long, Transition> batch;
+            long throughSeq;
+            synchronized (this) {
+                if (unflushed.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(unflushed);
+                unflushed.clear();
+                throughSeq = lastDurableSeq;
+            }
+
+            try {
+                write(batch.values());
+                meterRegistry.counter("batch.journal.flushed.rows").increment(batch.size());
+                checkpoint(throughSeq);
+
+            } catch (Exception e) {
+                log.error("Failed to flush {} journaled transitions, will retry", batch.size(), e);
+                synchronized (this) {
+                    batch.forEach((executionId, transition) -> unflushed.merge(executionId, transition,
+                        (current, restored) -> current.seq >= restored.seq ? current : restored));
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> group = new ArrayList<>();
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                PendingWrite first = pendingWrites.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                pendingWrites.drainTo(group, maxGroupSize - 1);
+                commit(group);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Journal commit of {} transitions failed", group.size(), e);
+                group.forEach(write -> write.done.completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> group) throws IOException {
+        long startNanos = System.nanoTime();
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long seq = nextSeq;
+        for (PendingWrite write : group) {
+            write.transition.seq = seq++;
+            writeFrame(buffer, write.transition);
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        long committedSize = segment.size();
+        try {
+            while (bytes.hasRemaining()) {
+                segment.write(bytes);
+            }
+            segment.force(false);
+        } catch (IOException e) {
+            discardFailedGroup(committedSize);
+            throw e;
+        }
+        nextSeq = seq;
+
+        synchronized (this) {
+            for (PendingWrite write : group) {
+                unflushed.put(write.transition.executionId, write.transition);
+            }
+            lastDurableSeq = seq - 1;
+        }
+        group.forEach(write -> write.done.complete(null));
+
+        commitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        groupSize.record(group.size());
+        meterRegistry.counter("batch.journal.transitions").increment(group.size());
+
+        if (segment.size() >= segmentBytes) {
+            segment.close();
+            synchronized (this) {
+                closedSegments.put(segmentPath, seq - 1);
+            }
+            openSegment();
+        }
+    }
+
+    // A partly written group must not stay in front of later ones: recovery stops at the first corrupt frame
+    private void discardFailedGroup(long committedSize) {
+        try {
+            segment.truncate(committedSize);
+            segment.force(false);
+        } catch (IOException e) {
+            log.error("Could not cut a failed group off journal segment {}, rolling to a new one", segmentPath, e);
+            try {
+                segment.close();
+                if (committedSize == 0) {
+                    // Holds nothing acknowledged, and the next segment would take its name
+                    Files.deleteIfExists(segmentPath);
+                } else {
+                    synchronized (this) {
+                        closedSegments.put(segmentPath, lastDurableSeq);
+                    }
+                }
+                openSegment();
+            } catch (IOException rollFailed) {
+                log.error("Could not roll journal segment {}", segmentPath, rollFailed);
+            }
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segmentPath = journalPath.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSeq, SEGMENT_SUFFIX));
+        segment = FileChannel.open(segmentPath,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Transitions after the last checkpoint go back into the flush queue; their segments stay until flushed
+    private void recover() throws IOException {
+        long flushedSeq = readCheckpoint();
+        long lastSeq = flushedSeq;
+        int replayed = 0;
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(journalPath)) {
+            segments = files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+        }
+
+        for (Path file : segments) {
+            long segmentLastSeq = flushedSeq;
+            for (Transition transition : readFrames(file)) {
+                segmentLastSeq = Math.max(segmentLastSeq, transition.seq);
+                if (transition.seq > flushedSeq) {
+                    unflushed.merge(transition.executionId, transition,
+                        (current, replay) -> current.seq >= replay.seq ? current : replay);
+                    replayed++;
+                }
+            }
+            closedSegments.put(file, segmentLastSeq);
+            lastSeq = Math.max(lastSeq, segmentLastSeq);
+        }
+
+        lastDurableSeq = lastSeq;
+        nextSeq = lastSeq + 1;
+        if (replayed > 0) {
+            log.info("Replaying {} journaled transitions of {} executions", replayed, unflushed.size());
+            flush();
+        } else {
+            checkpoint(lastSeq);
+        }
+    }
+
+    private void write(Collection<Transition> transitions) {
+        List<Object[]> rows = new ArrayList<>(transitions.size());
+        for (Transition transition : transitions) {
+            rows.add(new Object[] {
+                transition.status, transition.startTime, transition.endTime, transition.errorMessage,
+                transition.warningMessage, transition.outputParameters, transition.logFilePath, transition.hostName,
+                transition.processId, transition.threadId, transition.executionId
+            });
+        }
+        jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+    }
+
+    // Records that every transition up to seq is in the database, then drops segments holding nothing newer
+    private void checkpoint(long seq) throws IOException {
+        Path temp = journalPath.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(temp, journalPath.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> obsolete = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<Path, Long>> segments = closedSegments.entrySet().iterator();
+            while (segments.hasNext()) {
+                Map.Entry<Path, Long> closed = segments.next();
+                if (closed.getValue() <= seq) {
+                    obsolete.add(closed.getKey());
+                    segments.remove();
+                }
+            }
+        }
+        for (Path file : obsolete) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = journalPath.resolve(CHECKPOINT_FILE);
+        return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+    }
+
+    // Frame: payload length, CRC32 of the payload, payload
+    private static void writeFrame(ByteArrayOutputStream buffer, Transition transition) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeLong(transition.seq);
+        out.writeLong(transition.executionId);
+        writeString(out, transition.status);
+        writeString(out, transition.startTime != null ? transition.startTime.toString() : null);
+        writeString(out, transition.endTime != null ? transition.endTime.toString() : null);
+        writeString(out, transition.errorMessage);
+        writeString(out, transition.warningMessage);
+        writeString(out, transition.outputParameters);
+        writeString(out, transition.logFilePath);
+        writeString(out, transition.hostName);
+        writeString(out, transition.processId != null ? transition.processId.toString() : null);
+        writeString(out, transition.threadId);
+
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        DataOutputStream frame = new DataOutputStream(buffer);
+        frame.writeInt(bytes.length);
+        frame.writeInt((int) crc.getValue());
+        frame.write(bytes);
+    }
+
+    // Reading stops at the first torn or corrupt frame, which can only be an unacknowledged tail:
+    // a group that failed part way is cut off before the next one is written
+    private static List<Transition> readFrames(Path file) throws IOException {
+        List<Transition> transitions = new ArrayList<>();
+        long fileSize = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte[] bytes;
+                int expectedCrc;
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > fileSize) {
+                        log.warn("Corrupt frame in journal segment {}, ignoring the rest of it", file);
+                        break;
+                    }
+                    bytes = new byte[length];
+                    expectedCrc = in.readInt();
+                    in.readFully(bytes);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                if ((int) crc.getValue() != expectedCrc) {
+                    log.warn("Corrupt frame in journal segment {}, ignoring the rest of it", file);
+                    break;
+                }
+
+                DataInputStream payload = new DataInputStream(new ByteArrayInputStream(bytes));
+                Transition transition = new Transition();
+                transition.seq = payload.readLong();
+                transition.executionId = payload.readLong();
+                transition.status = readString(payload);
+                String startTime = readString(payload);
+                transition.startTime = startTime != null ? LocalDateTime.parse(startTime) : null;
+                String endTime = readString(payload);
+                transition.endTime = endTime != null ? LocalDateTime.parse(endTime) : null;
+                transition.errorMessage = readString(payload);
+                transition.warningMessage = readString(payload);
+                transition.outputParameters = readString(payload);
+                transition.logFilePath = readString(payload);
+                transition.hostName = readString(payload);
+                String processId = readString(payload);
+                transition.processId = processId != null ? Integer.valueOf(processId) : null;
+                transition.threadId = readString(payload);
+                transitions.add(transition);
+            }
+        }
+        return transitions;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Snapshot of the journaled columns of an execution.
+     */
+    private static class Transition {
+        long seq;
+        long executionId;
+        String status;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        String errorMessage;
+        String warningMessage;
+        String outputParameters;
+        String logFilePath;
+        String hostName;
+        Integer processId;
+        String threadId;
+
+        Transition() {
+        }
+
+        Transition(JobExecutionHistory execution) {
+            this.executionId = execution.getExecutionId();
+            this.status = execution.getStatus().name();
+            this.startTime = execution.getStartTime();
+            this.endTime = execution.getEndTime();
+            this.errorMessage = execution.getErrorMessage();
+            this.warningMessage = execution.getWarningMessage();
+            this.outputParameters = execution.getOutputParameters();
+            this.logFilePath = execution.getLogFilePath();
+            this.hostName = execution.getHostName();
+            this.processId = execution.getProcessId();
+            this.threadId = execution.getThreadId();
+        }
+
+        void applyTo(JobExecutionHistory execution) {
+            execution.setStatus(ExecutionStatus.valueOf(status));
+            execution.setStartTime(startTime);
+            execution.setEndTime(endTime);
+            execution.setErrorMessage(errorMessage);
+            execution.setWarningMessage(warningMessage);
+            execution.setOutputParameters(outputParameters);
+            execution.setLogFilePath(logFilePath);
+            execution.setHostName(hostName);
+            execution.setProcessId(processId);
+            execution.setThreadId(threadId);
+        }
+    }
+
+    private static class PendingWrite {
+        final Transition transition;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(Transition transition) {
+            this.transition = transition;
+        }
+    }
+}
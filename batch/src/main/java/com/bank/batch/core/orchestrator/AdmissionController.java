@@ -0,0 +1,319 @@
+package com.bank.batch.core.orchestrator;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of job execution.
+ * Every run is admitted while the orchestrator has capacity and no deferred runs are waiting,
+ * deferred into the persisted job_admission_queue otherwise, and rejected once that queue (or
+ * the job's share of it) is full. Deferred runs are released oldest first, by priority, as
+ * capacity frees up, so new arrivals never overtake them.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    public enum Decision { ADMITTED, DEFERRED, REJECTED }
+
+    // Deferring an execution whose row is still claimed, because it was released but could not start, returns it to the queue
+    private static final String ENQUEUE_SQL =
+        "MERGE job_admission_queue AS target USING (SELECT ? AS execution_id) AS source " +
+        "ON target.execution_id = source.execution_id " +
+        "WHEN MATCHED THEN UPDATE SET claimed_by = NULL, claimed_until = NULL " +
+        "WHEN NOT MATCHED THEN INSERT (execution_id, job_id, priority) VALUES (source.execution_id, ?, ?);";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM job_admission_queue";
+
+    private static final String COUNT_FOR_JOB_SQL = "SELECT COUNT(*) FROM job_admission_queue WHERE job_id = ?";
+
+    // Same claim scheme as the retry queue; a node that dies mid-release leaves its claim to expire
+    private static final String CLAIM_SQL =
+        "WITH next AS (SELECT TOP (?) * FROM job_admission_queue WITH (UPDLOCK, READPAST, ROWLOCK) " +
+        "  WHERE claimed_until IS NULL OR claimed_until < GETUTCDATE() " +
+        "  ORDER BY priority DESC, enqueued_at) " +
+        "UPDATE next SET claimed_by = ?, claimed_until = DATEADD(SECOND, ?, GETUTCDATE()) " +
+        "OUTPUT inserted.admission_id, inserted.execution_id, DATEDIFF_BIG(MILLISECOND, inserted.enqueued_at, GETUTCDATE()) AS waited_ms";
+
+    private static final String DELETE_SQL = "DELETE FROM job_admission_queue WHERE admission_id = ? AND claimed_by = ?";
+
+    private static final String RENEW_SQL =
+        "UPDATE job_admission_queue SET claimed_until = DATEADD(SECOND, ?, GETUTCDATE()) " +
+        "WHERE admission_id = ? AND claimed_by = ?";
+
+    private static final String UNCLAIM_SQL =
+        "UPDATE job_admission_queue SET claimed_by = NULL, claimed_until = NULL WHERE admission_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<JobOrchestrator> jobOrchestrator;
+    private final ExecutorService executorService;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // Released executions by id whose rows stay claimed by this node until they start
+    private final Map<Long, ClaimedAdmission> releasing = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    @Value("${batch.orchestrator.admission.max-in-flight:500}")
+    private int maxInFlight;
+
+    // Admission stops while fewer executor queue slots than this are free, so supplyAsync is never rejected
+    @Value("${batch.orchestrator.admission.executor-queue-headroom:50}")
+    private int executorQueueHeadroom;
+
+    @Value("${batch.orchestrator.admission.overflow-capacity:10000}")
+    private int overflowCapacity;
+
+    @Value("${batch.orchestrator.admission.max-deferred-per-job:10}")
+    private int maxDeferredPerJob;
+
+    @Value("${batch.orchestrator.admission.claim-timeout-seconds:300}")
+    private int claimTimeoutSeconds;
+
+    @Value("${batch.orchestrator.admission.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    private String nodeName;
+    private Timer waitTimer;
+
+    @PostConstruct
+    public void init() {
+        try {
+            nodeName = InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        } catch (Exception e) {
+            nodeName = "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        Gauge.builder("batch.admission.in-flight", inFlight, Set::size)
+                .description("Executions admitted and not yet finished on this node")
+                .register(meterRegistry);
+
+        Gauge.builder("batch.admission.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Deferred executions waiting in the overflow queue")
+                .register(meterRegistry);
+
+        this.waitTimer = Timer.builder("batch.admission.wait")
+                .description("Time deferred executions waited in the overflow queue")
+                .register(meterRegistry);
+
+        refreshQueueDepth();
+    }
+
+    /**
+     * Decides whether a run of a job may start now. While deferred runs are waiting, capacity
+     * goes to them first and a new run joins the queue behind them.
+     */
+    public Admission decide(JobDefinition job) {
+        boolean capacity = hasCapacity();
+        Admission admission;
+        if (capacity && queueDepth.get() == 0) {
+            admission = new Admission(Decision.ADMITTED, null, false);
+        } else if (queueDepth.get() >= overflowCapacity) {
+            admission = new Admission(Decision.REJECTED, "overflow queue is full", true);
+        } else if (jdbcTemplate.queryForObject(COUNT_FOR_JOB_SQL, Integer.class, job.getJobId()) >= maxDeferredPerJob) {
+            admission = new Admission(Decision.REJECTED, "job " + job.getJobName() + " already has "
+                + maxDeferredPerJob + " deferred runs", false);
+        } else {
+            admission = new Admission(Decision.DEFERRED,
+                capacity ? "older runs are waiting for admission" : "orchestrator at capacity", false);
+        }
+
+        meterRegistry.counter("batch.admission.decisions", "decision", admission.getDecision().name()).increment();
+        return admission;
+    }
+
+    /**
+     * Counts an execution against capacity until {@link #released} is called for it.
+     */
+    public void admitted(Long executionId) {
+        inFlight.add(executionId);
+    }
+
+    public void released(Long executionId) {
+        inFlight.remove(executionId);
+    }
+
+    /**
+     * Parks a QUEUED execution in the overflow queue, or hands a released one that could not start back to it.
+     *
+     * @throws AdmissionRejectedException if the queue cannot be written
+     */
+    public void defer(JobDefinition job, JobExecutionHistory execution) {
+        try {
+            jdbcTemplate.update(ENQUEUE_SQL, execution.getExecutionId(), job.getJobId(), job.getPriority());
+            if (releasing.remove(execution.getExecutionId()) == null) {
+                queueDepth.incrementAndGet();
+            }
+            log.info("Deferred execution {} of job {}", execution.getExecutionId(), job.getJobName());
+
+        } catch (Exception e) {
+            log.error("Failed to defer execution {} of job {}", execution.getExecutionId(), job.getJobName(), e);
+            throw new AdmissionRejectedException("Overflow queue unavailable", true, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Removes a released execution from the overflow queue once it started, or turned out to have nothing
+     * left to run. Does nothing for executions this node did not release.
+     */
+    public void dequeued(Long executionId) {
+        ClaimedAdmission admission = releasing.remove(executionId);
+        if (admission == null) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(DELETE_SQL, admission.admissionId, nodeName);
+            waitTimer.record(Duration.ofMillis(admission.waitedMillis));
+        } catch (Exception e) {
+            // The claim lapses and the next node to release it finds the execution already started
+            log.warn("Failed to remove execution {} from the admission queue", executionId, e);
+        }
+    }
+
+    /**
+     * Stops renewing the claim on a released execution that will not start here; it is released
+     * again once the claim times out.
+     */
+    public void abandon(Long executionId) {
+        releasing.remove(executionId);
+    }
+
+    /**
+     * Releases deferred executions, highest priority first, while this node has capacity.
+     * A released execution's row stays claimed until it starts, so a node that dies while the
+     * execution waits for resources leaves it to be released again once the claim times out.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.admission.drain-interval-ms:1000}")
+    public void releaseDeferred() {
+        try {
+            renewClaims();
+
+            int free = maxInFlight - inFlight.size();
+            if (free <= 0 || !hasCapacity() || (queueDepth.get() == 0 && !refreshQueueDepth())) {
+                return;
+            }
+
+            List<ClaimedAdmission> claimed = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new ClaimedAdmission(rs.getLong("admission_id"), rs.getLong("execution_id"),
+                    rs.getLong("waited_ms")),
+                free, nodeName, claimTimeoutSeconds);
+
+            for (ClaimedAdmission admission : claimed) {
+                if (!hasCapacity()) {
+                    jdbcTemplate.update(UNCLAIM_SQL, admission.admissionId);
+                    continue;
+                }
+                releasing.put(admission.executionId, admission);
+                if (!jobOrchestrator.getObject().launchDeferred(admission.executionId)) {
+                    // The job is still running or waiting for resources; try again on a later drain
+                    releasing.remove(admission.executionId);
+                    jdbcTemplate.update(UNCLAIM_SQL, admission.admissionId);
+                }
+            }
+            refreshQueueDepth();
+
+        } catch (Exception e) {
+            log.error("Error releasing deferred executions", e);
+        }
+    }
+
+    /**
+     * Whether another execution could be admitted on this node right now.
+     */
+    public boolean hasCapacity() {
+        if (inFlight.size() >= maxInFlight) {
+            return false;
+        }
+        return !(executorService instanceof ThreadPoolExecutor pool)
+            || pool.getQueue().remainingCapacity() > executorQueueHeadroom;
+    }
+
+    // Released executions may wait for resources longer than a claim lasts
+    private void renewClaims() {
+        List<ClaimedAdmission> held = List.copyOf(releasing.values());
+        if (held.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RENEW_SQL, held, held.size(), (ps, admission) -> {
+            ps.setInt(1, claimTimeoutSeconds);
+            ps.setLong(2, admission.admissionId);
+            ps.setString(3, nodeName);
+        });
+    }
+
+    // The queue is shared by all nodes, so the local count is resynchronized on every drain
+    private boolean refreshQueueDepth() {
+        try {
+            Integer depth = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+            queueDepth.set(depth != null ? depth : 0);
+        } catch (Exception e) {
+            log.warn("Failed to read admission queue depth", e);
+        }
+        return queueDepth.get() > 0;
+    }
+
+    /**
+     * Outcome of an admission decision.
+     */
+    public class Admission {
+        private final Decision decision;
+        private final String reason;
+        private final boolean overloaded;
+
+        Admission(Decision decision, String reason, boolean overloaded) {
+            this.decision = decision;
+            this.reason = reason;
+            this.overloaded = overloaded;
+        }
+
+        public Decision getDecision() {
+            return decision;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Exception reporting this rejection to a caller.
+         */
+        public AdmissionRejectedException toException() {
+            return new AdmissionRejectedException("Job not admitted: " + reason, overloaded, retryAfterSeconds);
+        }
+    }
+
+    private static class ClaimedAdmission {
+        final long admissionId;
+        final long executionId;
+        final long waitedMillis;
+
+        ClaimedAdmission(long admissionId, long executionId, long waitedMillis) {
+            this.admissionId = admissionId;
+            this.executionId = executionId;
+            this.waitedMillis = waitedMillis;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.batch.core.orchestrator;
+
+/**
+ * A run was not admitted. Overloaded rejections mean the whole orchestrator is saturated;
+ * the others mean this job already has too many runs waiting.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final boolean overloaded;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, boolean overloaded, long retryAfterSeconds) {
+        super(message);
+        this.overloaded = overloaded;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
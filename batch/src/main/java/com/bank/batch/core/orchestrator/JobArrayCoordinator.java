@@ -0,0 +1,403 @@
+package com.bank.batch.core.orchestrator;
+
+import com.bank.batch.core.engine.ExecutionEngine;
+import com.bank.batch.core.model.*;
+import com.bank.batch.core.resource.ResourceWaitQueues;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs job arrays: a job definition with array_size set expands at runtime into that many
+ * indexed instances, at most array_max_parallel at a time. The array is tracked by its one
+ * parent job_execution_history row plus a 2-bit-per-index status bitmap in
+ * job_array_executions; instances get no history, step or checkpoint rows of their own.
+ * Instances see their index as the arrayIndex parameter, so ${arrayIndex} works in script paths.
+ * The orchestrator's reservation for the parent covers one running instance; every further
+ * concurrent instance reserves the job's resources itself, and while the pools are full the
+ * array runs fewer instances in parallel instead of exceeding them.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JobArrayCoordinator {
+
+    public static final String ARRAY_INDEX_PARAMETER = "arrayIndex";
+    public static final String ARRAY_SIZE_PARAMETER = "arraySize";
+
+    // Synthetic instance ids are negative so they never collide with IDENTITY execution ids
+    private static final long MAX_ARRAY_SIZE = 1_000_000;
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int SUCCEEDED = 2;
+    private static final int FAILED = 3;
+    private static final char[] STATE_CODES = {'P', 'R', 'S', 'F'};
+
+    private static final String LOAD_BITMAP_SQL =
+        "SELECT array_size, status_bitmap FROM job_array_executions WHERE execution_id = ?";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO job_array_executions (execution_id, array_size, max_parallel, status_bitmap, " +
+        "pending_count, running_count, succeeded_count, failed_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+        "UPDATE job_array_executions SET array_size = ?, max_parallel = ?, status_bitmap = ?, pending_count = ?, running_count = ?, " +
+        "succeeded_count = ?, failed_count = ?, updated_date = GETUTCDATE() WHERE execution_id = ?";
+
+    private static final String CARRY_OVER_SQL =
+        "INSERT INTO job_array_executions (execution_id, array_size, max_parallel, status_bitmap, " +
+        "pending_count, running_count, succeeded_count, failed_count) " +
+        "SELECT ?, array_size, max_parallel, status_bitmap, pending_count, running_count, succeeded_count, failed_count " +
+        "FROM job_array_executions WHERE execution_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutionEngine executionEngine;
+    private final ResourceWaitQueues resourceWaitQueues;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, ArrayRun> activeArrays = new ConcurrentHashMap<>();
+
+    // Local instances block their dispatching thread until they finish
+    private final ExecutorService instanceLauncher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "job-array");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${batch.orchestrator.job-arrays.status-flush-interval-ms:2000}")
+    private long statusFlushIntervalMs;
+
+    @PreDestroy
+    public void shutdown() {
+        instanceLauncher.shutdownNow();
+    }
+
+    public boolean isArray(JobDefinition job) {
+        return job.getArraySize() != null && job.getArraySize() > 0;
+    }
+
+    /**
+     * Runs every pending index of an array execution and completes with the aggregate result:
+     * successful only if every instance succeeded. A retry only re-runs indexes that did not succeed.
+     *
+     * @param onFirstSuccess called once, when the first instance succeeds
+     */
+    public CompletableFuture<JobExecutionResult> execute(JobDefinition job, JobExecutionHistory parent,
+                                                         Runnable onFirstSuccess) {
+        int size = (int) Math.min(job.getArraySize(), MAX_ARRAY_SIZE);
+        int maxParallel = job.getArrayMaxParallel() != null && job.getArrayMaxParallel() > 0
+            ? job.getArrayMaxParallel() : size;
+
+        ArrayRun run = new ArrayRun(job, parent, size, maxParallel, onFirstSuccess);
+        run.restore();
+        activeArrays.put(parent.getExecutionId(), run);
+
+        log.info("Starting job array {} with {} instances ({} already succeeded), {} in parallel",
+            job.getJobName(), size, run.succeeded, maxParallel);
+        run.begin();
+        return run.outcome;
+    }
+
+    /**
+     * Stops dispatching an array's pending indexes and cancels its running instances.
+     */
+    public boolean cancel(Long executionId) {
+        ArrayRun run = activeArrays.get(executionId);
+        if (run == null) {
+            return false;
+        }
+        run.cancel();
+        return true;
+    }
+
+    /**
+     * Copies an array's index statuses to the execution retrying it.
+     */
+    public void carryOver(Long failedExecutionId, Long retryExecutionId) {
+        jdbcTemplate.update(CARRY_OVER_SQL, retryExecutionId, failedExecutionId);
+    }
+
+    /**
+     * Current status of an array execution, live if it is running on this node, else as last persisted.
+     * Returns null for executions that are not arrays.
+     */
+    public JobArrayStatus getStatus(Long executionId) {
+        ArrayRun run = activeArrays.get(executionId);
+        if (run != null) {
+            return run.snapshot();
+        }
+
+        List<JobArrayStatus> persisted = jdbcTemplate.query(LOAD_BITMAP_SQL,
+            (rs, rowNum) -> toStatus(executionId, rs.getInt("array_size"), rs.getBytes("status_bitmap")),
+            executionId);
+        return persisted.isEmpty() ? null : persisted.get(0);
+    }
+
+    private static long instanceId(Long parentExecutionId, int index) {
+        return -(parentExecutionId * MAX_ARRAY_SIZE + index + 1);
+    }
+
+    private static int stateOf(byte[] bitmap, int index) {
+        return (bitmap[index >> 2] >> ((index & 3) << 1)) & 3;
+    }
+
+    private static void setState(byte[] bitmap, int index, int state) {
+        int shift = (index & 3) << 1;
+        bitmap[index >> 2] = (byte) ((bitmap[index >> 2] & ~(3 << shift)) | (state << shift));
+    }
+
+    private static JobArrayStatus toStatus(Long executionId, int size, byte[] bitmap) {
+        int[] counts = new int[4];
+        char[] states = new char[size];
+        for (int i = 0; i < size; i++) {
+            int state = bitmap != null && (i >> 2) < bitmap.length ? stateOf(bitmap, i) : PENDING;
+            counts[state]++;
+            states[i] = STATE_CODES[state];
+        }
+        return new JobArrayStatus(executionId, size, counts[PENDING], counts[RUNNING],
+            counts[SUCCEEDED], counts[FAILED], new String(states));
+    }
+
+    /**
+     * One running array: dispatches pending indexes up to the parallelism limit as instances finish.
+     */
+    private class ArrayRun {
+        final CompletableFuture<JobExecutionResult> outcome = new CompletableFuture<>();
+        final JobDefinition job;
+        final JobExecutionHistory parent;
+        final int size;
+        final int maxParallel;
+        final Runnable onFirstSuccess;
+        final byte[] bitmap;
+        final Map<Integer, Long> runningInstances = new HashMap<>();
+        // Indexes running on a reservation of their own rather than the parent's
+        final Set<Integer> reservedIndexes = new HashSet<>();
+
+        int nextIndex;
+        int running;
+        int succeeded;
+        int failed;
+        int parentSlotIndex = -1;
+        // Read without the lock by instances about to launch
+        volatile boolean cancelled;
+        boolean firstSuccessSignalled;
+        boolean persisted;
+        long lastFlushNanos;
+
+        ArrayRun(JobDefinition job, JobExecutionHistory parent, int size, int maxParallel, Runnable onFirstSuccess) {
+            this.job = job;
+            this.parent = parent;
+            this.size = size;
+            this.maxParallel = maxParallel;
+            this.onFirstSuccess = onFirstSuccess;
+            this.bitmap = new byte[(size + 3) / 4];
+        }
+
+        // A retry keeps the indexes that already succeeded and re-runs everything else
+        void restore() {
+            List<byte[]> previous = jdbcTemplate.query(LOAD_BITMAP_SQL,
+                (rs, rowNum) -> rs.getInt("array_size") == size ? rs.getBytes("status_bitmap") : null,
+                parent.getExecutionId());
+            if (previous.isEmpty()) {
+                return;
+            }
+
+            persisted = true;
+            byte[] states = previous.get(0);
+            if (states == null) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if ((i >> 2) < states.length && stateOf(states, i) == SUCCEEDED) {
+                    setState(bitmap, i, SUCCEEDED);
+                    succeeded++;
+                }
+            }
+            // Dependents waiting for any instance were already triggered by the failed run
+            firstSuccessSignalled = succeeded > 0;
+        }
+
+        synchronized void begin() {
+            dispatch();
+            flush(true);
+        }
+
+        synchronized void dispatch() {
+            while (!cancelled && running < maxParallel && nextIndex < size) {
+                int index = nextIndex;
+                if (stateOf(bitmap, index) == SUCCEEDED) {
+                    nextIndex++;
+                    continue;
+                }
+
+                // The parent's reservation covers one instance; while it is taken, reserve per instance.
+                // A full pool stops dispatch until a running instance finishes and frees its capacity.
+                boolean ownReservation = parentSlotIndex >= 0;
+                if (ownReservation && !resourceWaitQueues.tryReserve(job)) {
+                    break;
+                }
+                nextIndex++;
+                if (ownReservation) {
+                    reservedIndexes.add(index);
+                } else {
+                    parentSlotIndex = index;
+                }
+                start(index);
+            }
+            completeIfDone();
+        }
+
+        private void releaseSlot(int index) {
+            if (index == parentSlotIndex) {
+                parentSlotIndex = -1;
+            } else if (reservedIndexes.remove(index)) {
+                resourceWaitQueues.release(job);
+            }
+        }
+
+        private void start(int index) {
+            long instanceId = instanceId(parent.getExecutionId(), index);
+            setState(bitmap, index, RUNNING);
+            runningInstances.put(index, instanceId);
+            running++;
+
+            Map<String, Object> parameters = Map.of(ARRAY_INDEX_PARAMETER, index, ARRAY_SIZE_PARAMETER, size);
+            CompletableFuture
+                .supplyAsync(() -> cancelled
+                        ? null
+                        : executionEngine.executeArrayInstanceAsync(job, parent, instanceId, parameters),
+                    instanceLauncher)
+                .thenCompose(instance -> instance != null
+                    ? instance
+                    : CompletableFuture.<JobExecutionResult>completedFuture(null))
+                .whenComplete((result, error) -> {
+                    if (error == null && result == null) {
+                        notStarted(index);
+                    } else {
+                        finished(index, error == null && result.isSuccess());
+                    }
+                });
+        }
+
+        // Cancelled while still queued for launch, before the engine knew of it to cancel it
+        synchronized void notStarted(int index) {
+            runningInstances.remove(index);
+            running--;
+            releaseSlot(index);
+            setState(bitmap, index, PENDING);
+            completeIfDone();
+        }
+
+        void finished(int index, boolean success) {
+            boolean signalFirstSuccess;
+            synchronized (this) {
+                runningInstances.remove(index);
+                running--;
+                releaseSlot(index);
+                setState(bitmap, index, success ? SUCCEEDED : FAILED);
+                if (success) {
+                    succeeded++;
+                } else {
+                    failed++;
+                }
+                meterRegistry.counter("batch.array.instances", "outcome", success ? "success" : "failure").increment();
+
+                signalFirstSuccess = success && !firstSuccessSignalled;
+                firstSuccessSignalled |= success;
+            }
+
+            if (signalFirstSuccess) {
+                try {
+                    onFirstSuccess.run();
+                } catch (Exception e) {
+                    log.error("Failed to signal first successful instance of job array {}", job.getJobName(), e);
+                }
+            }
+
+            synchronized (this) {
+                flush(false);
+                dispatch();
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            log.info("Cancelling job array {} with {} running instances", job.getJobName(), running);
+            for (Long instanceId : runningInstances.values()) {
+                executionEngine.cancelExecution(instanceId);
+            }
+            completeIfDone();
+        }
+
+        synchronized JobArrayStatus snapshot() {
+            return toStatus(parent.getExecutionId(), size, bitmap.clone());
+        }
+
+        private void completeIfDone() {
+            if (running > 0 || (!cancelled && nextIndex < size) || outcome.isDone()) {
+                return;
+            }
+
+            flush(true);
+            activeArrays.remove(parent.getExecutionId());
+
+            JobExecutionResult result = new JobExecutionResult();
+            result.setExecutionId(parent.getExecutionId());
+            result.setJobId(job.getJobId());
+            result.setSuccess(!cancelled && failed == 0);
+            result.setCancelled(cancelled);
+            if (cancelled) {
+                result.setErrorMessage("Job array cancelled with " + (size - succeeded - failed) + " instances not run");
+            } else if (failed > 0) {
+                result.setErrorMessage(failed + " of " + size + " array instances failed");
+            }
+
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("arraySize", size);
+            metrics.put("succeededInstances", succeeded);
+            metrics.put("failedInstances", failed);
+            result.setMetrics(metrics);
+
+            log.info("Job array {} finished: {} succeeded, {} failed of {}", job.getJobName(), succeeded, failed, size);
+            outcome.complete(result);
+        }
+
+        // Status writes are coalesced; the parent row's final status is written by the orchestrator
+        private void flush(boolean force) {
+            long now = System.nanoTime();
+            if (!force && now - lastFlushNanos < TimeUnit.MILLISECONDS.toNanos(statusFlushIntervalMs)) {
+                return;
+            }
+            lastFlushNanos = now;
+
+            int pending = size - running - succeeded - failed;
+            try {
+                if (persisted) {
+                    jdbcTemplate.update(UPDATE_SQL, size, maxParallel, bitmap, pending, running, succeeded, failed, parent.getExecutionId());
+                } else {
+                    jdbcTemplate.update(INSERT_SQL, parent.getExecutionId(), size, maxParallel, bitmap,
+                        pending, running, succeeded, failed);
+                    persisted = true;
+                }
+            } catch (Exception e) {
+                log.error("Failed to persist status of job array execution {}", parent.getExecutionId(), e);
+            }
+        }
+    }
+}
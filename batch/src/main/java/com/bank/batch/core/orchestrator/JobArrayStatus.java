@@ -0,0 +1,25 @@
+package com.bank.batch.core.orchestrator;
+
+import lombok.Value;
+
+/**
+ * Index statuses of a job array execution.
+ */
+@Value
+public class JobArrayStatus {
+
+    Long executionId;
+
+    int size;
+
+    int pending;
+
+    int running;
+
+    int succeeded;
+
+    int failed;
+
+    /** One character per index: P pending, R running, S succeeded, F failed. */
+    String states;
+}
@@ -1,8 +1,16 @@
 package com.bank.batch.core.orchestrator;
 
+import com.bank.batch.core.checkpoint.CheckpointStore;
 import com.bank.batch.core.engine.ExecutionEngine;
+import com.bank.batch.core.event.JobLifecycleEvent;
+import com.bank.batch.core.event.JobLifecyclePipeline;
+import com.bank.batch.core.journal.ExecutionJournal;
 import com.bank.batch.core.model.*;
+import com.bank.batch.core.parameter.ParameterEngine;
+import com.bank.batch.core.readmodel.ExecutionReadModel;
+import com.bank.batch.core.readmodel.ExecutionView;
 import com.bank.batch.core.repository.*;
+import com.bank.batch.core.resource.ResourceWaitQueues;
 import com.bank.batch.core.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,16 +38,29 @@ public class JobOrchestrator {
     private final JobDefinitionRepository jobDefinitionRepository;
     private final JobScheduleRepository jobScheduleRepository;
     private final JobExecutionHistoryRepository executionHistoryRepository;
+    private final ExecutionJournal executionJournal;
     private final JobDependencyRepository dependencyRepository;
     private final DependencyResolver dependencyResolver;
     private final ExecutionEngine executionEngine;
-    private final ResourceManager resourceManager;
+    private final ResourceWaitQueues resourceWaitQueues;
+    private final RetryScheduler retryScheduler;
+    private final ParameterEngine parameterEngine;
+    private final CheckpointStore checkpointStore;
+    private final JobArrayCoordinator jobArrayCoordinator;
+    private final ResultMemoizer resultMemoizer;
+    private final AdmissionController admissionController;
+    private final WorkStealingCoordinator workStealingCoordinator;
+    private final JobLifecyclePipeline lifecyclePipeline;
+    private final ExecutionReadModel executionReadModel;
     private final AlertService alertService;
     private final MeterRegistry meterRegistry;
     private final ExecutorService executorService;
 
     private final Map<Long, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
     private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+    // Accumulated by the pipeline's stage threads only; inline, every event ends its own batch and bypasses them
+    private final List<JobExecutionHistory> outcomeBatch = new ArrayList<>();
+    private final List<Long> succeededJobIds = new ArrayList<>();
     private Counter jobSubmittedCounter;
     private Counter jobCompletedCounter;
     private Counter jobFailedCounter;
@@ -63,6 +84,13 @@ public class JobOrchestrator {
                 .description("Job execution time")
                 .register(meterRegistry);
         
+        // Dependents and retries read the stored outcome, so they run behind persistence; alerts need only the event.
+        // The read model registered its own stage when it was injected here.
+        JobLifecyclePipeline.Stage persistence = lifecyclePipeline.handleEventsWith("persistence", this::persistOutcome);
+        lifecyclePipeline.handleEventsWith("dependencies", this::releaseDependents, persistence);
+        lifecyclePipeline.handleEventsWith("alerts", this::sendAlerts);
+        lifecyclePipeline.start();
+        
         log.info("Job Orchestrator initialized successfully");
     }
 
@@ -117,35 +145,159 @@ public class JobOrchestrator {
             return CompletableFuture.completedFuture(null);
         }
         
-        // Check resource availability
-        if (!resourceManager.checkResourceAvailability(job)) {
-            log.info("Resources not available for job {}", job.getJobName());
+        // Jobs already queued for capacity are woken on release, not by the next poll
+        if (resourceWaitQueues.isWaiting(job.getJobId())) {
+            log.debug("Job {} is already waiting for resources, skipping submission", job.getJobName());
             return CompletableFuture.completedFuture(null);
         }
         
+        // A run with the same inputs as a previous successful one reuses its outputs instead of running
+        String fingerprint = resultMemoizer.fingerprint(job, parameterEngine.defaultInputParameters(job));
+        ResultMemoizer.CachedResult cached = resultMemoizer.lookup(job, fingerprint);
+        if (cached != null) {
+            JobExecutionHistory skipped = createExecutionHistory(job, schedule, "SCHEDULED");
+            completeFromCache(job, skipped, cached);
+            updateNextRunTime(schedule);
+            return CompletableFuture.completedFuture(skipped);
+        }
+        
+        // Start now, park the run in the persisted overflow queue, or leave it due for a later poll
+        AdmissionController.Admission admission = admissionController.decide(job);
+        if (admission.getDecision() == AdmissionController.Decision.REJECTED) {
+            log.warn("Job {} not admitted: {}", job.getJobName(), admission.getReason());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (admission.getDecision() == AdmissionController.Decision.DEFERRED) {
+            JobExecutionHistory deferred = createExecutionHistory(job, schedule, "SCHEDULED");
+            resultMemoizer.track(deferred.getExecutionId(), fingerprint);
+            deferExecution(job, deferred);
+            updateNextRunTime(schedule);
+            return CompletableFuture.completedFuture(deferred);
+        }
+        
+        // Reserve capacity in every required pool, or wait until a release makes room
+        CompletableFuture<Boolean> reservation = resourceWaitQueues.reserve(job);
+        if (reservation.isDone()) {
+            if (!reservation.join()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<JobExecutionHistory> launched;
+            try {
+                launched = launchExecution(job, schedule, fingerprint);
+            } catch (RuntimeException e) {
+                launched = CompletableFuture.failedFuture(e);
+            }
+            return releaseIfNotLaunched(job, launched);
+        }
+        
+        log.info("Resources not available for job {}, waiting for capacity", job.getJobName());
+        return releaseIfNotLaunched(job, reservation
+            .thenApply(reserved -> {
+                // Mark running on the waking thread so the next poll cannot submit it twice
+                if (reserved) {
+                    runningJobs.add(job.getJobId());
+                }
+                return reserved;
+            })
+            .thenComposeAsync(reserved -> reserved
+                ? launchExecution(job, schedule, fingerprint)
+                : CompletableFuture.<JobExecutionHistory>completedFuture(null), executorService));
+    }
+
+    // Once started, a run releases its reservation and running mark itself and completes normally even
+    // if the job fails; a launch that failed, or was rejected by the executor, never took them over
+    private CompletableFuture<JobExecutionHistory> releaseIfNotLaunched(
+            JobDefinition job, CompletableFuture<JobExecutionHistory> launch) {
+        return launch.exceptionally(error -> {
+            log.error("Failed to launch job {}", job.getJobName(), error);
+            runningJobs.remove(job.getJobId());
+            resourceWaitQueues.release(job);
+            return null;
+        });
+    }
+
+    /**
+     * Creates the execution record and runs a job whose resources are already reserved.
+     */
+    private CompletableFuture<JobExecutionHistory> launchExecution(JobDefinition job, JobSchedule schedule, String fingerprint) {
         // Create execution history record
         JobExecutionHistory execution = createExecutionHistory(job, schedule, "SCHEDULED");
+        resultMemoizer.track(execution.getExecutionId(), fingerprint);
         
-        // Submit job for execution
-        CompletableFuture<JobExecutionHistory> future = CompletableFuture.supplyAsync(() -> {
-            Timer.Sample sample = Timer.start(meterRegistry);
-            try {
-                runningJobs.add(job.getJobId());
+        return runExecution(job, schedule, execution);
+    }
+
+    /**
+     * Runs an existing execution record whose resources are already reserved.
+     */
+    private CompletableFuture<JobExecutionHistory> runExecution(
+            JobDefinition job, JobSchedule schedule, JobExecutionHistory execution) {
+        runningJobs.add(job.getJobId());
+        admissionController.admitted(execution.getExecutionId());
+        
+        // While the run waits in the executor queue, an idle node may steal it
+        Long lease = workStealingCoordinator.enqueue(execution.getExecutionId());
+        if (lease == null) {
+            log.info("Execution {} of job {} already started on another node", execution.getExecutionId(), job.getJobName());
+            admissionController.dequeued(execution.getExecutionId());
+            runningJobs.remove(job.getJobId());
+            admissionController.released(execution.getExecutionId());
+            resourceWaitQueues.release(job);
+            return CompletableFuture.completedFuture(execution);
+        }
+        long fence = lease;
+        
+        // Submit job for execution; grid jobs release the executor thread until their callback arrives
+        Timer.Sample sample = Timer.start(meterRegistry);
+        
+        CompletableFuture<JobExecutionHistory> started;
+        try {
+            started = CompletableFuture.supplyAsync(() -> {
+                if (!workStealingCoordinator.start(execution.getExecutionId(), fence)) {
+                    throw new ExecutionStolenException();
+                }
                 jobSubmittedCounter.increment();
+                // Inputs may have changed while the run waited for resources or admission
+                resultMemoizer.started(job, execution);
                 
-                // Update execution status to RUNNING
+                // Update execution status to RUNNING; journaled, so the row may lag until the next flush
                 execution.setStatus(ExecutionStatus.RUNNING);
                 execution.setStartTime(LocalDateTime.now());
-                executionHistoryRepository.save(execution);
-                
-                // Execute the job
-                JobExecutionResult result = executionEngine.executeJob(job, execution);
-                
-                // Update execution history with result
+                executionJournal.save(execution);
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.STARTED, job, execution, null, null);
+                // A run released from the overflow queue keeps its row until now
+                admissionController.dequeued(execution.getExecutionId());
+                return execution;
+            }, executorService);
+            
+        } catch (RejectedExecutionException e) {
+            // The executor filled up despite admission control; park the run instead of losing it
+            log.warn("Executor rejected job {}, deferring execution {}", job.getJobName(), execution.getExecutionId());
+            runningJobs.remove(job.getJobId());
+            admissionController.released(execution.getExecutionId());
+            workStealingCoordinator.release(execution.getExecutionId(), fence);
+            resourceWaitQueues.release(job);
+            updateNextRunTime(schedule);
+            
+            try {
+                deferExecution(job, execution);
+            } catch (AdmissionRejectedException deferFailed) {
+                execution.setStatus(ExecutionStatus.FAILURE);
+                execution.setErrorMessage("Not admitted: executor saturated and overflow queue unavailable");
+                execution.setEndTime(LocalDateTime.now());
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.FAILED, job, execution, null, execution.getErrorMessage());
+            }
+            return CompletableFuture.completedFuture(execution);
+        }
+        
+        CompletableFuture<JobExecutionHistory> future = started
+            .thenCompose(running -> jobArrayCoordinator.isArray(job)
+                ? jobArrayCoordinator.execute(job, running, () -> triggerAnyInstanceDependents(job.getJobId()))
+                : executionEngine.executeJobAsync(job, running))
+            .thenApply(result -> {
+                // Persistence, dependents, retries and alerts are handled off this thread by the lifecycle pipeline
                 updateExecutionHistory(execution, result);
-                
-                // Handle post-execution actions
-                handlePostExecution(job, execution, result);
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.COMPLETED, job, execution, result, null);
                 
                 if (result.isSuccess()) {
                     jobCompletedCounter.increment();
@@ -154,35 +306,104 @@ public class JobOrchestrator {
                 }
                 
                 return execution;
-                
-            } catch (Exception e) {
+            })
+            .exceptionally(error -> {
+                Throwable e = error instanceof CompletionException ? error.getCause() : error;
+                if (e instanceof ExecutionStolenException) {
+                    log.info("Execution {} of job {} was taken over by another node", execution.getExecutionId(), job.getJobName());
+                    resultMemoizer.discard(execution.getExecutionId());
+                    admissionController.abandon(execution.getExecutionId());
+                    return execution;
+                }
                 log.error("Error executing job {}", job.getJobName(), e);
                 execution.setStatus(ExecutionStatus.FAILURE);
                 execution.setErrorMessage(e.getMessage());
                 execution.setEndTime(LocalDateTime.now());
-                executionHistoryRepository.save(execution);
                 jobFailedCounter.increment();
-                
-                // Send failure alert
-                alertService.sendAlert(job, execution, AlertType.FAILURE);
+                lifecyclePipeline.publish(JobLifecycleEvent.Type.FAILED, job, execution, null, e.getMessage());
                 
                 return execution;
-                
-            } finally {
+            })
+            .whenComplete((completed, error) -> {
                 runningJobs.remove(job.getJobId());
+                admissionController.released(execution.getExecutionId());
+                workStealingCoordinator.release(execution.getExecutionId(), fence);
                 sample.stop(jobExecutionTimer);
                 
-                // Release resources
-                resourceManager.releaseResources(job);
+                // Release resources and wake jobs waiting for them
+                resourceWaitQueues.release(job);
                 
                 // Update next run time for schedule
                 updateNextRunTime(schedule);
-            }
-        }, executorService);
+            });
         
         return future;
     }
 
+    /**
+     * Starts an execution released from the admission overflow queue.
+     * Returns false if its job is busy and the execution should stay queued.
+     */
+    public boolean launchDeferred(Long executionId) {
+        JobExecutionHistory execution = executionHistoryRepository.findById(executionId)
+            .map(executionJournal::overlay)
+            .orElse(null);
+        if (execution == null || execution.getStatus() != ExecutionStatus.QUEUED) {
+            admissionController.dequeued(executionId);
+            return true;
+        }
+        
+        JobDefinition job = execution.getJob();
+        if (runningJobs.contains(job.getJobId()) || resourceWaitQueues.isWaiting(job.getJobId())) {
+            return false;
+        }
+        
+        log.info("Releasing deferred execution {} of job {}", executionId, job.getJobName());
+        reserveAndRun(job, execution);
+        return true;
+    }
+
+    /**
+     * Starts an execution stolen from another node's executor queue.
+     * Returns false if it cannot start here; the lease then goes back to the node it was stolen from.
+     */
+    public boolean launchStolen(Long executionId) {
+        JobExecutionHistory execution = executionHistoryRepository.findById(executionId)
+            .map(executionJournal::overlay)
+            .orElse(null);
+        if (execution == null
+                || (execution.getStatus() != ExecutionStatus.PENDING && execution.getStatus() != ExecutionStatus.QUEUED)) {
+            return false;
+        }
+        
+        JobDefinition job = execution.getJob();
+        if (runningJobs.contains(job.getJobId()) || resourceWaitQueues.isWaiting(job.getJobId())) {
+            return false;
+        }
+        
+        reserveAndRun(job, execution);
+        return true;
+    }
+
+    // The schedule's next run time was already advanced on the node that first queued the run
+    private void reserveAndRun(JobDefinition job, JobExecutionHistory execution) {
+        runningJobs.add(job.getJobId());
+        
+        resourceWaitQueues.reserve(job).thenAcceptAsync(reserved -> {
+            if (reserved) {
+                runExecution(job, null, execution);
+            } else {
+                runningJobs.remove(job.getJobId());
+                deferExecution(job, execution);
+            }
+        }, executorService).exceptionally(error -> {
+            log.error("Failed to start execution {}", execution.getExecutionId(), error);
+            runningJobs.remove(job.getJobId());
+            admissionController.abandon(execution.getExecutionId());
+            return null;
+        });
+    }
+
     /**
      * Manually triggers a job execution.
      */
@@ -209,8 +430,34 @@ public class JobOrchestrator {
             execution.setInputParameters(convertToJson(parameters));
         }
         
+        // Reject invalid parameters to the caller instead of failing the execution later
+        parameterEngine.resolve(job, execution.getInputParameters());
+        
+        // Dependency-triggered runs with unchanged inputs reuse the previous outputs; manual runs always execute
+        String fingerprint = "DEPENDENCY".equals(triggeredBy)
+            ? resultMemoizer.fingerprint(job, execution.getInputParameters()) : null;
+        ResultMemoizer.CachedResult cached = resultMemoizer.lookup(job, fingerprint);
+        
+        // Rejections reach the caller before anything is recorded
+        AdmissionController.Admission admission = cached == null ? admissionController.decide(job) : null;
+        if (admission != null && admission.getDecision() == AdmissionController.Decision.REJECTED) {
+            throw admission.toException();
+        }
+        
         execution = executionHistoryRepository.save(execution);
         
+        if (cached != null) {
+            completeFromCache(job, execution, cached);
+            return execution;
+        }
+        resultMemoizer.track(execution.getExecutionId(), fingerprint);
+        
+        if (admission.getDecision() == AdmissionController.Decision.DEFERRED) {
+            deferExecution(job, execution);
+            return execution;
+        }
+        admissionController.admitted(execution.getExecutionId());
+        
         // Submit for execution
         submitJobForExecution(null, execution);
         
@@ -225,6 +472,7 @@ public class JobOrchestrator {
         log.info("Cancel request for execution {} by {}", executionId, cancelledBy);
         
         JobExecutionHistory execution = executionHistoryRepository.findById(executionId)
+            .map(executionJournal::overlay)
             .orElseThrow(() -> new ExecutionNotFoundException("Execution not found: " + executionId));
         
         if (execution.getStatus() != ExecutionStatus.RUNNING) {
@@ -232,34 +480,33 @@ public class JobOrchestrator {
             return false;
         }
         
-        // Request cancellation from execution engine
-        boolean cancelled = executionEngine.cancelExecution(executionId);
+        // Request cancellation from execution engine; arrays cancel their running instances
+        boolean cancelled = jobArrayCoordinator.cancel(executionId) || executionEngine.cancelExecution(executionId);
         
         if (cancelled) {
             execution.setStatus(ExecutionStatus.CANCELLED);
             execution.setEndTime(LocalDateTime.now());
             execution.setErrorMessage("Cancelled by " + cancelledBy);
-            executionHistoryRepository.save(execution);
-            
-            // Send cancellation alert
-            alertService.sendAlert(execution.getJob(), execution, AlertType.CANCELLED);
+            lifecyclePipeline.publish(JobLifecycleEvent.Type.CANCELLED, execution.getJob(), execution, null, cancelledBy);
         }
         
         return cancelled;
     }
 
     /**
-     * Retries a failed job execution.
+     * Retries a failed or timed-out job execution.
      */
     @Transactional
     public JobExecutionHistory retryJob(Long executionId, String retriedBy) {
         log.info("Retry request for execution {} by {}", executionId, retriedBy);
         
         JobExecutionHistory originalExecution = executionHistoryRepository.findById(executionId)
+            .map(executionJournal::overlay)
             .orElseThrow(() -> new ExecutionNotFoundException("Execution not found: " + executionId));
         
-        if (originalExecution.getStatus() != ExecutionStatus.FAILURE) {
-            throw new InvalidRetryException("Can only retry failed executions");
+        if (originalExecution.getStatus() != ExecutionStatus.FAILURE
+                && originalExecution.getStatus() != ExecutionStatus.TIMEOUT) {
+            throw new InvalidRetryException("Can only retry failed or timed-out executions");
         }
         
         JobDefinition job = originalExecution.getJob();
@@ -282,6 +529,12 @@ public class JobOrchestrator {
         
         retryExecution = executionHistoryRepository.save(retryExecution);
         
+        // Resume from the furthest checkpoint the failed run reached instead of starting over
+        checkpointStore.carryOver(originalExecution.getExecutionId(), retryExecution.getExecutionId());
+        if (jobArrayCoordinator.isArray(job)) {
+            jobArrayCoordinator.carryOver(originalExecution.getExecutionId(), retryExecution.getExecutionId());
+        }
+        
         // Submit for execution
         submitJobForExecution(null, retryExecution);
         
@@ -289,10 +542,30 @@ public class JobOrchestrator {
     }
 
     /**
-     * Gets the current status of all running jobs.
+     * Retries a failed execution released from the durable retry queue. Its queue row is removed in
+     * the same transaction that creates the retry execution, so a failure or crash between the two
+     * cannot lead to the execution being retried twice. Returns null if another node owns the retry.
+     */
+    @Transactional
+    public JobExecutionHistory retryQueued(Long executionId, long retryId) {
+        if (!retryScheduler.consume(retryId)) {
+            return null;
+        }
+        return retryJob(executionId, "SYSTEM");
+    }
+
+    /**
+     * Gets the per-index status of a job array execution, or null if the execution is not an array.
+     */
+    public JobArrayStatus getArrayStatus(Long executionId) {
+        return jobArrayCoordinator.getStatus(executionId);
+    }
+
+    /**
+     * Gets the current status of all running jobs, from the read model rather than execution history.
      */
     public List<JobExecutionStatus> getRunningJobs() {
-        return executionHistoryRepository.findByStatus(ExecutionStatus.RUNNING)
+        return executionReadModel.running()
             .stream()
             .map(this::mapToExecutionStatus)
             .collect(Collectors.toList());
@@ -360,47 +633,141 @@ public class JobOrchestrator {
         execution.setCreatedDate(LocalDateTime.now());
         
         // Copy job parameters as input parameters
-        Map<String, String> parameters = jobParameterRepository.findByJobId(job.getJobId())
-            .stream()
-            .collect(Collectors.toMap(
-                JobParameter::getParameterName,
-                JobParameter::getParameterValue
-            ));
+        execution.setInputParameters(parameterEngine.defaultInputParameters(job));
         
-        if (!parameters.isEmpty()) {
-            execution.setInputParameters(convertToJson(parameters));
-        }
-        
-        return executionHistoryRepository.save(execution);
+        execution = executionHistoryRepository.save(execution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.SCHEDULED, job, execution, null, null);
+        return execution;
+    }
+
+    // QUEUED until the admission controller releases it from the overflow queue
+    private void deferExecution(JobDefinition job, JobExecutionHistory execution) {
+        execution.setStatus(ExecutionStatus.QUEUED);
+        executionHistoryRepository.save(execution);
+        admissionController.defer(job, execution);
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.QUEUED, job, execution, null, null);
+    }
+
+    // Recorded as SKIPPED-CACHED: skipped, with the cached run's outputs; stored and released by the pipeline
+    private void completeFromCache(JobDefinition job, JobExecutionHistory execution, ResultMemoizer.CachedResult cached) {
+        log.info("Skipping job {}: inputs unchanged since successful execution {}",
+            job.getJobName(), cached.getExecutionId());
+        
+        LocalDateTime now = LocalDateTime.now();
+        execution.setStatus(ExecutionStatus.SKIPPED);
+        execution.setStartTime(now);
+        execution.setEndTime(now);
+        execution.setOutputParameters(cached.getOutputParameters());
+        execution.setWarningMessage("SKIPPED-CACHED: inputs identical to execution " + cached.getExecutionId());
+        lifecyclePipeline.publish(JobLifecycleEvent.Type.SKIPPED, job, execution, null, null);
     }
 
     private void updateExecutionHistory(JobExecutionHistory execution, JobExecutionResult result) {
-        execution.setStatus(result.isSuccess() ? ExecutionStatus.SUCCESS : ExecutionStatus.FAILURE);
+        if (result.isCancelled()) {
+            // Keeps the operator's cancellation and its reason rather than the interrupted run's error
+            String reason = execution.getStatus() == ExecutionStatus.CANCELLED ? execution.getErrorMessage() : null;
+            execution.setStatus(ExecutionStatus.CANCELLED);
+            execution.setErrorMessage(reason != null ? reason : result.getErrorMessage());
+        } else {
+            execution.setStatus(result.isTimedOut() ? ExecutionStatus.TIMEOUT
+                : result.isSuccess() ? ExecutionStatus.SUCCESS : ExecutionStatus.FAILURE);
+            execution.setErrorMessage(result.getErrorMessage());
+        }
         execution.setEndTime(LocalDateTime.now());
-        execution.setErrorMessage(result.getErrorMessage());
         execution.setWarningMessage(result.getWarningMessage());
         execution.setOutputParameters(result.getOutputParameters());
         execution.setLogFilePath(result.getLogFilePath());
+    }
+
+    // Lifecycle stage: stores the outcome of ended runs, batched into one journal group commit
+    private void persistOutcome(JobLifecycleEvent event, boolean endOfBatch) {
+        if (event.isTerminal()) {
+            JobExecutionHistory execution = event.getExecution();
+            if (event.getType() == JobLifecycleEvent.Type.COMPLETED) {
+                resultMemoizer.complete(event.getJob(), execution, event.isSuccess());
+            } else {
+                resultMemoizer.discard(execution.getExecutionId());
+            }
+            
+            if (endOfBatch && outcomeBatch.isEmpty()) {
+                executionJournal.save(execution);
+                return;
+            }
+            outcomeBatch.add(execution);
+        }
         
-        executionHistoryRepository.save(execution);
+        if (endOfBatch && !outcomeBatch.isEmpty()) {
+            executionJournal.saveAll(outcomeBatch);
+            outcomeBatch.clear();
+        }
     }
 
-    private void handlePostExecution(JobDefinition job, JobExecutionHistory execution, JobExecutionResult result) {
-        // Send alerts based on configuration
-        if (result.isSuccess() && job.isAlertOnSuccess()) {
-            alertService.sendAlert(job, execution, AlertType.SUCCESS);
-        } else if (!result.isSuccess() && job.isAlertOnFailure()) {
-            alertService.sendAlert(job, execution, AlertType.FAILURE);
+    // Lifecycle stage: triggers dependents of successful and skipped runs and schedules retries of failed ones
+    private void releaseDependents(JobLifecycleEvent event, boolean endOfBatch) {
+        Long succeededJobId = null;
+        if (event.getType() == JobLifecycleEvent.Type.SKIPPED) {
+            succeededJobId = event.getJob().getJobId();
+        } else if (event.getType() == JobLifecycleEvent.Type.COMPLETED) {
+            JobDefinition job = event.getJob();
+            JobExecutionHistory execution = event.getExecution();
+            
+            if (event.isSuccess()) {
+                checkpointStore.clear(execution.getExecutionId());
+                succeededJobId = job.getJobId();
+            } else if (!event.getResult().isCancelled() && execution.getRetryCount() < job.getMaxRetryCount()) {
+                // A cancelled run stays cancelled; only runs that failed on their own are retried
+                retryScheduler.schedule(job, execution);
+            }
         }
         
-        // Trigger dependent jobs if successful
-        if (result.isSuccess()) {
-            triggerDependentJobs(job.getJobId());
+        if (succeededJobId != null) {
+            // Inline, every event ends its own batch and may run on many threads at once; acting on it
+            // directly keeps the shared list to the stage thread
+            if (endOfBatch && succeededJobIds.isEmpty()) {
+                triggerDependentsAsync(List.of(succeededJobId));
+                return;
+            }
+            succeededJobIds.add(succeededJobId);
         }
         
-        // Check for automatic retry on failure
-        if (!result.isSuccess() && execution.getRetryCount() < job.getMaxRetryCount()) {
-            scheduleRetry(job, execution);
+        if (endOfBatch && !succeededJobIds.isEmpty()) {
+            List<Long> jobIds = List.copyOf(succeededJobIds);
+            succeededJobIds.clear();
+            triggerDependentsAsync(jobIds);
+        }
+    }
+
+    // Triggering publishes SCHEDULED into the ring, which must never happen on a stage thread:
+    // with the ring full, the stage would wait for space only it can free
+    private void triggerDependentsAsync(List<Long> jobIds) {
+        executorService.execute(() -> {
+            try {
+                // Dependency checks read the database, which may lag the journal
+                executionJournal.flush();
+                jobIds.forEach(this::triggerDependentJobs);
+            } catch (Exception e) {
+                log.error("Failed to trigger dependents of jobs {}", jobIds, e);
+            }
+        });
+    }
+
+    // Lifecycle stage: alerts on ended runs as each job is configured
+    private void sendAlerts(JobLifecycleEvent event, boolean endOfBatch) {
+        JobDefinition job = event.getJob();
+        JobExecutionHistory execution = event.getExecution();
+        
+        switch (event.getType()) {
+            case COMPLETED -> {
+                if (event.isSuccess() && job.isAlertOnSuccess()) {
+                    alertService.sendAlert(job, execution, AlertType.SUCCESS);
+                } else if (!event.isSuccess() && job.isAlertOnFailure()) {
+                    alertService.sendAlert(job, execution, AlertType.FAILURE);
+                }
+            }
+            case FAILED -> alertService.sendAlert(job, execution, AlertType.FAILURE);
+            case CANCELLED -> alertService.sendAlert(job, execution, AlertType.CANCELLED);
+            default -> {
+            }
         }
     }
 
@@ -408,6 +775,9 @@ public class JobOrchestrator {
         List<JobDependency> dependencies = dependencyRepository.findDependentJobs(jobId);
         
         for (JobDependency dependency : dependencies) {
+            if (isAnyInstanceDependency(dependency)) {
+                continue;
+            }
             if (dependency.isActive() && dependencyResolver.checkDependencies(dependency.getJobId())) {
                 log.info("Triggering dependent job {} after completion of {}", 
                     dependency.getJob().getJobName(), jobId);
@@ -417,15 +787,20 @@ public class JobOrchestrator {
         }
     }
 
-    private void scheduleRetry(JobDefinition job, JobExecutionHistory execution) {
-        int retryDelay = job.getRetryIntervalSeconds();
-        
-        log.info("Scheduling retry for job {} in {} seconds", job.getJobName(), retryDelay);
-        
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        scheduler.schedule(() -> {
-            retryJob(execution.getExecutionId(), "SYSTEM");
-        }, retryDelay, TimeUnit.SECONDS);
+    // ANY_INSTANCE dependents of a job array start as soon as one of its instances succeeded
+    private void triggerAnyInstanceDependents(Long jobId) {
+        for (JobDependency dependency : dependencyRepository.findDependentJobs(jobId)) {
+            if (dependency.isActive() && isAnyInstanceDependency(dependency)) {
+                log.info("Triggering dependent job {} after first successful instance of array {}",
+                    dependency.getJob().getJobName(), jobId);
+                
+                triggerJob(dependency.getJobId(), "DEPENDENCY", null);
+            }
+        }
+    }
+
+    private boolean isAnyInstanceDependency(JobDependency dependency) {
+        return "ANY_INSTANCE".equals(String.valueOf(dependency.getDependencyType()));
     }
 
     private void updateNextRunTime(JobSchedule schedule) {
@@ -437,10 +812,10 @@ public class JobOrchestrator {
         }
     }
 
-    private JobExecutionStatus mapToExecutionStatus(JobExecutionHistory execution) {
+    private JobExecutionStatus mapToExecutionStatus(ExecutionView execution) {
         return JobExecutionStatus.builder()
             .executionId(execution.getExecutionId())
-            .jobName(execution.getJob().getJobName())
+            .jobName(execution.getJobName())
             .status(execution.getStatus())
             .startTime(execution.getStartTime())
             .runningTimeSeconds(calculateRunningTime(execution.getStartTime()))
@@ -464,4 +839,11 @@ public class JobOrchestrator {
             return "{}";
         }
     }
-}
\ No newline at end of file
+
+    // Thrown on the node that lost an execution to work stealing, before it starts
+    private static class ExecutionStolenException extends RuntimeException {
+        ExecutionStolenException() {
+            super("Execution was taken over by another node", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.bank.batch.core.orchestrator;
+
+import com.bank.batch.core.model.*;
+import com.bank.batch.core.parameter.CommandTemplate;
+import com.bank.batch.core.parameter.ParameterEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Opt-in result memoization for jobs with memoize_results set.
+ * An execution's fingerprint covers the job version, its resolved parameters and the size and
+ * modification time (or content hash) of its declared input files. A run whose fingerprint
+ * matches a previous successful run is skipped and reuses that run's output parameters.
+ * Jobs with neither parameters nor declared inputs are never memoized: their fingerprint would only
+ * cover the job version, so every run for max-age-days would be skipped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ResultMemoizer {
+
+    private static final String LOOKUP_SQL =
+        "SELECT TOP 1 execution_id, output_parameters FROM job_result_cache WHERE job_id = ? AND fingerprint = ? " +
+        "AND created_date > DATEADD(DAY, -?, GETUTCDATE())";
+
+    private static final String RECORD_HIT_SQL =
+        "UPDATE job_result_cache SET hit_count = hit_count + 1, last_hit_date = GETUTCDATE() WHERE job_id = ? AND fingerprint = ?";
+
+    private static final String STORE_SQL =
+        "MERGE job_result_cache AS target USING (SELECT ? AS job_id, ? AS fingerprint) AS source " +
+        "ON target.job_id = source.job_id AND target.fingerprint = source.fingerprint " +
+        "WHEN MATCHED THEN UPDATE SET execution_id = ?, output_parameters = ?, created_date = GETUTCDATE(), hit_count = 0 " +
+        "WHEN NOT MATCHED THEN INSERT (job_id, fingerprint, execution_id, output_parameters) VALUES (?, ?, ?, ?);";
+
+    private static final String EVICT_EXPIRED_SQL =
+        "DELETE FROM job_result_cache WHERE created_date < DATEADD(DAY, -?, GETUTCDATE())";
+
+    private static final String EVICT_EXCESS_SQL =
+        "WITH ranked AS (SELECT ROW_NUMBER() OVER (PARTITION BY job_id ORDER BY created_date DESC) AS rn " +
+        "FROM job_result_cache) DELETE FROM ranked WHERE rn > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ParameterEngine parameterEngine;
+    private final MeterRegistry meterRegistry;
+
+    // Fingerprints of running executions, stored once they succeed
+    private final Map<Long, String> pendingFingerprints = new ConcurrentHashMap<>();
+
+    @Value("${batch.orchestrator.memoization.max-age-days:7}")
+    private int maxAgeDays;
+
+    @Value("${batch.orchestrator.memoization.max-entries-per-job:100}")
+    private int maxEntriesPerJob;
+
+    // Content hashes catch rewrites that keep size and mtime, at the cost of reading every input
+    @Value("${batch.orchestrator.memoization.hash-inputs:false}")
+    private boolean hashInputs;
+
+    /**
+     * Fingerprint of a run of a memoized job with the given input parameters, or null if the job
+     * is not memoized or its inputs cannot be fingerprinted (invalid parameters, missing input file,
+     * or no parameters and no input files at all).
+     */
+    public String fingerprint(JobDefinition job, String inputParametersJson) {
+        if (!job.isMemoizeResults()) {
+            return null;
+        }
+
+        try {
+            Map<String, Object> parameters = new TreeMap<>(parameterEngine.resolve(job, inputParametersJson).getValues());
+            List<Path> inputs = resolveInputs(job, parameters);
+            if (parameters.isEmpty() && inputs.isEmpty()) {
+                log.debug("Not memoizing run of job {}: no parameters or input files to fingerprint", job.getJobName());
+                return null;
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, "job:" + job.getJobId() + ":" + job.getVersion());
+            parameters.forEach((name, value) -> update(digest, "param:" + name + "=" + value));
+
+            for (Path input : inputs) {
+                BasicFileAttributes attributes = Files.readAttributes(input, BasicFileAttributes.class);
+                update(digest, "file:" + input + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                if (hashInputs) {
+                    try (InputStream in = Files.newInputStream(input)) {
+                        byte[] buffer = new byte[65536];
+                        for (int read; (read = in.read(buffer)) > 0; ) {
+                            digest.update(buffer, 0, read);
+                        }
+                    }
+                }
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+
+        } catch (Exception e) {
+            log.debug("Not memoizing run of job {}: {}", job.getJobName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Previous successful run with the same fingerprint, or null.
+     */
+    public CachedResult lookup(JobDefinition job, String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+
+        List<CachedResult> cached = jdbcTemplate.query(LOOKUP_SQL,
+            (rs, rowNum) -> new CachedResult(rs.getLong("execution_id"), rs.getString("output_parameters")),
+            job.getJobId(), fingerprint, maxAgeDays);
+
+        if (cached.isEmpty()) {
+            meterRegistry.counter("batch.memoization.lookups", "result", "miss").increment();
+            return null;
+        }
+
+        jdbcTemplate.update(RECORD_HIT_SQL, job.getJobId(), fingerprint);
+        meterRegistry.counter("batch.memoization.lookups", "result", "hit").increment();
+        return cached.get(0);
+    }
+
+    /**
+     * Remembers the fingerprint of an execution that is about to run.
+     */
+    public void track(Long executionId, String fingerprint) {
+        if (fingerprint != null) {
+            pendingFingerprints.put(executionId, fingerprint);
+        }
+    }
+
+    /**
+     * Recomputes a tracked execution's fingerprint as its run starts, so its result is cached under
+     * the inputs it actually ran with rather than those seen before a resource wait or deferral.
+     */
+    public void started(JobDefinition job, JobExecutionHistory execution) {
+        if (!pendingFingerprints.containsKey(execution.getExecutionId())) {
+            return;
+        }
+
+        String fingerprint = fingerprint(job, execution.getInputParameters());
+        if (fingerprint != null) {
+            pendingFingerprints.put(execution.getExecutionId(), fingerprint);
+        } else {
+            pendingFingerprints.remove(execution.getExecutionId());
+        }
+    }
+
+    /**
+     * Caches a tracked execution's outputs if it succeeded.
+     */
+    public void complete(JobDefinition job, JobExecutionHistory execution, boolean success) {
+        String fingerprint = pendingFingerprints.remove(execution.getExecutionId());
+        if (fingerprint == null || !success) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(STORE_SQL, job.getJobId(), fingerprint,
+                execution.getExecutionId(), execution.getOutputParameters(),
+                job.getJobId(), fingerprint, execution.getExecutionId(), execution.getOutputParameters());
+        } catch (Exception e) {
+            log.error("Failed to cache result of execution {}", execution.getExecutionId(), e);
+        }
+    }
+
+    /**
+     * Forgets a tracked execution that ended without a result.
+     */
+    public void discard(Long executionId) {
+        pendingFingerprints.remove(executionId);
+    }
+
+    /**
+     * Evicts cached results past the maximum age and beyond the per-job limit, newest kept.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.memoization.eviction-interval-ms:3600000}")
+    public void evict() {
+        try {
+            int expired = jdbcTemplate.update(EVICT_EXPIRED_SQL, maxAgeDays);
+            int excess = jdbcTemplate.update(EVICT_EXCESS_SQL, maxEntriesPerJob);
+            if (expired + excess > 0) {
+                log.info("Evicted {} expired and {} excess cached job results", expired, excess);
+            }
+        } catch (Exception e) {
+            log.error("Failed to evict cached job results", e);
+        }
+    }
+
+    // Declared inputs are separated by ';' or newlines; a directory stands for the regular files directly in it
+    private List<Path> resolveInputs(JobDefinition job, Map<String, Object> parameters) throws Exception {
+        List<Path> inputs = new ArrayList<>();
+        if (job.getMemoizeInputPaths() == null) {
+            return inputs;
+        }
+
+        for (String declared : job.getMemoizeInputPaths().split("[;\\n]")) {
+            if (declared.isBlank()) {
+                continue;
+            }
+            Path path = Paths.get(CommandTemplate.compile(declared.trim()).render(parameters));
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(inputs::add);
+                }
+            } else {
+                inputs.add(path);
+            }
+        }
+        return inputs;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * A previous successful execution whose outputs a skipped run reuses.
+     */
+    public static class CachedResult {
+        private final Long executionId;
+        private final String outputParameters;
+
+        CachedResult(Long executionId, String outputParameters) {
+            this.executionId = executionId;
+            this.outputParameters = outputParameters;
+        }
+
+        public Long getExecutionId() {
+            return executionId;
+        }
+
+        public String getOutputParameters() {
+            return outputParameters;
+        }
+    }
+}
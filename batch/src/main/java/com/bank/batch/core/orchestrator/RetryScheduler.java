@@ -0,0 +1,201 @@
+package com.bank.batch.core.orchestrator;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single scheduler for automatic retries of failed executions.
+ * Pending retries are persisted in job_retry_queue so they survive restarts and are shared
+ * by all orchestrator nodes. Delays grow exponentially from the job's retry interval with
+ * jitter, and due retries are released in bounded waves so a mass failure does not come
+ * back as a thundering herd.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RetryScheduler {
+
+    private static final String ENQUEUE_SQL =
+        "INSERT INTO job_retry_queue (execution_id, job_id, due_time) VALUES (?, ?, DATEADD(SECOND, ?, GETUTCDATE()))";
+
+    // Claims the oldest due retries; READPAST lets other nodes claim a different wave concurrently
+    private static final String CLAIM_SQL =
+        "WITH due AS (SELECT TOP (?) * FROM job_retry_queue WITH (UPDLOCK, READPAST, ROWLOCK) " +
+        "  WHERE due_time <= GETUTCDATE() AND (claimed_until IS NULL OR claimed_until < GETUTCDATE()) " +
+        "  ORDER BY due_time) " +
+        "UPDATE due SET claimed_by = ?, claimed_until = DATEADD(SECOND, ?, GETUTCDATE()), " +
+        "delivery_attempts = delivery_attempts + 1 " +
+        "OUTPUT inserted.retry_id, inserted.execution_id, inserted.delivery_attempts";
+
+    private static final String DELETE_SQL = "DELETE FROM job_retry_queue WHERE retry_id = ?";
+
+    private static final String CONSUME_SQL = "DELETE FROM job_retry_queue WHERE retry_id = ? AND claimed_by = ?";
+
+    private static final String DEFER_SQL =
+        "UPDATE job_retry_queue SET claimed_by = NULL, claimed_until = NULL, " +
+        "due_time = DATEADD(SECOND, ?, GETUTCDATE()) WHERE retry_id = ?";
+
+    private static final String COUNT_PENDING_SQL = "SELECT COUNT(*) FROM job_retry_queue";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<JobOrchestrator> jobOrchestrator;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+
+    @Value("${batch.orchestrator.retry.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${batch.orchestrator.retry.wave-size:50}")
+    private int waveSize;
+
+    @Value("${batch.orchestrator.retry.claim-timeout-seconds:300}")
+    private int claimTimeoutSeconds;
+
+    @Value("${batch.orchestrator.retry.max-delivery-attempts:3}")
+    private int maxDeliveryAttempts;
+
+    private String nodeName;
+    private Counter scheduledCounter;
+    private Counter releasedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        try {
+            nodeName = InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        } catch (Exception e) {
+            nodeName = "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        this.scheduledCounter = Counter.builder("batch.retry.scheduled")
+                .description("Automatic retries queued")
+                .register(meterRegistry);
+
+        this.releasedCounter = Counter.builder("batch.retry.released")
+                .description("Automatic retries released for execution")
+                .register(meterRegistry);
+
+        this.droppedCounter = Counter.builder("batch.retry.dropped")
+                .description("Automatic retries abandoned after repeated delivery failures")
+                .register(meterRegistry);
+
+        Gauge.builder("batch.retry.pending", pendingRetries, AtomicInteger::get)
+                .description("Retries waiting in the durable queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an automatic retry of a failed execution.
+     * Queuing the same execution twice is a no-op.
+     */
+    public void schedule(JobDefinition job, JobExecutionHistory execution) {
+        long delaySeconds = computeDelaySeconds(job.getRetryIntervalSeconds(), execution.getRetryCount());
+
+        try {
+            jdbcTemplate.update(ENQUEUE_SQL, execution.getExecutionId(), job.getJobId(), delaySeconds);
+            scheduledCounter.increment();
+            log.info("Scheduled retry {} of job {} in {} seconds",
+                execution.getRetryCount() + 1, job.getJobName(), delaySeconds);
+
+        } catch (DuplicateKeyException e) {
+            log.debug("Retry for execution {} already queued", execution.getExecutionId());
+        }
+    }
+
+    /**
+     * Releases one wave of due retries. Each node releases at most a wave per interval.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.retry.wave-interval-ms:5000}")
+    public void releaseDueRetries() {
+        try {
+            List<ClaimedRetry> wave = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new ClaimedRetry(rs.getLong("retry_id"), rs.getLong("execution_id"),
+                    rs.getInt("delivery_attempts")),
+                waveSize, nodeName, claimTimeoutSeconds);
+
+            for (ClaimedRetry retry : wave) {
+                release(retry);
+            }
+
+            if (!wave.isEmpty()) {
+                log.info("Released wave of {} retries", wave.size());
+            }
+
+            Integer pending = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Integer.class);
+            pendingRetries.set(pending != null ? pending : 0);
+
+        } catch (Exception e) {
+            log.error("Failed to release due retries", e);
+        }
+    }
+
+    /**
+     * Base interval doubled per previous retry, capped, with equal jitter: the delay is
+     * at least half the backoff and spread uniformly over the other half.
+     */
+    long computeDelaySeconds(int retryIntervalSeconds, int retryCount) {
+        long base = Math.max(1, retryIntervalSeconds);
+        long backoff = Math.min(maxBackoffSeconds, base << Math.min(retryCount, 20));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    /**
+     * Removes a retry this node claimed, inside the caller's transaction.
+     * Returns false if the claim lapsed and another node took the retry over.
+     */
+    boolean consume(long retryId) {
+        return jdbcTemplate.update(CONSUME_SQL, retryId, nodeName) == 1;
+    }
+
+    private void release(ClaimedRetry retry) {
+        try {
+            if (jobOrchestrator.getObject().retryQueued(retry.executionId, retry.retryId) != null) {
+                releasedCounter.increment();
+            } else {
+                log.info("Retry of execution {} was taken over by another node", retry.executionId);
+            }
+
+        } catch (Exception e) {
+            if (retry.deliveryAttempts >= maxDeliveryAttempts) {
+                log.error("Giving up automatic retry of execution {} after {} attempts",
+                    retry.executionId, retry.deliveryAttempts, e);
+                jdbcTemplate.update(DELETE_SQL, retry.retryId);
+                droppedCounter.increment();
+            } else {
+                log.warn("Automatic retry of execution {} failed, deferring", retry.executionId, e);
+                jdbcTemplate.update(DEFER_SQL, claimTimeoutSeconds, retry.retryId);
+            }
+        }
+    }
+
+    private static class ClaimedRetry {
+        private final long retryId;
+        private final long executionId;
+        private final int deliveryAttempts;
+
+        ClaimedRetry(long retryId, long executionId, int deliveryAttempts) {
+            this.retryId = retryId;
+            this.executionId = executionId;
+            this.deliveryAttempts = deliveryAttempts;
+        }
+    }
+}
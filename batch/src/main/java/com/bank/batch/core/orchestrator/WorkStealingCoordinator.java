@@ -0,0 +1,259 @@
+package com.bank.batch.core.orchestrator;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Cross-node work stealing for executions queued on a busy node's local executor.
+ * Each queued execution holds a lease in job_execution_leases with its owner node and a fence
+ * token. An idle node steals a lease by taking ownership and incrementing the fence; an
+ * execution only starts if its fence still matches, so the node it was stolen from drops it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WorkStealingCoordinator {
+
+    // Leases that already started are never taken over again
+    private static final String ENQUEUE_SQL =
+        "MERGE job_execution_leases AS target USING (SELECT ? AS execution_id) AS source " +
+        "ON target.execution_id = source.execution_id " +
+        "WHEN MATCHED AND target.state = 'QUEUED' THEN UPDATE SET owner_node = ?, fence = target.fence + 1, " +
+        "  queued_at = GETUTCDATE() " +
+        "WHEN NOT MATCHED THEN INSERT (execution_id, owner_node, fence, state) VALUES (source.execution_id, ?, 1, 'QUEUED') " +
+        "OUTPUT inserted.fence;";
+
+    private static final String START_SQL =
+        "UPDATE job_execution_leases SET state = 'STARTED', started_at = GETUTCDATE() " +
+        "WHERE execution_id = ? AND owner_node = ? AND fence = ? AND state = 'QUEUED'";
+
+    private static final String RELEASE_SQL =
+        "DELETE FROM job_execution_leases WHERE execution_id = ? AND owner_node = ? AND fence = ?";
+
+    // Victims are nodes loaded well above this one, or nodes that stopped reporting load at all
+    private static final String STEAL_SQL =
+        "WITH victims AS (SELECT TOP (?) l.* FROM job_execution_leases l WITH (UPDLOCK, READPAST, ROWLOCK) " +
+        "  LEFT JOIN orchestrator_node_load n ON n.node_name = l.owner_node " +
+        "  WHERE l.state = 'QUEUED' AND l.owner_node <> ? " +
+        "  AND l.queued_at < DATEADD(MILLISECOND, -?, GETUTCDATE()) " +
+        "  AND (n.node_name IS NULL OR n.reported_at < DATEADD(SECOND, -?, GETUTCDATE()) OR n.utilization >= ?) " +
+        "  ORDER BY n.utilization DESC, l.queued_at) " +
+        "UPDATE victims SET owner_node = ?, fence = fence + 1, queued_at = GETUTCDATE() " +
+        "OUTPUT inserted.execution_id, inserted.fence, deleted.owner_node AS victim, deleted.fence AS victim_fence";
+
+    // Gives a stolen lease back unchanged, so the victim's fence matches again when its run comes up
+    private static final String GIVE_BACK_SQL =
+        "UPDATE job_execution_leases SET owner_node = ?, fence = ? " +
+        "WHERE execution_id = ? AND owner_node = ? AND fence = ? AND state = 'QUEUED'";
+
+    private static final String REPORT_LOAD_SQL =
+        "MERGE orchestrator_node_load AS target USING (SELECT ? AS node_name) AS source " +
+        "ON target.node_name = source.node_name " +
+        "WHEN MATCHED THEN UPDATE SET utilization = ?, queued = ?, reported_at = GETUTCDATE() " +
+        "WHEN NOT MATCHED THEN INSERT (node_name, utilization, queued) VALUES (source.node_name, ?, ?);";
+
+    private static final String LOAD_SPREAD_SQL =
+        "SELECT MAX(utilization) - MIN(utilization) FROM orchestrator_node_load " +
+        "WHERE reported_at > DATEADD(SECOND, -?, GETUTCDATE())";
+
+    private static final String EXPIRE_NODES_SQL =
+        "DELETE FROM orchestrator_node_load WHERE reported_at < DATEADD(HOUR, -1, GETUTCDATE())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<JobOrchestrator> jobOrchestrator;
+    private final AdmissionController admissionController;
+    private final ExecutorService executorService;
+    private final MeterRegistry meterRegistry;
+
+    private volatile double imbalance;
+
+    @Value("${batch.orchestrator.work-stealing.enabled:false}")
+    private boolean enabled;
+
+    // Executions queued for less than this are left to their own node
+    @Value("${batch.orchestrator.work-stealing.min-queued-ms:5000}")
+    private long minQueuedMillis;
+
+    // A victim must be at least this much more utilized than the thief
+    @Value("${batch.orchestrator.work-stealing.imbalance-threshold:0.25}")
+    private double imbalanceThreshold;
+
+    @Value("${batch.orchestrator.work-stealing.max-steal-batch:10}")
+    private int maxStealBatch;
+
+    @Value("${batch.orchestrator.work-stealing.node-timeout-seconds:60}")
+    private int nodeTimeoutSeconds;
+
+    private String nodeName;
+
+    @PostConstruct
+    public void init() {
+        try {
+            nodeName = InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        } catch (Exception e) {
+            nodeName = "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        if (enabled) {
+            Gauge.builder("batch.worksteal.utilization", this, WorkStealingCoordinator::utilization)
+                    .description("Local execution utilization of this node; above 1 means executions are queued")
+                    .register(meterRegistry);
+
+            Gauge.builder("batch.worksteal.imbalance", this, coordinator -> coordinator.imbalance)
+                    .description("Spread between the most and least utilized live nodes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records this node as the owner of an execution about to be queued locally.
+     * Returns the fence token to pass to {@link #start}, or null if the execution already
+     * started elsewhere; always 0 when work stealing is disabled.
+     */
+    public Long enqueue(Long executionId) {
+        if (!enabled) {
+            return 0L;
+        }
+
+        List<Long> fence = jdbcTemplate.queryForList(ENQUEUE_SQL, Long.class, executionId, nodeName, nodeName);
+        return fence.isEmpty() ? null : fence.get(0);
+    }
+
+    /**
+     * Marks a queued execution started. False if it was stolen since it was queued.
+     */
+    public boolean start(Long executionId, long fence) {
+        if (!enabled) {
+            return true;
+        }
+
+        if (jdbcTemplate.update(START_SQL, executionId, nodeName, fence) == 1) {
+            return true;
+        }
+        meterRegistry.counter("batch.worksteal.lost").increment();
+        return false;
+    }
+
+    /**
+     * Drops this node's lease on an execution that finished or will not run here.
+     */
+    public void release(Long executionId, long fence) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(RELEASE_SQL, executionId, nodeName, fence);
+        } catch (Exception e) {
+            log.warn("Failed to release lease on execution {}", executionId, e);
+        }
+    }
+
+    /**
+     * Reports this node's load and, while it has idle capacity, steals queued executions
+     * from busier or unresponsive nodes.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.work-stealing.interval-ms:2000}")
+    public void stealWork() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            double utilization = utilization();
+            jdbcTemplate.update(REPORT_LOAD_SQL, nodeName, utilization, queuedLocally(), utilization, queuedLocally());
+            Double spread = jdbcTemplate.queryForObject(LOAD_SPREAD_SQL, Double.class, nodeTimeoutSeconds);
+            imbalance = spread != null ? spread : 0;
+
+            int idle = Math.min(idleThreads(), maxStealBatch);
+            if (idle <= 0 || !admissionController.hasCapacity()) {
+                return;
+            }
+
+            List<StolenLease> stolen = jdbcTemplate.query(STEAL_SQL,
+                (rs, rowNum) -> new StolenLease(rs.getLong("execution_id"), rs.getLong("fence"), rs.getString("victim"),
+                    rs.getLong("victim_fence")),
+                idle, nodeName, minQueuedMillis, nodeTimeoutSeconds, utilization + imbalanceThreshold, nodeName);
+
+            for (StolenLease lease : stolen) {
+                log.info("Stole execution {} from node {}", lease.executionId, lease.victim);
+                meterRegistry.counter("batch.worksteal.stolen").increment();
+                if (!jobOrchestrator.getObject().launchStolen(lease.executionId)) {
+                    giveBack(lease);
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("Error stealing work from other nodes", e);
+        }
+    }
+
+    // The victim still has the run queued; deleting the lease would make it drop the run on start
+    private void giveBack(StolenLease lease) {
+        try {
+            jdbcTemplate.update(GIVE_BACK_SQL, lease.victim, lease.victimFence, lease.executionId, nodeName, lease.fence);
+            meterRegistry.counter("batch.worksteal.returned").increment();
+        } catch (Exception e) {
+            log.warn("Failed to return lease on execution {} to node {}", lease.executionId, lease.victim, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batch.orchestrator.work-stealing.node-expiry-interval-ms:3600000}")
+    public void expireNodes() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(EXPIRE_NODES_SQL);
+        } catch (Exception e) {
+            log.warn("Failed to expire stale node load reports", e);
+        }
+    }
+
+    private double utilization() {
+        if (!(executorService instanceof ThreadPoolExecutor pool)) {
+            return 0;
+        }
+        return (double) (pool.getActiveCount() + pool.getQueue().size()) / pool.getMaximumPoolSize();
+    }
+
+    private int idleThreads() {
+        if (!(executorService instanceof ThreadPoolExecutor pool)) {
+            return 0;
+        }
+        return pool.getMaximumPoolSize() - pool.getActiveCount() - pool.getQueue().size();
+    }
+
+    private int queuedLocally() {
+        return executorService instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    private static class StolenLease {
+        final long executionId;
+        final long fence;
+        final String victim;
+        final long victimFence;
+
+        StolenLease(long executionId, long fence, String victim, long victimFence) {
+            this.executionId = executionId;
+            this.fence = fence;
+            this.victim = victim;
+            this.victimFence = victimFence;
+        }
+    }
+}
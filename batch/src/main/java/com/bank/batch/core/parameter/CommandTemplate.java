@@ -0,0 +1,70 @@
+package com.bank.batch.core.parameter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A command or path template with ${name} placeholders, split into literal and placeholder
+ * segments once so each execution renders it in a single pass.
+ * Placeholders without a value are left as written.
+ */
+public final class CommandTemplate {
+
+    private final String source;
+    private final List<String> literals;
+    private final List<String> names;
+
+    private CommandTemplate(String source, List<String> literals, List<String> names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+    }
+
+    public static CommandTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        if (source != null) {
+            int position = 0;
+            while (true) {
+                int start = source.indexOf("${", position);
+                int end = start < 0 ? -1 : source.indexOf('}', start + 2);
+                if (end < 0) {
+                    break;
+                }
+                literals.add(source.substring(position, start));
+                names.add(source.substring(start + 2, end));
+                position = end + 1;
+            }
+            literals.add(source.substring(position));
+        }
+
+        return new CommandTemplate(source, Collections.unmodifiableList(literals), Collections.unmodifiableList(names));
+    }
+
+    public String render(Map<String, ?> values) {
+        if (source == null || names.isEmpty()) {
+            return source;
+        }
+
+        StringBuilder rendered = new StringBuilder(source.length() + 32);
+        for (int i = 0; i < names.size(); i++) {
+            rendered.append(literals.get(i));
+            Object value = values.get(names.get(i));
+            if (value != null) {
+                rendered.append(value);
+            } else {
+                rendered.append("${").append(names.get(i)).append('}');
+            }
+        }
+        return rendered.append(literals.get(names.size())).toString();
+    }
+
+    public Set<String> getPlaceholders() {
+        return new LinkedHashSet<>(names);
+    }
+}
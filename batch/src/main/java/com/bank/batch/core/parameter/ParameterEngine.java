@@ -0,0 +1,268 @@
+package com.bank.batch.core.parameter;
+
+import com.bank.batch.core.model.*;
+import com.bank.batch.core.repository.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Applies job_parameters definitions (type, required, default, validation regex) to executions.
+ * Each job's parameter definitions, regexes and script path template are compiled once per job
+ * version and reused, so resolving an execution's parameters is a single pass with no
+ * repository access and, for runs with the job's configured values, no JSON parsing.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ParameterEngine {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> PARAMETER_MAP = new TypeReference<>() {};
+
+    private final JobParameterRepository jobParameterRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, CompiledParameters> compiled = new ConcurrentHashMap<>();
+
+    // Parameter rows can change without bumping the job version, so compiled entries also expire
+    @Value("${batch.orchestrator.parameters.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    /**
+     * Input parameters JSON for a new execution using the job's configured values.
+     */
+    public String defaultInputParameters(JobDefinition job) {
+        return compile(job).defaultInputJson;
+    }
+
+    /**
+     * Resolves an execution's typed parameter values: input value, else configured value,
+     * else default, validated against the parameter's regex and converted to its type.
+     * Inputs without a definition are passed through unchanged.
+     *
+     * @throws ParameterValidationException when a value is missing, invalid or not convertible
+     */
+    public ResolvedParameters resolve(JobDefinition job, String inputParametersJson) {
+        CompiledParameters parameters = compile(job);
+
+        // Runs with the configured values share one pre-resolved map
+        if (inputParametersJson == null || inputParametersJson.equals(parameters.defaultInputJson)) {
+            if (parameters.defaultError != null) {
+                throw new ParameterValidationException(parameters.defaultError);
+            }
+            return new ResolvedParameters(new HashMap<>(parameters.defaultValues), parameters.scriptPathTemplate);
+        }
+
+        Map<String, Object> input;
+        try {
+            input = objectMapper.readValue(inputParametersJson, PARAMETER_MAP);
+        } catch (Exception e) {
+            throw new ParameterValidationException("Input parameters are not valid JSON", e);
+        }
+
+        return new ResolvedParameters(parameters.apply(input), parameters.scriptPathTemplate);
+    }
+
+    /**
+     * Drops the compiled definitions of a job, e.g. after its parameters were edited.
+     */
+    public void evict(Long jobId) {
+        compiled.remove(jobId);
+    }
+
+    private CompiledParameters compile(JobDefinition job) {
+        long now = System.nanoTime();
+        return compiled.compute(job.getJobId(), (jobId, current) -> {
+            if (current != null && Objects.equals(current.jobVersion, job.getVersion())
+                    && Objects.equals(current.scriptPath, job.getScriptPath())
+                    && now - current.compiledAtNanos < TimeUnit.SECONDS.toNanos(cacheTtlSeconds)) {
+                return current;
+            }
+            return new CompiledParameters(job, jobParameterRepository.findByJobId(jobId), now);
+        });
+    }
+
+    /**
+     * Typed parameter values of one execution plus the job's compiled script path template.
+     */
+    public static class ResolvedParameters {
+        private final Map<String, Object> values;
+        private final CommandTemplate scriptPathTemplate;
+
+        ResolvedParameters(Map<String, Object> values, CommandTemplate scriptPathTemplate) {
+            this.values = values;
+            this.scriptPathTemplate = scriptPathTemplate;
+        }
+
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        public String renderScriptPath() {
+            return scriptPathTemplate.render(values);
+        }
+    }
+
+    private enum ParameterType { STRING, INTEGER, DATE, BOOLEAN, JSON }
+
+    /**
+     * One job_parameters row with its regex compiled and its type parsed.
+     */
+    private static class ParameterDefinition {
+        final String name;
+        final ParameterType type;
+        final boolean required;
+        final boolean encrypted;
+        final String configuredValue;
+        final String defaultValue;
+        final Pattern validation;
+
+        ParameterDefinition(JobParameter parameter) {
+            this.name = parameter.getParameterName();
+            this.type = parseType(parameter.getParameterType());
+            this.required = parameter.isRequired();
+            this.encrypted = parameter.isEncrypted();
+            this.configuredValue = parameter.getParameterValue();
+            this.defaultValue = parameter.getDefaultValue();
+            this.validation = compilePattern(parameter.getParameterName(), parameter.getValidationRegex());
+        }
+
+        private static ParameterType parseType(String type) {
+            try {
+                return type == null ? ParameterType.STRING : ParameterType.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ParameterType.STRING;
+            }
+        }
+
+        private static Pattern compilePattern(String name, String regex) {
+            if (regex == null || regex.isBlank()) {
+                return null;
+            }
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                log.warn("Ignoring invalid validation regex for parameter {}: {}", name, regex);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A job version's parameter definitions, compiled once.
+     */
+    private class CompiledParameters {
+        final Object jobVersion;
+        final String scriptPath;
+        final long compiledAtNanos;
+        final List<ParameterDefinition> definitions = new ArrayList<>();
+        final CommandTemplate scriptPathTemplate;
+        final String defaultInputJson;
+        final Map<String, Object> defaultValues;
+        final String defaultError;
+
+        CompiledParameters(JobDefinition job, List<JobParameter> parameters, long compiledAtNanos) {
+            this.jobVersion = job.getVersion();
+            this.scriptPath = job.getScriptPath();
+            this.compiledAtNanos = compiledAtNanos;
+            this.scriptPathTemplate = CommandTemplate.compile(job.getScriptPath());
+
+            Map<String, String> configured = new LinkedHashMap<>();
+            for (JobParameter parameter : parameters) {
+                definitions.add(new ParameterDefinition(parameter));
+                configured.put(parameter.getParameterName(), parameter.getParameterValue());
+            }
+            this.defaultInputJson = configured.isEmpty() ? null : toJson(configured);
+
+            // Resolved up front; a configuration error is reported by every run that uses it
+            Map<String, Object> values = Collections.emptyMap();
+            String error = null;
+            try {
+                values = Collections.unmodifiableMap(apply(Collections.emptyMap()));
+            } catch (ParameterValidationException e) {
+                error = e.getMessage();
+            }
+            this.defaultValues = values;
+            this.defaultError = error;
+        }
+
+        Map<String, Object> apply(Map<String, Object> input) {
+            Map<String, Object> resolved = new HashMap<>(input);
+
+            for (ParameterDefinition definition : definitions) {
+                Object raw = input.get(definition.name);
+                if (raw == null) {
+                    raw = definition.configuredValue != null ? definition.configuredValue : definition.defaultValue;
+                }
+
+                if (raw == null) {
+                    if (definition.required) {
+                        throw new ParameterValidationException("Missing required parameter: " + definition.name);
+                    }
+                    resolved.remove(definition.name);
+                    continue;
+                }
+
+                // Encrypted values are ciphertext here and are decrypted by the executor
+                resolved.put(definition.name, definition.encrypted ? raw : convert(definition, raw));
+            }
+
+            return resolved;
+        }
+
+        private Object convert(ParameterDefinition definition, Object raw) {
+            String text = raw instanceof String ? (String) raw : String.valueOf(raw);
+
+            if (definition.validation != null && !definition.validation.matcher(text).matches()) {
+                throw new ParameterValidationException("Parameter " + definition.name
+                    + " does not match " + definition.validation.pattern());
+            }
+
+            try {
+                return switch (definition.type) {
+                    case STRING -> text;
+                    case INTEGER -> raw instanceof Number number ? number.longValue() : Long.parseLong(text.trim());
+                    case DATE -> LocalDate.parse(text.trim());
+                    case BOOLEAN -> {
+                        if (raw instanceof Boolean bool) {
+                            yield bool;
+                        }
+                        if (!"true".equalsIgnoreCase(text.trim()) && !"false".equalsIgnoreCase(text.trim())) {
+                            throw new IllegalArgumentException("expected true or false");
+                        }
+                        yield Boolean.parseBoolean(text.trim());
+                    }
+                    case JSON -> raw instanceof String ? objectMapper.readValue(text, Object.class) : raw;
+                };
+            } catch (Exception e) {
+                throw new ParameterValidationException("Parameter " + definition.name
+                    + " is not a valid " + definition.type + ": " + text, e);
+            }
+        }
+
+        private String toJson(Object value) {
+            try {
+                return objectMapper.writeValueAsString(value);
+            } catch (Exception e) {
+                log.error("Failed to convert parameters to JSON", e);
+                return "{}";
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.batch.core.parameter;
+
+/**
+ * A job parameter is missing, does not match its validation regex or cannot be converted to its type.
+ */
+public class ParameterValidationException extends RuntimeException {
+
+    public ParameterValidationException(String message) {
+        super(message);
+    }
+
+    public ParameterValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
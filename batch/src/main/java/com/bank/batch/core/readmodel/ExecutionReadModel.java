@@ -0,0 +1,315 @@
+package com.bank.batch.core.readmodel;
+
+import com.bank.batch.core.event.JobLifecycleEvent;
+import com.bank.batch.core.event.JobLifecyclePipeline;
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read side for execution status and history queries, kept apart from the tables the dispatcher writes.
+ * A lifecycle pipeline stage applies each state change to an in-memory window of recently changed
+ * executions, and upserts it into the denormalized execution_query_view table in batches.
+ * Every node writes the view table, so queries spanning nodes, such as running executions and history,
+ * are served from it; memory only answers for executions that already ended. Dashboards never take
+ * locks on job_execution_history. Updates lost in a crash are repaired from history, on startup and
+ * periodically.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutionReadModel {
+
+    private static final String COLUMNS =
+        "execution_id, job_id, job_name, status, trigger_type, triggered_by, host_name, start_time, end_time, " +
+        "error_message, updated_at";
+
+    private static final String UPSERT_SQL =
+        "MERGE execution_query_view AS target " +
+        "USING (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)) AS source (" + COLUMNS + ") " +
+        "ON target.execution_id = source.execution_id " +
+        "WHEN MATCHED THEN UPDATE SET job_id = source.job_id, job_name = source.job_name, status = source.status, " +
+        "  trigger_type = source.trigger_type, triggered_by = source.triggered_by, host_name = source.host_name, start_time = source.start_time, " +
+        "  end_time = source.end_time, error_message = source.error_message, updated_at = source.updated_at " +
+        "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (source.execution_id, source.job_id, source.job_name, " +
+        "  source.status, source.trigger_type, source.triggered_by, source.host_name, source.start_time, source.end_time, " +
+        "  source.error_message, source.updated_at);";
+
+    // Rows the view lacks or disagrees with; executions active on either side are always checked, whatever their age
+    private static final String REBUILD_SQL =
+        "MERGE execution_query_view AS target " +
+        "USING (SELECT h.execution_id, h.job_id, d.job_name, h.status, h.trigger_type, h.triggered_by, h.host_name, " +
+        "  h.start_time, h.end_time, LEFT(h.error_message, 4000), GETUTCDATE() FROM job_execution_history h " +
+        "  JOIN job_definitions d ON d.job_id = h.job_id " +
+        "  WHERE h.created_date >= ? OR h.status IN ('PENDING', 'QUEUED', 'RUNNING') " +
+        "  OR h.execution_id IN (SELECT execution_id FROM execution_query_view " +
+        "    WHERE status IN ('PENDING', 'QUEUED', 'RUNNING'))) AS source (" + COLUMNS + ") " +
+        "ON target.execution_id = source.execution_id " +
+        "WHEN MATCHED AND (target.status <> source.status OR ISNULL(target.end_time, '') <> ISNULL(source.end_time, '')) " +
+        "  THEN UPDATE SET status = source.status, start_time = source.start_time, end_time = source.end_time, " +
+        "  host_name = source.host_name, error_message = source.error_message, updated_at = source.updated_at " +
+        "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (source.execution_id, source.job_id, source.job_name, " +
+        "  source.status, source.trigger_type, source.triggered_by, source.host_name, source.start_time, source.end_time, " +
+        "  source.error_message, source.updated_at);";
+
+    private static final String LAST_UPDATE_SQL = "SELECT MAX(updated_at) FROM execution_query_view";
+
+    private static final String LOAD_WINDOW_SQL = "SELECT " + COLUMNS + " FROM execution_query_view WHERE updated_at >= ?";
+
+    private static final String FIND_SQL = "SELECT " + COLUMNS + " FROM execution_query_view WHERE execution_id = ?";
+
+    private static final String RUNNING_SQL =
+        "SELECT " + COLUMNS + " FROM execution_query_view WHERE status = 'RUNNING' ORDER BY start_time";
+
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLifecyclePipeline lifecyclePipeline;
+    private final MeterRegistry meterRegistry;
+
+    // Executions that changed within the window, as last seen by this node
+    private final Map<Long, ExecutionView> recent = new ConcurrentHashMap<>();
+    // Accumulated by the read model stage thread only; inline, every event ends its own batch
+    private final List<ExecutionView> pendingWrites = new ArrayList<>();
+
+    @Value("${batch.orchestrator.read-model.window-hours:24}")
+    private int windowHours;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+
+        // No upstream stage: the view follows events as published, ahead of their persistence
+        JobLifecyclePipeline.Stage stage = lifecyclePipeline.handleEventsWith("read-model", this::apply);
+
+        Gauge.builder("batch.readmodel.staleness", stage, s -> s.lagNanos() / 1_000_000.0)
+                .description("Milliseconds the read model is behind the oldest state change it has not applied")
+                .register(meterRegistry);
+
+        Gauge.builder("batch.readmodel.window.size", recent, Map::size)
+                .description("Executions held in the in-memory read window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executions currently running on any node, longest-running first.
+     */
+    public List<ExecutionView> running() {
+        return jdbcTemplate.query(RUNNING_SQL, this::mapView);
+    }
+
+    // An active execution may have moved on under another node since this one last saw it
+    public Optional<ExecutionView> find(Long executionId) {
+        ExecutionView view = recent.get(executionId);
+        if (view != null && !view.isActive()) {
+            return Optional.of(view);
+        }
+        return jdbcTemplate.query(FIND_SQL, this::mapView, executionId).stream().findFirst();
+    }
+
+    /**
+     * Execution history from the view table, newest first.
+     */
+    public Page<ExecutionView> history(Long jobId, LocalDateTime startDate, LocalDateTime endDate, String status,
+                                       Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (jobId != null) {
+            where.append(" AND job_id = ?");
+            args.add(jobId);
+        }
+        if (startDate != null) {
+            where.append(" AND start_time >= ?");
+            args.add(Timestamp.valueOf(startDate));
+        }
+        if (endDate != null) {
+            where.append(" AND start_time < ?");
+            args.add(Timestamp.valueOf(endDate));
+        }
+        if (status != null) {
+            where.append(" AND status = ?");
+            args.add(status);
+        }
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM execution_query_view" + where,
+            Long.class, args.toArray());
+
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(pageable.getOffset());
+        pageArgs.add(pageable.getPageSize());
+        List<ExecutionView> views = jdbcTemplate.query(
+            "SELECT " + COLUMNS + " FROM execution_query_view" + where +
+            " ORDER BY start_time DESC, execution_id DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+            this::mapView, pageArgs.toArray());
+
+        return new PageImpl<>(views, pageable, total != null ? total : 0);
+    }
+
+    /**
+     * Drops executions that last changed before the window from memory; the view table keeps them.
+     * Active ones go too: their later changes may be published on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.read-model.evict-interval-ms:60000}")
+    public void evict() {
+        LocalDateTime windowStart = LocalDateTime.now(ZoneOffset.UTC).minusHours(windowHours);
+        recent.values().removeIf(view -> view.getUpdatedAt().isBefore(windowStart));
+    }
+
+    /**
+     * Repairs view rows whose update was lost, for instance by a node that died before writing it.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.read-model.repair-interval-ms:300000}",
+               initialDelayString = "${batch.orchestrator.read-model.repair-interval-ms:300000}")
+    public void repair() {
+        try {
+            LocalDateTime since = LocalDateTime.now(ZoneOffset.UTC).minusHours(windowHours);
+            int repaired = jdbcTemplate.update(REBUILD_SQL, Timestamp.valueOf(since));
+            if (repaired > 0) {
+                meterRegistry.counter("batch.readmodel.repaired").increment(repaired);
+                log.info("Read model repaired {} execution views from history", repaired);
+            }
+        } catch (Exception e) {
+            log.error("Failed to repair the execution read model", e);
+        }
+    }
+
+    private void apply(JobLifecycleEvent event, boolean endOfBatch) {
+        ExecutionView view = toView(event);
+        recent.put(view.getExecutionId(), view);
+
+        if (endOfBatch && pendingWrites.isEmpty()) {
+            write(List.of(view));
+            return;
+        }
+        pendingWrites.add(view);
+
+        if (endOfBatch) {
+            try {
+                write(pendingWrites);
+            } finally {
+                pendingWrites.clear();
+            }
+        }
+    }
+
+    // The status comes from the event type; the entity may already have moved on by the time it is read here
+    private ExecutionView toView(JobLifecycleEvent event) {
+        JobExecutionHistory execution = event.getExecution();
+        ExecutionStatus status = switch (event.getType()) {
+            case SCHEDULED -> ExecutionStatus.PENDING;
+            case QUEUED -> ExecutionStatus.QUEUED;
+            case STARTED -> ExecutionStatus.RUNNING;
+            case SKIPPED -> ExecutionStatus.SKIPPED;
+            case COMPLETED -> execution.getStatus();
+            case FAILED -> ExecutionStatus.FAILURE;
+            case CANCELLED -> ExecutionStatus.CANCELLED;
+        };
+
+        String error = event.getType() == JobLifecycleEvent.Type.STARTED ? null : execution.getErrorMessage();
+        return ExecutionView.builder()
+            .executionId(execution.getExecutionId())
+            .jobId(event.getJob().getJobId())
+            .jobName(event.getJob().getJobName())
+            .status(status)
+            .triggerType(execution.getTriggerType() != null ? execution.getTriggerType().name() : null)
+            .triggeredBy(execution.getTriggeredBy())
+            .hostName(execution.getHostName())
+            .startTime(execution.getStartTime())
+            .endTime(event.isTerminal() ? execution.getEndTime() : null)
+            .errorMessage(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+            .updatedAt(LocalDateTime.now(ZoneOffset.UTC))
+            .build();
+    }
+
+    private void write(List<ExecutionView> views) {
+        List<Object[]> rows = new ArrayList<>(views.size());
+        for (ExecutionView view : views) {
+            rows.add(new Object[] {
+                view.getExecutionId(),
+                view.getJobId(),
+                view.getJobName(),
+                view.getStatus().name(),
+                view.getTriggerType(),
+                view.getTriggeredBy(),
+                view.getHostName(),
+                toTimestamp(view.getStartTime()),
+                toTimestamp(view.getEndTime()),
+                view.getErrorMessage(),
+                toTimestamp(view.getUpdatedAt())
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (Exception e) {
+            // Memory still has the update; the table catches up on the execution's next change or the next startup
+            meterRegistry.counter("batch.readmodel.write.errors").increment();
+            log.error("Failed to write {} execution views", rows.size(), e);
+        }
+    }
+
+    // Brings the view table in line with history, then loads the window into memory
+    private void rebuild() {
+        try {
+            Timestamp lastUpdate = jdbcTemplate.queryForObject(LAST_UPDATE_SQL, Timestamp.class);
+            LocalDateTime windowStart = LocalDateTime.now(ZoneOffset.UTC).minusHours(windowHours);
+            // An empty view is filled from all of history
+            Timestamp since = lastUpdate != null
+                ? Timestamp.valueOf(lastUpdate.toLocalDateTime().minusHours(windowHours))
+                : Timestamp.valueOf(LocalDateTime.of(1900, 1, 1, 0, 0));
+            int repaired = jdbcTemplate.update(REBUILD_SQL, since);
+
+            jdbcTemplate.query(LOAD_WINDOW_SQL, this::mapView, Timestamp.valueOf(windowStart))
+                .forEach(view -> recent.put(view.getExecutionId(), view));
+            log.info("Read model rebuilt: {} views repaired from history, {} in the recent window", repaired, recent.size());
+
+        } catch (Exception e) {
+            log.error("Failed to rebuild the execution read model", e);
+        }
+    }
+
+    private ExecutionView mapView(ResultSet rs, int rowNum) throws SQLException {
+        return ExecutionView.builder()
+            .executionId(rs.getLong("execution_id"))
+            .jobId(rs.getLong("job_id"))
+            .jobName(rs.getString("job_name"))
+            .status(ExecutionStatus.valueOf(rs.getString("status")))
+            .triggerType(rs.getString("trigger_type"))
+            .triggeredBy(rs.getString("triggered_by"))
+            .hostName(rs.getString("host_name"))
+            .startTime(toLocalDateTime(rs.getTimestamp("start_time")))
+            .endTime(toLocalDateTime(rs.getTimestamp("end_time")))
+            .errorMessage(rs.getString("error_message"))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .build();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
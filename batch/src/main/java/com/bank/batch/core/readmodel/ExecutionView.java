@@ -0,0 +1,36 @@
+package com.bank.batch.core.readmodel;
+
+import com.bank.batch.core.model.ExecutionStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized state of one execution as held by the read model.
+ */
+@Value
+@Builder
+public class ExecutionView {
+
+    Long executionId;
+    Long jobId;
+    String jobName;
+    ExecutionStatus status;
+    String triggerType;
+    String triggeredBy;
+    String hostName;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    String errorMessage;
+    LocalDateTime updatedAt;
+
+    public Integer getDurationSeconds() {
+        return startTime != null && endTime != null ? (int) Duration.between(startTime, endTime).getSeconds() : null;
+    }
+
+    public boolean isActive() {
+        return status == ExecutionStatus.PENDING || status == ExecutionStatus.QUEUED || status == ExecutionStatus.RUNNING;
+    }
+}
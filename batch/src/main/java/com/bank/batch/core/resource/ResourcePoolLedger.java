@@ -0,0 +1,337 @@
+package com.bank.batch.core.resource;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live resource pool accounting held in memory.
+ * Reservations across several pools are a single compare-and-set of an immutable usage
+ * snapshot, so they are all-or-nothing without row locks on the hot resource_pools rows.
+ * Each node writes back only its own usage, to its rows in resource_pool_node_usage; usage of
+ * nodes that stopped reporting is expired, so a crashed node's reservations are recovered.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ResourcePoolLedger {
+
+    // Usage held by other nodes that are still reporting
+    private static final String LOAD_POOLS_SQL =
+        "SELECT rp.pool_id, rp.pool_name, rp.max_capacity, ISNULL(rp.reserved_capacity, 0) AS reserved_capacity, " +
+        "ISNULL(other.used, 0) AS external_usage FROM resource_pools rp LEFT JOIN (" +
+        "  SELECT pool_id, SUM(used) AS used FROM resource_pool_node_usage " +
+        "  WHERE node_name <> ? AND reported_at > DATEADD(SECOND, -?, GETUTCDATE()) " +
+        "  GROUP BY pool_id) other ON other.pool_id = rp.pool_id WHERE rp.is_active = 1";
+
+    private static final String REPORT_USAGE_SQL =
+        "MERGE resource_pool_node_usage AS target USING (SELECT ? AS pool_id, ? AS node_name) AS source " +
+        "ON target.pool_id = source.pool_id AND target.node_name = source.node_name " +
+        "WHEN MATCHED THEN UPDATE SET used = ?, reported_at = GETUTCDATE() " +
+        "WHEN NOT MATCHED THEN INSERT (pool_id, node_name, used) VALUES (source.pool_id, source.node_name, ?);";
+
+    private static final String EXPIRE_NODES_SQL =
+        "DELETE FROM resource_pool_node_usage WHERE reported_at < DATEADD(SECOND, -?, GETUTCDATE())";
+
+    // Keeps resource_pools.current_usage as the total of live nodes for readers of the pool table
+    private static final String RECONCILE_SQL =
+        "UPDATE rp SET current_usage = ISNULL(live.used, 0), modified_date = GETUTCDATE() " +
+        "FROM resource_pools rp LEFT JOIN (" +
+        "  SELECT pool_id, SUM(used) AS used FROM resource_pool_node_usage GROUP BY pool_id) live " +
+        "ON live.pool_id = rp.pool_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    // Own usage last written to the database, per pool id; touched only under the ledger's monitor
+    private final Map<Long, Integer> flushedUsage = new HashMap<>();
+
+    private final Set<String> poolsWithGauges = ConcurrentHashMap.newKeySet();
+
+    private Counter reservationRejectedCounter;
+    private Counter reservationContentionCounter;
+
+    // Another node's usage is ignored, and eventually expired, once it has not reported for this long
+    @Value("${batch.orchestrator.resources.node-timeout-seconds:90}")
+    private int nodeTimeoutSeconds;
+
+    private String nodeName;
+
+    @PostConstruct
+    public void init() {
+        try {
+            nodeName = InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        } catch (Exception e) {
+            nodeName = "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        this.reservationRejectedCounter = Counter.builder("batch.resources.reservations.rejected")
+                .description("Reservations rejected for lack of pool capacity")
+                .register(meterRegistry);
+
+        this.reservationContentionCounter = Counter.builder("batch.resources.reservations.contention")
+                .description("Reservation attempts retried after a concurrent update")
+                .register(meterRegistry);
+
+        refresh();
+    }
+
+    /**
+     * Reserves capacity for all of a job's requirements, or for none of them.
+     */
+    public boolean tryReserve(JobDefinition job) {
+        Map<String, Integer> requirements = requirementsOf(job);
+        if (requirements.isEmpty()) {
+            return true;
+        }
+
+        while (true) {
+            Snapshot current = snapshot.get();
+            int[] used = current.used.clone();
+
+            for (Map.Entry<String, Integer> requirement : requirements.entrySet()) {
+                Integer index = current.indexByName.get(requirement.getKey());
+                if (index == null) {
+                    log.warn("Job {} requires unknown or inactive resource pool {}",
+                        job.getJobName(), requirement.getKey());
+                    reservationRejectedCounter.increment();
+                    return false;
+                }
+
+                used[index] += requirement.getValue();
+                if (used[index] + current.external[index] > current.capacity[index]) {
+                    log.debug("Resource pool {} cannot fit {} for job {}",
+                        requirement.getKey(), requirement.getValue(), job.getJobName());
+                    reservationRejectedCounter.increment();
+                    return false;
+                }
+            }
+
+            if (snapshot.compareAndSet(current, current.withUsed(used))) {
+                return true;
+            }
+            reservationContentionCounter.increment();
+        }
+    }
+
+    /**
+     * Returns a job's reserved capacity to its pools.
+     */
+    public void release(JobDefinition job) {
+        Map<String, Integer> requirements = requirementsOf(job);
+        if (requirements.isEmpty()) {
+            return;
+        }
+
+        while (true) {
+            Snapshot current = snapshot.get();
+            int[] used = current.used.clone();
+
+            for (Map.Entry<String, Integer> requirement : requirements.entrySet()) {
+                Integer index = current.indexByName.get(requirement.getKey());
+                if (index != null) {
+                    used[index] = Math.max(0, used[index] - requirement.getValue());
+                }
+            }
+
+            if (snapshot.compareAndSet(current, current.withUsed(used))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Capacity still free in a pool, as seen by this node.
+     */
+    public int getAvailableCapacity(String poolName) {
+        Snapshot current = snapshot.get();
+        Integer index = current.indexByName.get(poolName);
+        return index == null ? 0 : current.capacity[index] - current.used[index] - current.external[index];
+    }
+
+    /**
+     * Fraction of a pool's capacity in use across all nodes.
+     */
+    public double getUtilization(String poolName) {
+        Snapshot current = snapshot.get();
+        Integer index = current.indexByName.get(poolName);
+        if (index == null || current.capacity[index] <= 0) {
+            return 0.0;
+        }
+        return (double) (current.used[index] + current.external[index]) / current.capacity[index];
+    }
+
+    /**
+     * Writes this node's changed usage to the database and picks up pool definitions
+     * and usage held by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.resources.write-back-interval-ms:1000}")
+    public synchronized void writeBack() {
+        try {
+            report(false);
+            refresh();
+
+        } catch (Exception e) {
+            log.error("Failed to write back resource pool usage", e);
+        }
+    }
+
+    /**
+     * Re-reports all of this node's usage so its rows stay live, expires the rows of nodes that
+     * stopped reporting and recomputes the pool totals from what is left. Touches no other
+     * live node's usage, so it is safe to run while every node holds reservations.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.resources.reconcile-interval-ms:30000}")
+    public synchronized void reconcile() {
+        try {
+            report(true);
+
+            int expired = jdbcTemplate.update(EXPIRE_NODES_SQL, nodeTimeoutSeconds);
+            if (expired > 0) {
+                log.info("Expired {} resource pool usage rows of nodes that stopped reporting", expired);
+            }
+            jdbcTemplate.update(RECONCILE_SQL);
+
+            refresh();
+
+        } catch (Exception e) {
+            log.error("Failed to reconcile resource pool usage", e);
+        }
+    }
+
+    /**
+     * Writes this node's usage per pool: only what changed since the last write, or every pool
+     * holding usage when the rows need their report time renewed.
+     */
+    private void report(boolean renew) {
+        Snapshot current = snapshot.get();
+
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, Integer> flushed = new HashMap<>();
+        for (int i = 0; i < current.poolIds.length; i++) {
+            long poolId = current.poolIds[i];
+            int used = current.used[i];
+            if (used != flushedUsage.getOrDefault(poolId, 0) || (renew && used != 0)) {
+                rows.add(new Object[] { poolId, nodeName, used, used });
+                flushed.put(poolId, used);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(REPORT_USAGE_SQL, rows);
+            // Only record what reached the database, so failed writes are retried next time
+            flushedUsage.putAll(flushed);
+            log.debug("Wrote back usage for {} resource pools", rows.size());
+        }
+    }
+
+    /**
+     * Reloads pool definitions and the usage other live nodes reported.
+     */
+    private void refresh() {
+        List<PoolRow> rows = jdbcTemplate.query(LOAD_POOLS_SQL, (rs, rowNum) -> new PoolRow(
+            rs.getLong("pool_id"),
+            rs.getString("pool_name"),
+            rs.getInt("max_capacity") - rs.getInt("reserved_capacity"),
+            rs.getInt("external_usage")), nodeName, nodeTimeoutSeconds);
+
+        while (true) {
+            Snapshot current = snapshot.get();
+
+            Map<String, Integer> indexByName = new HashMap<>();
+            long[] poolIds = new long[rows.size()];
+            int[] capacity = new int[rows.size()];
+            int[] external = new int[rows.size()];
+            int[] used = new int[rows.size()];
+
+            for (int i = 0; i < rows.size(); i++) {
+                PoolRow row = rows.get(i);
+                indexByName.put(row.poolName, i);
+                poolIds[i] = row.poolId;
+                capacity[i] = row.capacity;
+                external[i] = row.externalUsage;
+
+                // Carry over live usage, including reservations made since the write-back started
+                Integer previous = current.indexByName.get(row.poolName);
+                used[i] = previous != null ? current.used[previous] : 0;
+            }
+
+            if (snapshot.compareAndSet(current, new Snapshot(Collections.unmodifiableMap(indexByName),
+                    poolIds, capacity, external, used))) {
+                break;
+            }
+        }
+
+        for (PoolRow row : rows) {
+            if (poolsWithGauges.add(row.poolName)) {
+                Gauge.builder("batch.resources.pool.utilization", this, ledger -> ledger.getUtilization(row.poolName))
+                        .description("Fraction of resource pool capacity in use")
+                        .tag("pool", row.poolName)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private Map<String, Integer> requirementsOf(JobDefinition job) {
+        List<JobResourceRequirement> requirements = job.getResourceRequirements();
+        if (requirements == null || requirements.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> byPool = new HashMap<>();
+        for (JobResourceRequirement requirement : requirements) {
+            byPool.merge(requirement.getResourcePool().getPoolName(), requirement.getRequiredCapacity(), Integer::sum);
+        }
+        return byPool;
+    }
+
+    private record PoolRow(long poolId, String poolName, int capacity, int externalUsage) {
+    }
+
+    /**
+     * Immutable view of all pools; only the usage array changes between reservations.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), new long[0], new int[0], new int[0], new int[0]);
+
+        final Map<String, Integer> indexByName;
+        final long[] poolIds;
+        final int[] capacity;
+        final int[] external;
+        final int[] used;
+
+        Snapshot(Map<String, Integer> indexByName, long[] poolIds, int[] capacity, int[] external, int[] used) {
+            this.indexByName = indexByName;
+            this.poolIds = poolIds;
+            this.capacity = capacity;
+            this.external = external;
+            this.used = used;
+        }
+
+        Snapshot withUsed(int[] newUsed) {
+            return new Snapshot(indexByName, poolIds, capacity, external, newUsed);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bank.batch.core.resource;
+
+import com.bank.batch.core.model.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-pool wait queues for jobs that do not fit their resource pools yet.
+ * Waiters are ordered by priority, then arrival, and are woken with their capacity
+ * already reserved as soon as a release makes room, instead of waiting for the next poll.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ResourceWaitQueues {
+
+    private static final Comparator<Waiter> WAIT_ORDER = Comparator
+        .comparingInt((Waiter waiter) -> -waiter.priority)
+        .thenComparingLong(waiter -> waiter.arrival);
+
+    private final ResourcePoolLedger resourcePoolLedger;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, NavigableSet<Waiter>> queuesByPool = new ConcurrentHashMap<>();
+    private final Map<Long, Waiter> waitersByJob = new ConcurrentHashMap<>();
+    private final AtomicLong arrivalSequence = new AtomicLong();
+
+    @Value("${batch.orchestrator.resources.max-wait-minutes:30}")
+    private int maxWaitMinutes;
+
+    private Timer waitTimer;
+
+    @PostConstruct
+    public void init() {
+        this.waitTimer = Timer.builder("batch.resources.wait.time")
+                .description("Time jobs waited for resource pool capacity")
+                .register(meterRegistry);
+
+        Gauge.builder("batch.resources.waiting", waitersByJob, Map::size)
+                .description("Jobs waiting for resource pool capacity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves capacity for a job, or queues it until capacity is released.
+     * The future completes with true once capacity is reserved, or false if the job was
+     * already waiting or gave up after the maximum wait.
+     */
+    public CompletableFuture<Boolean> reserve(JobDefinition job) {
+        Set<String> pools = poolsOf(job);
+
+        // Jobs ahead in the queue get released capacity first
+        if (!hasWaitersAhead(pools, job) && resourcePoolLedger.tryReserve(job)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        Waiter waiter = new Waiter(job, pools, arrivalSequence.incrementAndGet());
+        if (waitersByJob.putIfAbsent(job.getJobId(), waiter) != null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        for (String pool : pools) {
+            queuesByPool.computeIfAbsent(pool, name -> new ConcurrentSkipListSet<>(WAIT_ORDER)).add(waiter);
+        }
+
+        // Capacity may have been released before the waiter became visible
+        wake(pools);
+        return waiter.future;
+    }
+
+    /**
+     * Reserves capacity for a job only if it fits now and no waiter is ahead of it; never queues.
+     */
+    public boolean tryReserve(JobDefinition job) {
+        return !hasWaitersAhead(poolsOf(job), job) && resourcePoolLedger.tryReserve(job);
+    }
+
+    /**
+     * Returns a job's capacity to its pools and wakes the waiting jobs that now fit.
+     */
+    public void release(JobDefinition job) {
+        resourcePoolLedger.release(job);
+        wake(poolsOf(job));
+    }
+
+    public boolean isWaiting(Long jobId) {
+        return waitersByJob.containsKey(jobId);
+    }
+
+    public int getWaitingCount() {
+        return waitersByJob.size();
+    }
+
+    /**
+     * Retries all waiters, picking up capacity released by other orchestrator nodes.
+     */
+    @Scheduled(fixedDelayString = "${batch.orchestrator.resources.write-back-interval-ms:1000}")
+    public void wakeAll() {
+        if (!waitersByJob.isEmpty()) {
+            wake(queuesByPool.keySet());
+        }
+    }
+
+    /**
+     * Gives up on waiters that exceeded the maximum wait; the scheduler will find them again.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void expireWaiters() {
+        long maxWaitNanos = Duration.ofMinutes(maxWaitMinutes).toNanos();
+
+        for (Waiter waiter : List.copyOf(waitersByJob.values())) {
+            if (System.nanoTime() - waiter.enqueuedAt > maxWaitNanos && waiter.claimed.compareAndSet(false, true)) {
+                log.warn("Job {} gave up waiting for resources after {} minutes",
+                    waiter.job.getJobName(), maxWaitMinutes);
+                dequeue(waiter);
+                waiter.future.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Scans the given pools' queues in order and reserves for every waiter that now fits.
+     */
+    private void wake(Set<String> pools) {
+        for (String pool : pools) {
+            NavigableSet<Waiter> queue = queuesByPool.get(pool);
+            if (queue == null) {
+                continue;
+            }
+
+            for (Waiter waiter : queue) {
+                if (resourcePoolLedger.getAvailableCapacity(pool) <= 0) {
+                    break;
+                }
+                tryWake(waiter);
+            }
+        }
+    }
+
+    private void tryWake(Waiter waiter) {
+        if (!waiter.claimed.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (!resourcePoolLedger.tryReserve(waiter.job)) {
+            waiter.claimed.set(false);
+            return;
+        }
+
+        waitTimer.record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+        log.debug("Woke job {} after resources were released", waiter.job.getJobName());
+
+        // Complete before dequeuing so the job is marked running before it stops counting as waiting
+        waiter.future.complete(true);
+        dequeue(waiter);
+    }
+
+    private void dequeue(Waiter waiter) {
+        for (String pool : waiter.pools) {
+            NavigableSet<Waiter> queue = queuesByPool.get(pool);
+            if (queue != null) {
+                queue.remove(waiter);
+            }
+        }
+        waitersByJob.remove(waiter.job.getJobId(), waiter);
+    }
+
+    private boolean hasWaitersAhead(Set<String> pools, JobDefinition job) {
+        for (String pool : pools) {
+            NavigableSet<Waiter> queue = queuesByPool.get(pool);
+            if (queue != null && !queue.isEmpty() && queue.first().priority >= job.getPriority()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> poolsOf(JobDefinition job) {
+        Set<String> pools = new HashSet<>();
+        if (job.getResourceRequirements() != null) {
+            for (JobResourceRequirement requirement : job.getResourceRequirements()) {
+                pools.add(requirement.getResourcePool().getPoolName());
+            }
+        }
+        return pools;
+    }
+
+    private static class Waiter {
+        private final JobDefinition job;
+        private final Set<String> pools;
+        private final int priority;
+        private final long arrival;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        Waiter(JobDefinition job, Set<String> pools, long arrival) {
+            this.job = job;
+            this.pools = pools;
+            this.priority = job.getPriority();
+            this.arrival = arrival;
+        }
+    }
+}
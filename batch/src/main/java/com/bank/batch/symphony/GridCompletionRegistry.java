@@ -0,0 +1,299 @@
+package com.bank.batch.symphony;
+
+import com.bank.batch.core.model.SymphonyJobStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks all in-flight Symphony jobs and completes their pending futures when the grid
+ * calls back. A single adaptive poller reconciles silent jobs with bulk status queries,
+ * so lost callbacks cost one request per batch rather than one per job.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GridCompletionRegistry {
+
+    private final SymphonyGridClient symphonyClient;
+    private final Map<Long, PendingGridJob> pendingJobs = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService poller;
+    private volatile long currentIntervalSeconds;
+    private volatile double queueDelayEstimateMillis;
+
+    @Value("${batch.orchestrator.symphony.status-poll.min-interval-seconds:5}")
+    private int minIntervalSeconds;
+
+    @Value("${batch.orchestrator.symphony.status-poll.max-interval-seconds:120}")
+    private int maxIntervalSeconds;
+
+    @Value("${batch.orchestrator.symphony.status-poll.batch-size:500}")
+    private int statusBatchSize;
+
+    @Value("${batch.orchestrator.placement.ewma-alpha:0.3}")
+    private double ewmaAlpha;
+
+    @PostConstruct
+    public void start() {
+        currentIntervalSeconds = maxIntervalSeconds;
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-status-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.schedule(this::pollAndReschedule, currentIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Registers an execution about to be submitted to the grid and returns the future completed on
+     * its terminal state. Registering first means a fast job's callback cannot arrive unexpected.
+     */
+    public CompletableFuture<GridJobOutcome> register(Long executionId) {
+        PendingGridJob pending = new PendingGridJob();
+        pendingJobs.put(executionId, pending);
+        pending.future.whenComplete((outcome, error) -> pendingJobs.remove(executionId, pending));
+        return pending.future;
+    }
+
+    /**
+     * Records the Symphony job the grid accepted for a registered execution, completing it at once
+     * if its terminal callback already arrived.
+     */
+    public void attach(Long executionId, String symphonyJobId) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        if (pending == null) {
+            return;
+        }
+
+        GridJobOutcome early;
+        synchronized (pending) {
+            pending.symphonyJobId = symphonyJobId;
+            pending.submittedAtNanos = System.nanoTime();
+            early = pending.earlyOutcome;
+            pending.earlyOutcome = null;
+        }
+        if (early != null) {
+            complete(executionId, early);
+        }
+    }
+
+    /**
+     * Drops a registered execution the grid did not accept.
+     */
+    public void unregister(Long executionId) {
+        PendingGridJob pending = pendingJobs.remove(executionId);
+        if (pending != null) {
+            pending.future.cancel(false);
+        }
+    }
+
+    /**
+     * Completes a pending execution from a grid callback.
+     *
+     * @return false if the execution is not pending or the Symphony job id does not match;
+     *         repeated callbacks for an already completed job are accepted and ignored
+     */
+    public boolean complete(Long executionId, GridJobOutcome outcome) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        if (pending == null) {
+            return false;
+        }
+
+        // Submission has not returned the job id yet; the outcome is checked against it on attach
+        synchronized (pending) {
+            if (pending.symphonyJobId == null) {
+                pending.earlyOutcome = outcome;
+                return true;
+            }
+        }
+
+        if (!pending.symphonyJobId.equals(outcome.getSymphonyJobId())) {
+            log.warn("Ignoring callback for execution {}: expected Symphony job {} but got {}",
+                executionId, pending.symphonyJobId, outcome.getSymphonyJobId());
+            return false;
+        }
+
+        log.debug("Grid job {} for execution {} completed via {}",
+            outcome.getSymphonyJobId(), executionId, outcome.getSource());
+        pending.future.complete(outcome);
+        return true;
+    }
+
+    /**
+     * Records that the grid reported a state change that is not terminal yet.
+     */
+    public boolean touch(Long executionId, String symphonyJobId) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        if (pending == null || (pending.symphonyJobId != null && !pending.symphonyJobId.equals(symphonyJobId))) {
+            return false;
+        }
+        pending.lastHeard = Instant.now();
+        return true;
+    }
+
+    /**
+     * Records that a grid job left the Symphony queue and started running.
+     * The first such report per job feeds the grid queueing delay estimate.
+     */
+    public boolean markRunning(Long executionId, String symphonyJobId) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        if (!touch(executionId, symphonyJobId)) {
+            return false;
+        }
+
+        if (pending.startedAtNanos.compareAndSet(0, System.nanoTime())) {
+            double queuedMillis = (pending.startedAtNanos.get() - pending.submittedAtNanos) / 1_000_000.0;
+            synchronized (this) {
+                queueDelayEstimateMillis = queueDelayEstimateMillis == 0
+                    ? queuedMillis
+                    : ewmaAlpha * queuedMillis + (1 - ewmaAlpha) * queueDelayEstimateMillis;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recent time grid jobs spent queued in Symphony before starting, or 0 if not yet observed.
+     */
+    public long getQueueDelayEstimateMillis() {
+        return Math.round(queueDelayEstimateMillis);
+    }
+
+    /**
+     * Cancels the pending future for an execution, releasing whoever is waiting on it.
+     */
+    public boolean cancel(Long executionId) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        return pending != null && pending.future.completeExceptionally(
+            new CancellationException("Grid execution " + executionId + " was cancelled"));
+    }
+
+    /**
+     * Fails the pending future with a timeout once the execution's deadline has passed.
+     */
+    public boolean expire(Long executionId) {
+        PendingGridJob pending = pendingJobs.get(executionId);
+        return pending != null && pending.future.completeExceptionally(
+            new TimeoutException("Grid execution " + executionId + " exceeded its deadline"));
+    }
+
+    public boolean isPending(Long executionId) {
+        return pendingJobs.containsKey(executionId);
+    }
+
+    public int getPendingCount() {
+        return pendingJobs.size();
+    }
+
+    public long getCurrentPollIntervalSeconds() {
+        return currentIntervalSeconds;
+    }
+
+    /**
+     * Queries every silent in-flight job in bulk batches and dispatches terminal states.
+     *
+     * @return number of executions completed by this pass
+     */
+    int reconcile() {
+        Instant staleBefore = Instant.now().minus(Duration.ofSeconds(currentIntervalSeconds));
+
+        Map<String, Long> silentJobs = new HashMap<>();
+        pendingJobs.forEach((executionId, pending) -> {
+            if (pending.symphonyJobId != null && !pending.lastHeard.isAfter(staleBefore)) {
+                silentJobs.put(pending.symphonyJobId, executionId);
+            }
+        });
+
+        if (silentJobs.isEmpty()) {
+            return 0;
+        }
+
+        int completed = 0;
+        List<String> symphonyJobIds = new ArrayList<>(silentJobs.keySet());
+
+        for (int from = 0; from < symphonyJobIds.size(); from += statusBatchSize) {
+            List<String> batch = symphonyJobIds.subList(from, Math.min(from + statusBatchSize, symphonyJobIds.size()));
+
+            Map<String, SymphonyJobStatus> statuses;
+            try {
+                statuses = symphonyClient.getJobStatuses(batch);
+            } catch (Exception e) {
+                log.warn("Bulk status query for {} grid jobs failed", batch.size(), e);
+                continue;
+            }
+
+            for (Map.Entry<String, SymphonyJobStatus> entry : statuses.entrySet()) {
+                Long executionId = silentJobs.get(entry.getKey());
+                PendingGridJob pending = executionId != null ? pendingJobs.get(executionId) : null;
+                if (pending == null) {
+                    continue;
+                }
+
+                pending.lastHeard = Instant.now();
+                SymphonyJobStatus status = entry.getValue();
+                if (status.isCompleted() || status.isFailed()) {
+                    log.info("Reconciled grid job {} for execution {} without a callback",
+                        pending.symphonyJobId, executionId);
+                    pending.future.complete(GridJobOutcome.fromStatus(pending.symphonyJobId, status));
+                    completed++;
+                }
+            }
+        }
+
+        log.debug("Grid reconciliation checked {} silent jobs, completed {}", silentJobs.size(), completed);
+        return completed;
+    }
+
+    /**
+     * Polls, then adapts the interval: halves it while polling keeps finding completions
+     * that callbacks missed, doubles it back towards the maximum while callbacks keep up.
+     */
+    private void pollAndReschedule() {
+        try {
+            int completed = pendingJobs.isEmpty() ? 0 : reconcile();
+            currentIntervalSeconds = completed > 0
+                ? Math.max(minIntervalSeconds, currentIntervalSeconds / 2)
+                : Math.min(maxIntervalSeconds, currentIntervalSeconds * 2);
+        } catch (Exception e) {
+            log.error("Error in grid status reconciliation", e);
+        } finally {
+            if (!poller.isShutdown()) {
+                poller.schedule(this::pollAndReschedule, currentIntervalSeconds, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static class PendingGridJob {
+        private final CompletableFuture<GridJobOutcome> future = new CompletableFuture<>();
+        private final AtomicLong startedAtNanos = new AtomicLong();
+        // Null until the submission returns
+        private volatile String symphonyJobId;
+        private volatile long submittedAtNanos = System.nanoTime();
+        private volatile Instant lastHeard = Instant.now();
+        private GridJobOutcome earlyOutcome;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.batch.symphony;
+
+import com.bank.batch.core.model.SymphonyJobStatus;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Terminal state of a Symphony job, as reported by a callback or a reconciliation poll.
+ */
+@Value
+@Builder
+public class GridJobOutcome {
+
+    public enum Source { CALLBACK, RECONCILIATION }
+
+    String symphonyJobId;
+    boolean successful;
+    String output;
+    String errorMessage;
+    String logPath;
+    Source source;
+
+    static GridJobOutcome fromStatus(String symphonyJobId, SymphonyJobStatus status) {
+        return GridJobOutcome.builder()
+            .symphonyJobId(symphonyJobId)
+            .successful(status.isCompleted() && status.isSuccessful())
+            .output(status.getOutput())
+            .errorMessage(status.getErrorMessage())
+            .logPath(status.getLogPath())
+            .source(Source.RECONCILIATION)
+            .build();
+    }
+}
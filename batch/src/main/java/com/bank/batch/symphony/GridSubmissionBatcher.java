@@ -0,0 +1,143 @@
+package com.bank.batch.symphony;
+
+import com.bank.batch.core.model.SymphonyJobRequest;
+import com.bank.batch.core.model.SymphonyJobResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces grid submissions that arrive within a short window into one bulk submit call,
+ * so a burst of scheduled jobs costs one Symphony round trip instead of one per job.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GridSubmissionBatcher {
+
+    private final SymphonyGridClient symphonyClient;
+    private final BlockingQueue<PendingSubmission> queue = new LinkedBlockingQueue<>();
+
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @Value("${batch.orchestrator.symphony.submit-batch.window-ms:5}")
+    private long windowMillis;
+
+    @Value("${batch.orchestrator.symphony.submit-batch.max-size:100}")
+    private int maxBatchSize;
+
+    @PostConstruct
+    public void start() {
+        if (windowMillis <= 0) {
+            log.info("Grid submission batching disabled");
+            return;
+        }
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "grid-submit-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+
+        // Flush anything still queued so no caller waits forever
+        List<PendingSubmission> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            submitBatch(remaining);
+        }
+    }
+
+    /**
+     * Queues a job for submission; the future completes once its batch has been submitted.
+     */
+    public CompletableFuture<SymphonyJobResponse> submit(SymphonyJobRequest request) {
+        if (!running) {
+            try {
+                return CompletableFuture.completedFuture(symphonyClient.submitJob(request));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        PendingSubmission pending = new PendingSubmission(request);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<PendingSubmission> batch = new ArrayList<>();
+                batch.add(queue.take());
+
+                // Collect whatever else arrives within the window
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingSubmission next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                submitBatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Error in grid submission dispatcher", e);
+            }
+        }
+    }
+
+    private void submitBatch(List<PendingSubmission> batch) {
+        List<SymphonyJobRequest> requests = new ArrayList<>(batch.size());
+        batch.forEach(pending -> requests.add(pending.request));
+
+        try {
+            List<SymphonyJobResponse> responses = batch.size() == 1
+                ? List.of(symphonyClient.submitJob(requests.get(0)))
+                : symphonyClient.submitJobs(requests);
+
+            log.debug("Submitted {} jobs to Symphony Grid in one call", batch.size());
+
+            // Responses are returned in request order
+            for (int i = 0; i < batch.size(); i++) {
+                SymphonyJobResponse response = responses != null && i < responses.size() ? responses.get(i) : null;
+                batch.get(i).future.complete(response);
+            }
+        } catch (Exception e) {
+            log.warn("Bulk submission of {} jobs to Symphony Grid failed", batch.size(), e);
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    private static class PendingSubmission {
+        private final SymphonyJobRequest request;
+        private final CompletableFuture<SymphonyJobResponse> future = new CompletableFuture<>();
+
+        PendingSubmission(SymphonyJobRequest request) {
+            this.request = request;
+        }
+    }
+}
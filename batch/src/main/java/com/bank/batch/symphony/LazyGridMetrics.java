@@ -0,0 +1,66 @@
+package com.bank.batch.symphony;
+
+import com.bank.batch.core.model.SymphonyJobMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Execution metrics of a grid job, fetched from Symphony on first access only.
+ * Completions no longer pay a metrics round trip for results nobody reads.
+ */
+@Slf4j
+public class LazyGridMetrics extends AbstractMap<String, Object> {
+
+    private final SymphonyGridClient symphonyClient;
+    private final String symphonyJobId;
+    private volatile Map<String, Object> metrics;
+
+    public LazyGridMetrics(SymphonyGridClient symphonyClient, String symphonyJobId) {
+        this.symphonyClient = symphonyClient;
+        this.symphonyJobId = symphonyJobId;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return load().entrySet();
+    }
+
+    private Map<String, Object> load() {
+        Map<String, Object> loaded = metrics;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = metrics;
+                if (loaded == null) {
+                    loaded = Collections.unmodifiableMap(fetch());
+                    metrics = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Map<String, Object> fetch() {
+        Map<String, Object> converted = new HashMap<>();
+        converted.put("symphonyJobId", symphonyJobId);
+
+        try {
+            SymphonyJobMetrics symphonyMetrics = symphonyClient.getJobMetrics(symphonyJobId);
+            if (symphonyMetrics != null) {
+                converted.put("cpuTime", symphonyMetrics.getCpuTimeSeconds());
+                converted.put("memoryUsed", symphonyMetrics.getMemoryUsedMB());
+                converted.put("diskIO", symphonyMetrics.getDiskIOMB());
+                converted.put("networkIO", symphonyMetrics.getNetworkIOMB());
+                converted.put("executionNode", symphonyMetrics.getExecutionNode());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fetch metrics for Symphony job {}", symphonyJobId, e);
+        }
+
+        return converted;
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.batch.symphony.simulator;
+
+import com.bank.batch.core.engine.ExecutionEngine;
+import com.bank.batch.core.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Scenario suite that drives synthetic grid jobs through the execution engine against the
+ * simulator and reports end-to-end dispatch throughput and latency.
+ * Nothing is persisted: executions use synthetic negative ids, for which the engine writes no
+ * step or checkpoint rows, including for rejected jobs that fall back to local execution.
+ */
+@Component
+@ConditionalOnProperty(name = "batch.orchestrator.symphony.simulator.enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class GridSimulationScenarioRunner {
+
+    private final ExecutionEngine executionEngine;
+    private final SymphonySimulatorProperties properties;
+    private final AtomicLong executionIdSequence = new AtomicLong();
+    private final AtomicLong jobIdSequence = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (properties.getScenarios().isRunOnStartup()) {
+            runSuite();
+        }
+    }
+
+    /**
+     * Runs the bundled scenarios one after another.
+     */
+    public List<ScenarioReport> runSuite() {
+        List<ScenarioReport> reports = new ArrayList<>();
+
+        reports.add(runScenario("baseline", sim -> {
+            sim.setRuntimeDistribution(SymphonySimulatorProperties.RuntimeDistribution.LOG_NORMAL);
+            sim.setRuntimeMeanMs(2000);
+            sim.setRuntimeStddevMs(1000);
+        }));
+
+        reports.add(runScenario("saturated-grid", sim -> sim.setSlots(properties.getScenarios().getJobCount() / 10)));
+
+        // Rejected jobs fall back to local execution, where synthetic jobs fail fast
+        reports.add(runScenario("failures-and-rejections", sim -> {
+            sim.setFailureRate(0.05);
+            sim.setRejectionRate(0.02);
+        }));
+
+        reports.add(runScenario("lost-callbacks", sim -> sim.setCallbackLossRate(0.1)));
+
+        reports.add(runScenario("api-outage", sim -> {
+            sim.setOutageIntervalSeconds(20);
+            sim.setOutageDurationSeconds(5);
+        }));
+
+        reports.forEach(report -> log.info("Grid scenario {}", report));
+        return reports;
+    }
+
+    /**
+     * Runs one scenario with the simulator reshaped by the given setup, restoring it afterwards.
+     */
+    public ScenarioReport runScenario(String name, Consumer<SymphonySimulatorProperties> setup) {
+        SymphonySimulatorProperties.Scenarios scenarios = properties.getScenarios();
+        SymphonySimulatorProperties saved = snapshot();
+        setup.accept(properties);
+
+        int jobCount = scenarios.getJobCount();
+        long[] dispatchNanos = new long[jobCount];
+        long[] endToEndNanos = new long[jobCount];
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger timedOut = new AtomicInteger();
+        List<CompletableFuture<JobExecutionResult>> outcomes = new ArrayList<>(jobCount);
+
+        log.info("Running grid scenario {} with {} jobs", name, jobCount);
+
+        // Submit from several threads, as the orchestrator's executor would
+        ExecutorService submitters = Executors.newFixedThreadPool(scenarios.getSubmitterThreads());
+        long startNanos = System.nanoTime();
+
+        try {
+            List<CompletableFuture<CompletableFuture<JobExecutionResult>>> dispatched = new ArrayList<>(jobCount);
+            for (int i = 0; i < jobCount; i++) {
+                int index = i;
+                dispatched.add(CompletableFuture.supplyAsync(() -> {
+                    long submittedAt = System.nanoTime();
+                    CompletableFuture<JobExecutionResult> outcome =
+                        executionEngine.executeJobAsync(syntheticJob(name, index), syntheticExecution());
+                    dispatchNanos[index] = System.nanoTime() - submittedAt;
+
+                    return outcome.whenComplete((result, error) -> {
+                        endToEndNanos[index] = System.nanoTime() - submittedAt;
+                        if (result != null && result.isSuccess()) {
+                            succeeded.incrementAndGet();
+                        } else if (result != null && result.isTimedOut()) {
+                            timedOut.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    });
+                }, submitters));
+            }
+
+            dispatched.forEach(future -> outcomes.add(future.join()));
+
+            CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+                .get(scenarios.getTimeoutMinutes(), TimeUnit.MINUTES);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Grid scenario {} did not finish cleanly: {}", name, e.getMessage());
+        } finally {
+            submitters.shutdownNow();
+            restore(saved);
+        }
+
+        long wallClockMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        int finished = succeeded.get() + failed.get() + timedOut.get();
+
+        return ScenarioReport.builder()
+            .scenario(name)
+            .jobs(jobCount)
+            .succeeded(succeeded.get())
+            .failed(failed.get())
+            .timedOut(timedOut.get())
+            .unfinished(jobCount - finished)
+            .wallClockMs(wallClockMs)
+            .throughputPerSecond(wallClockMs > 0 ? finished * 1000.0 / wallClockMs : 0)
+            .dispatchP50Ms(percentileMs(dispatchNanos, 50))
+            .dispatchP99Ms(percentileMs(dispatchNanos, 99))
+            .endToEndP50Ms(percentileMs(endToEndNanos, 50))
+            .endToEndP95Ms(percentileMs(endToEndNanos, 95))
+            .endToEndP99Ms(percentileMs(endToEndNanos, 99))
+            .build();
+    }
+
+    /**
+     * Builds a job that the engine routes to the grid. Fresh ids keep it without placement
+     * history, so the static rule sends it to the grid as a critical job.
+     */
+    private JobDefinition syntheticJob(String scenario, int index) {
+        JobDefinition job = new JobDefinition();
+        job.setJobId(-jobIdSequence.incrementAndGet());
+        job.setJobName("sim-" + scenario + "-" + index);
+        job.setJobType(JobType.JAVA);
+        job.setPriority(5);
+        job.setTimeoutMinutes(properties.getScenarios().getTimeoutMinutes());
+        job.setCriticalJob(true);
+        return job;
+    }
+
+    private JobExecutionHistory syntheticExecution() {
+        JobExecutionHistory execution = new JobExecutionHistory();
+        execution.setExecutionId(-executionIdSequence.incrementAndGet());
+        execution.setRetryCount(0);
+        execution.setTriggeredBy("grid-simulator");
+        return execution;
+    }
+
+    private SymphonySimulatorProperties snapshot() {
+        SymphonySimulatorProperties copy = new SymphonySimulatorProperties();
+        copy.setSlots(properties.getSlots());
+        copy.setQueueDelayMs(properties.getQueueDelayMs());
+        copy.setRuntimeDistribution(properties.getRuntimeDistribution());
+        copy.setRuntimeMeanMs(properties.getRuntimeMeanMs());
+        copy.setRuntimeStddevMs(properties.getRuntimeStddevMs());
+        copy.setRejectionRate(properties.getRejectionRate());
+        copy.setFailureRate(properties.getFailureRate());
+        copy.setCallbackLossRate(properties.getCallbackLossRate());
+        copy.setOutageIntervalSeconds(properties.getOutageIntervalSeconds());
+        copy.setOutageDurationSeconds(properties.getOutageDurationSeconds());
+        return copy;
+    }
+
+    private void restore(SymphonySimulatorProperties saved) {
+        properties.setSlots(saved.getSlots());
+        properties.setQueueDelayMs(saved.getQueueDelayMs());
+        properties.setRuntimeDistribution(saved.getRuntimeDistribution());
+        properties.setRuntimeMeanMs(saved.getRuntimeMeanMs());
+        properties.setRuntimeStddevMs(saved.getRuntimeStddevMs());
+        properties.setRejectionRate(saved.getRejectionRate());
+        properties.setFailureRate(saved.getFailureRate());
+        properties.setCallbackLossRate(saved.getCallbackLossRate());
+        properties.setOutageIntervalSeconds(saved.getOutageIntervalSeconds());
+        properties.setOutageDurationSeconds(saved.getOutageDurationSeconds());
+    }
+
+    private static long percentileMs(long[] samplesNanos, int percentile) {
+        long[] sorted = Arrays.stream(samplesNanos).filter(sample -> sample > 0).sorted().toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.batch.symphony.simulator;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Throughput and latency measured for one grid simulation scenario.
+ */
+@Value
+@Builder
+public class ScenarioReport {
+
+    String scenario;
+    int jobs;
+    int succeeded;
+    int failed;
+    int timedOut;
+    int unfinished;
+    long wallClockMs;
+    double throughputPerSecond;
+
+    /** Time for executeJobAsync to hand back a future, i.e. the dispatch path. */
+    long dispatchP50Ms;
+    long dispatchP99Ms;
+
+    /** Time from dispatch until the execution result was available. */
+    long endToEndP50Ms;
+    long endToEndP95Ms;
+    long endToEndP99Ms;
+}
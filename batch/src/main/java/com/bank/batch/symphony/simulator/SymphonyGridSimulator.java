@@ -0,0 +1,335 @@
+package com.bank.batch.symphony.simulator;
+
+import com.bank.batch.core.model.SymphonyJobMetrics;
+import com.bank.batch.core.model.SymphonyJobRequest;
+import com.bank.batch.core.model.SymphonyJobResponse;
+import com.bank.batch.core.model.SymphonyJobStatus;
+import com.bank.batch.symphony.GridCompletionRegistry;
+import com.bank.batch.symphony.GridJobOutcome;
+import com.bank.batch.symphony.SymphonyGridClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for IBM Symphony Grid used for local runs and load/failure scenarios.
+ * Simulates slot-limited execution with configurable queueing, runtimes, rejections,
+ * failures, lost callbacks and API outages.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "batch.orchestrator.symphony.simulator.enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class SymphonyGridSimulator extends SymphonyGridClient {
+
+    private enum State { PENDING, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final SymphonySimulatorProperties properties;
+    private final ObjectProvider<GridCompletionRegistry> completionRegistry;
+
+    private final Map<String, SimulatedJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, String> jobsByExecution = new ConcurrentHashMap<>();
+    private final Queue<SimulatedJob> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger busySlots = new AtomicInteger();
+    // Numeric ids, since the engine records the first nine digits as the process id
+    private final AtomicLong jobIdSequence = new AtomicLong(100_000_000L);
+
+    private ScheduledExecutorService clock;
+    private long startedAtNanos;
+
+    @PostConstruct
+    public void start() {
+        clock = Executors.newScheduledThreadPool(properties.getClockThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "symphony-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        startedAtNanos = System.nanoTime();
+        log.warn("Symphony Grid simulator active with {} slots - grid jobs will not run on a real grid",
+            properties.getSlots());
+    }
+
+    @PreDestroy
+    public void stop() {
+        clock.shutdownNow();
+    }
+
+    @Override
+    public SymphonyJobResponse submitJob(SymphonyJobRequest request) {
+        checkAvailable();
+
+        if (ThreadLocalRandom.current().nextDouble() < properties.getRejectionRate()) {
+            return SymphonyJobResponse.builder()
+                .accepted(false)
+                .build();
+        }
+
+        SimulatedJob job = new SimulatedJob(String.valueOf(jobIdSequence.incrementAndGet()), request.getExecutionId());
+        jobs.put(job.jobId, job);
+        jobsByExecution.put(job.executionId, job.jobId);
+
+        clock.schedule(() -> enqueue(job), sampleExponential(properties.getQueueDelayMs()), TimeUnit.MILLISECONDS);
+
+        return SymphonyJobResponse.builder()
+            .jobId(job.jobId)
+            .accepted(true)
+            .build();
+    }
+
+    @Override
+    public List<SymphonyJobResponse> submitJobs(List<SymphonyJobRequest> requests) {
+        checkAvailable();
+
+        List<SymphonyJobResponse> responses = new ArrayList<>(requests.size());
+        for (SymphonyJobRequest request : requests) {
+            responses.add(submitJob(request));
+        }
+        return responses;
+    }
+
+    @Override
+    public SymphonyJobStatus getJobStatus(String symphonyJobId) {
+        checkAvailable();
+
+        SimulatedJob job = jobs.get(symphonyJobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    @Override
+    public Map<String, SymphonyJobStatus> getJobStatuses(List<String> symphonyJobIds) {
+        checkAvailable();
+
+        Map<String, SymphonyJobStatus> statuses = new HashMap<>();
+        for (String symphonyJobId : symphonyJobIds) {
+            SimulatedJob job = jobs.get(symphonyJobId);
+            if (job != null) {
+                statuses.put(symphonyJobId, job.toStatus());
+            }
+        }
+        return statuses;
+    }
+
+    @Override
+    public SymphonyJobMetrics getJobMetrics(String symphonyJobId) {
+        checkAvailable();
+
+        SimulatedJob job = jobs.get(symphonyJobId);
+        if (job == null) {
+            return null;
+        }
+
+        return SymphonyJobMetrics.builder()
+            .cpuTimeSeconds(job.runtimeMs / 1000.0)
+            .memoryUsedMB(256)
+            .diskIOMB(0)
+            .networkIOMB(0)
+            .executionNode("sim-node-" + (Math.abs(job.jobId.hashCode()) % 64))
+            .build();
+    }
+
+    @Override
+    public boolean cancelJob(String symphonyJobId) {
+        checkAvailable();
+
+        SimulatedJob job = jobs.get(symphonyJobId);
+        if (job == null) {
+            return false;
+        }
+
+        synchronized (job) {
+            if (job.state == State.RUNNING) {
+                releaseSlot();
+            } else if (job.state != State.PENDING) {
+                return false;
+            }
+            job.state = State.CANCELLED;
+        }
+
+        scheduleEviction(job);
+        dispatchWaiting();
+        return true;
+    }
+
+    @Override
+    public boolean cancelJobByExecutionId(String executionId) {
+        String symphonyJobId = jobsByExecution.get(Long.valueOf(executionId));
+        return symphonyJobId != null && cancelJob(symphonyJobId);
+    }
+
+    public int getRunningCount() {
+        return busySlots.get();
+    }
+
+    public int getQueuedCount() {
+        return waiting.size();
+    }
+
+    private void enqueue(SimulatedJob job) {
+        waiting.add(job);
+        dispatchWaiting();
+    }
+
+    /**
+     * Starts queued jobs while slots are free.
+     */
+    private void dispatchWaiting() {
+        while (!waiting.isEmpty()) {
+            int busy = busySlots.get();
+            if (busy >= properties.getSlots()) {
+                return;
+            }
+            if (!busySlots.compareAndSet(busy, busy + 1)) {
+                continue;
+            }
+
+            SimulatedJob job = waiting.poll();
+            if (job == null) {
+                releaseSlot();
+                return;
+            }
+
+            synchronized (job) {
+                if (job.state != State.PENDING) {
+                    releaseSlot();
+                    continue;
+                }
+                job.state = State.RUNNING;
+                job.runtimeMs = sampleRuntime();
+            }
+
+            if (!isInOutage()) {
+                completionRegistry.getObject().markRunning(job.executionId, job.jobId);
+            }
+            clock.schedule(() -> finish(job), job.runtimeMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void finish(SimulatedJob job) {
+        synchronized (job) {
+            if (job.state != State.RUNNING) {
+                return;
+            }
+            job.state = ThreadLocalRandom.current().nextDouble() < properties.getFailureRate()
+                ? State.FAILED : State.COMPLETED;
+            releaseSlot();
+        }
+
+        scheduleEviction(job);
+        dispatchWaiting();
+        deliverCallback(job);
+    }
+
+    private void deliverCallback(SimulatedJob job) {
+        // Callbacks are lost during outages or at the configured rate; reconciliation must pick them up
+        if (isInOutage() || ThreadLocalRandom.current().nextDouble() < properties.getCallbackLossRate()) {
+            return;
+        }
+
+        boolean successful = job.state == State.COMPLETED;
+        completionRegistry.getObject().complete(job.executionId, GridJobOutcome.builder()
+            .symphonyJobId(job.jobId)
+            .successful(successful)
+            .output(successful ? "Simulated job completed in " + job.runtimeMs + " ms" : null)
+            .errorMessage(successful ? null : "Simulated job failure")
+            .source(GridJobOutcome.Source.CALLBACK)
+            .build());
+    }
+
+    private void releaseSlot() {
+        busySlots.decrementAndGet();
+    }
+
+    private void scheduleEviction(SimulatedJob job) {
+        clock.schedule(() -> {
+            jobs.remove(job.jobId);
+            jobsByExecution.remove(job.executionId, job.jobId);
+        }, properties.getRetainFinishedSeconds(), TimeUnit.SECONDS);
+    }
+
+    private void checkAvailable() {
+        if (isInOutage()) {
+            throw new IllegalStateException("Symphony Grid unavailable (simulated outage)");
+        }
+    }
+
+    private boolean isInOutage() {
+        int interval = properties.getOutageIntervalSeconds();
+        if (interval <= 0 || properties.getOutageDurationSeconds() <= 0) {
+            return false;
+        }
+
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAtNanos);
+        return elapsedSeconds >= interval && elapsedSeconds % interval < properties.getOutageDurationSeconds();
+    }
+
+    private long sampleRuntime() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double mean = properties.getRuntimeMeanMs();
+        double stddev = properties.getRuntimeStddevMs();
+
+        double sample = switch (properties.getRuntimeDistribution()) {
+            case FIXED -> mean;
+            case UNIFORM -> mean - stddev + random.nextDouble() * 2 * stddev;
+            case EXPONENTIAL -> sampleExponential(mean);
+            case LOG_NORMAL -> {
+                // Parameters of the underlying normal chosen to match the configured mean and stddev
+                double sigmaSquared = Math.log(1 + (stddev * stddev) / (mean * mean));
+                double mu = Math.log(mean) - sigmaSquared / 2;
+                yield Math.exp(mu + Math.sqrt(sigmaSquared) * random.nextGaussian());
+            }
+        };
+
+        return Math.max(1, Math.round(sample));
+    }
+
+    private static long sampleExponential(double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        return Math.round(-mean * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private static class SimulatedJob {
+        private final String jobId;
+        private final Long executionId;
+        private volatile State state = State.PENDING;
+        private volatile long runtimeMs;
+
+        SimulatedJob(String jobId, Long executionId) {
+            this.jobId = jobId;
+            this.executionId = executionId;
+        }
+
+        SymphonyJobStatus toStatus() {
+            State current = state;
+            return SymphonyJobStatus.builder()
+                .jobId(jobId)
+                .state(current.name())
+                .completed(current == State.COMPLETED || current == State.CANCELLED)
+                .failed(current == State.FAILED)
+                .successful(current == State.COMPLETED)
+                .errorMessage(current == State.FAILED ? "Simulated job failure" : null)
+                .build();
+        }
+    }
+}
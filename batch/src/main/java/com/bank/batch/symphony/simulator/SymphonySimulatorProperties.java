@@ -0,0 +1,58 @@
+package com.bank.batch.symphony.simulator;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Behaviour of the in-process Symphony Grid simulator. Values are read live,
+ * so scenarios can reshape the simulated grid between runs.
+ */
+@Component
+@ConfigurationProperties(prefix = "batch.orchestrator.symphony.simulator")
+@Data
+public class SymphonySimulatorProperties {
+
+    public enum RuntimeDistribution { FIXED, UNIFORM, EXPONENTIAL, LOG_NORMAL }
+
+    /** Replaces the Symphony client with the simulator when true. */
+    private boolean enabled = false;
+
+    /** Number of jobs the simulated grid runs at once; the rest queue FIFO. */
+    private int slots = 10000;
+
+    /** Mean delay between acceptance and a job becoming eligible for a slot. */
+    private long queueDelayMs = 50;
+
+    private RuntimeDistribution runtimeDistribution = RuntimeDistribution.LOG_NORMAL;
+    private long runtimeMeanMs = 2000;
+    private long runtimeStddevMs = 1000;
+
+    /** Probability that a submission is rejected and falls back to local execution. */
+    private double rejectionRate = 0.0;
+
+    /** Probability that an accepted job ends in FAILED. */
+    private double failureRate = 0.0;
+
+    /** Probability that a completion callback is never delivered, leaving it to reconciliation. */
+    private double callbackLossRate = 0.0;
+
+    /** Every interval the grid API is unavailable for the given duration; 0 disables outages. */
+    private int outageIntervalSeconds = 0;
+    private int outageDurationSeconds = 0;
+
+    /** How long finished jobs stay queryable. */
+    private int retainFinishedSeconds = 600;
+
+    private int clockThreads = 4;
+
+    private Scenarios scenarios = new Scenarios();
+
+    @Data
+    public static class Scenarios {
+        private boolean runOnStartup = false;
+        private int jobCount = 10000;
+        private int submitterThreads = 64;
+        private int timeoutMinutes = 10;
+    }
+}
@@ -0,0 +1,130 @@
+#!/usr/bin/env python3
+"""
+Persistent interpreter worker for pooled PYTHON jobs.
+
+The orchestrator starts this script once per pool slot. It preloads the
+configured modules, then reads one JSON request per line from stdin. Each
+job runs in a forked child so preloaded modules are shared copy-on-write and
+job state never leaks into the next request. Lifecycle events are written
+to stdout as JSON lines.
+"""
+
+import importlib
+import json
+import os
+import resource
+import runpy
+import signal
+import sys
+import traceback
+
+
+def emit(message):
+    sys.__stdout__.write(json.dumps(message) + "\n")
+    sys.__stdout__.flush()
+
+
+def preload(module_names):
+    loaded = []
+    for name in module_names:
+        if not name:
+            continue
+        try:
+            importlib.import_module(name)
+            loaded.append(name)
+        except Exception as e:
+            emit({"event": "warning", "message": "Failed to preload %s: %s" % (name, e)})
+    return loaded
+
+
+def resident_kb():
+    try:
+        with open("/proc/self/statm") as statm:
+            pages = int(statm.read().split()[1])
+        return pages * os.sysconf("SC_PAGE_SIZE") // 1024
+    except Exception:
+        return resource.getrusage(resource.RUSAGE_SELF).ru_maxrss
+
+
+def run_child(request):
+    signal.signal(signal.SIGTERM, signal.SIG_DFL)
+    signal.signal(signal.SIGINT, signal.SIG_DFL)
+
+    # The worker's stdin carries the request protocol; a job must never read from it
+    stdin_fd = os.open(os.devnull, os.O_RDONLY)
+    os.dup2(stdin_fd, 0)
+    sys.stdin = open(0, closefd=False)
+
+    stdout_fd = os.open(request["stdoutPath"], os.O_WRONLY | os.O_CREAT | os.O_TRUNC, 0o644)
+    stderr_fd = os.open(request["stderrPath"], os.O_WRONLY | os.O_CREAT | os.O_TRUNC, 0o644)
+    os.dup2(stdout_fd, 1)
+    os.dup2(stderr_fd, 2)
+
+    if request.get("workDir"):
+        os.chdir(request["workDir"])
+    os.environ.update(request.get("env") or {})
+    sys.argv = [request["script"]] + list(request.get("args") or [])
+
+    exit_code = 0
+    try:
+        runpy.run_path(request["script"], run_name="__main__")
+    except SystemExit as e:
+        if e.code is None:
+            exit_code = 0
+        elif isinstance(e.code, int):
+            exit_code = e.code
+        else:
+            print(e.code, file=sys.stderr)
+            exit_code = 1
+    except BaseException:
+        traceback.print_exc()
+        exit_code = 1
+    finally:
+        sys.stdout.flush()
+        sys.stderr.flush()
+    os._exit(exit_code)
+
+
+def main():
+    modules = sys.argv[1].split(",") if len(sys.argv) > 1 else []
+    loaded = preload([m.strip() for m in modules])
+    emit({"event": "ready", "pid": os.getpid(), "modules": loaded, "rssKb": resident_kb()})
+
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+
+        request = json.loads(line)
+        if request.get("type") == "shutdown":
+            break
+
+        sys.stdout.flush()
+        sys.stderr.flush()
+        pid = os.fork()
+        if pid == 0:
+            run_child(request)
+
+        emit({"id": request["id"], "event": "started", "pid": pid})
+        # Usage of this child alone; RUSAGE_CHILDREN would report the peak of every job the worker ran
+        _, status, usage = os.wait4(pid, 0)
+
+        if os.WIFSIGNALED(status):
+            exit_code = 128 + os.WTERMSIG(status)
+            term_signal = os.WTERMSIG(status)
+        else:
+            exit_code = os.WEXITSTATUS(status)
+            term_signal = None
+
+        emit({
+            "id": request["id"],
+            "event": "finished",
+            "exitCode": exit_code,
+            "signal": term_signal,
+            "rssKb": resident_kb(),
+            "childPeakRssKb": usage.ru_maxrss,
+        })
+
+
+if __name__ == "__main__":
+    main()